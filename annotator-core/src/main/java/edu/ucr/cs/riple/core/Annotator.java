@@ -25,6 +25,7 @@
 package edu.ucr.cs.riple.core;
 
 import com.google.common.collect.ImmutableSet;
+import edu.ucr.cs.riple.core.cache.BuildResultCache;
 import edu.ucr.cs.riple.core.cache.TargetModuleCache;
 import edu.ucr.cs.riple.core.cache.downstream.DownstreamImpactCache;
 import edu.ucr.cs.riple.core.cache.downstream.DownstreamImpactCacheImpl;
@@ -38,7 +39,9 @@ import edu.ucr.cs.riple.core.evaluators.suppliers.TargetModuleSupplier;
 import edu.ucr.cs.riple.core.injectors.AnnotationInjector;
 import edu.ucr.cs.riple.core.injectors.PhysicalInjector;
 import edu.ucr.cs.riple.core.registries.index.Fix;
+import edu.ucr.cs.riple.core.registries.region.CompoundRegionRegistry;
 import edu.ucr.cs.riple.core.util.Utility;
+import edu.ucr.cs.riple.injector.ParseCache;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -70,13 +73,38 @@ public class Annotator {
 
   /** Starts the annotating process consist of preprocess followed by the "annotate" phase. */
   public void start() {
+    // Parse cache is shared by all injectors in this process, only requests of this run are logged.
+    ParseCache parseCache = ParseCache.getInstance();
+    long parseHits = parseCache.getHits();
+    long parseMisses = parseCache.getMisses();
     preprocess();
     long timer = context.log.startTimer();
     annotate();
     context.log.stopTimerAndCapture(timer);
+    captureCacheStatistics(parseHits, parseMisses);
     Utility.writeLog(context);
   }
 
+  /**
+   * Captures the number of hits and misses of caches used in the annotating process in log.
+   *
+   * @param parseHits Number of parse cache hits before the annotating process started.
+   * @param parseMisses Number of parse cache misses before the annotating process started.
+   */
+  private void captureCacheStatistics(long parseHits, long parseMisses) {
+    BuildResultCache buildResultCache = context.targetBuildResultCache;
+    if (buildResultCache != null) {
+      context.log.updateCacheStatistics(
+          "build result", buildResultCache.getHits(), buildResultCache.getMisses());
+    }
+    CompoundRegionRegistry regionRegistry = context.targetModuleInfo.getRegionRegistry();
+    context.log.updateCacheStatistics(
+        "impacted region", regionRegistry.getHits(), regionRegistry.getMisses());
+    ParseCache parseCache = ParseCache.getInstance();
+    context.log.updateCacheStatistics(
+        "parse", parseCache.getHits() - parseHits, parseCache.getMisses() - parseMisses);
+  }
+
   /**
    * Performs all the preprocessing tasks.
    *
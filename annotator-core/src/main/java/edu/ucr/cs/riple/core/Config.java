@@ -28,6 +28,7 @@ import com.github.javaparser.ParserConfiguration;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
+import edu.ucr.cs.riple.core.evaluators.graph.ColoringStrategy;
 import edu.ucr.cs.riple.core.module.ModuleConfiguration;
 import edu.ucr.cs.riple.core.util.Utility;
 import edu.ucr.cs.riple.scanner.generatedcode.SourceType;
@@ -181,6 +182,72 @@ public class Config {
   /** Language level to use when parsing Java code. Defaults to Java 17. */
   public final ParserConfiguration.LanguageLevel languageLevel;
 
+  /**
+   * Path to a javac argument file captured from the target module build (options, classpath,
+   * processor path and source files). If set, trial builds of the target module are compiled
+   * in-process instead of running {@link #buildCommand}, otherwise it is {@code null}.
+   */
+  public final Path compilerArgsFile;
+
+  /**
+   * If activated, trial builds of the target module are delegated to a persistent compiler daemon
+   * process which keeps the compiler and the checker loaded across builds. Requires {@link
+   * #compilerArgsFile} to be set.
+   */
+  public final boolean useCompilerDaemon;
+
+  /**
+   * If activated, trial builds only recompile source files touched by injected fixes and source
+   * files containing their potentially impacted regions, against the class output of the last
+   * complete build. Requires {@link #compilerArgsFile} to be set.
+   */
+  public final boolean incrementalTrialCompilation;
+
+  /**
+   * Number of workers processing non-conflicting groups of fixes concurrently. Each worker builds
+   * an isolated copy of the target module with its own output directory and checker / scanner
+   * configurations. Values less than 2 disable concurrent processing. Requires {@link
+   * #compilerArgsFile} to be set.
+   */
+  public final int trialWorkers;
+
+  /**
+   * If activated, trial changes are applied on a copy-on-write overlay of the target module source
+   * files instead of the original source files, and are reverted by dropping the overlay. Requires
+   * {@link #compilerArgsFile} to be set and is not supported with {@link #useCompilerDaemon}.
+   */
+  public final boolean useSourceOverlay;
+
+  /**
+   * Maximum number of build results of the target module kept in the on-disk build result cache.
+   * Builds of source states which are already built are skipped and their checker outputs are
+   * restored from the cache. Zero disables the cache.
+   */
+  public final int buildCacheSize;
+
+  /**
+   * Strategy used to color the conflict graph. Each color is evaluated in a separate build,
+   * therefore strategies producing fewer colors reduce the number of builds.
+   */
+  public final ColoringStrategy coloringStrategy;
+
+  /**
+   * If activated, impacts of fixes in the target module are computed with group testing: batches of
+   * fixes are applied together regardless of conflicts and batches which impacts cannot be
+   * attributed to individual fixes are split in halves. Requires {@link
+   * #useParallelGraphProcessor} to be activated and replaces coloring of the conflict graph.
+   */
+  public final boolean useGroupTesting;
+
+  /**
+   * Directory where snapshots of the outputs of builds with Scanner activated are persisted across
+   * runs. If a snapshot of the target module is still valid, the build with Scanner activated is
+   * skipped and the module registries are loaded from the snapshot. Snapshots are validated against
+   * the inputs listed in {@link #compilerArgsFile} and are never restored if it is not set. If not
+   * set, it is {@code null} and snapshots are disabled.
+   */
+  public final Path moduleSnapshotDir;
+
   /**
    * Builds context from command line arguments.
    *
@@ -386,6 +453,88 @@ public class Config {
     languageLevelOption.setRequired(false);
     options.addOption(languageLevelOption);
 
+    // In-process compilation
+    Option compilerArgsFileOption =
+        new Option(
+            "caf",
+            "compiler-args-file",
+            true,
+            "Path to a javac argument file (options, classpath, processor path and sources) captured from the target build. If set, trial builds of the target module are compiled in-process instead of running the build command");
+    compilerArgsFileOption.setRequired(false);
+    options.addOption(compilerArgsFileOption);
+    // In-process compilation: Compiler daemon.
+    Option useCompilerDaemonOption =
+        new Option(
+            "ucd",
+            "use-compiler-daemon",
+            false,
+            "Delegates trial builds of the target module to a persistent compiler daemon process, requires --compiler-args-file");
+    useCompilerDaemonOption.setRequired(false);
+    options.addOption(useCompilerDaemonOption);
+    // In-process compilation: Incremental trial compilation.
+    Option incrementalTrialCompilationOption =
+        new Option(
+            "itc",
+            "incremental-trial-compilation",
+            false,
+            "Recompiles only source files affected by injected fixes in trial builds, requires --compiler-args-file");
+    incrementalTrialCompilationOption.setRequired(false);
+    options.addOption(incrementalTrialCompilationOption);
+    // In-process compilation: Trial workers.
+    Option trialWorkersOption =
+        new Option(
+            "tw",
+            "trial-workers",
+            true,
+            "Number of workers processing non-conflicting groups of fixes concurrently on isolated copies of the target module, requires --compiler-args-file");
+    trialWorkersOption.setRequired(false);
+    options.addOption(trialWorkersOption);
+    // In-process compilation: Source overlay.
+    Option useSourceOverlayOption =
+        new Option(
+            "uso",
+            "use-source-overlay",
+            false,
+            "Applies trial changes on a copy-on-write overlay of the target module source files instead of the original source files, requires --compiler-args-file");
+    useSourceOverlayOption.setRequired(false);
+    options.addOption(useSourceOverlayOption);
+    // Build result cache
+    Option buildCacheSizeOption =
+        new Option(
+            "bcs",
+            "build-cache-size",
+            true,
+            "Maximum number of build results kept in the on-disk build result cache, builds of already built source states are skipped. Defaults to 0 (disabled)");
+    buildCacheSizeOption.setRequired(false);
+    options.addOption(buildCacheSizeOption);
+    // Conflict graph coloring strategy
+    Option coloringStrategyOption =
+        new Option(
+            "cs",
+            "coloring-strategy",
+            true,
+            "Strategy used to group non-conflicting fixes into builds. Can be [greedy|largest_first|dsatur|best], defaults to greedy");
+    coloringStrategyOption.setRequired(false);
+    options.addOption(coloringStrategyOption);
+    // Group testing
+    Option useGroupTestingOption =
+        new Option(
+            "ugt",
+            "use-group-testing",
+            false,
+            "Computes impacts of fixes by building batches of fixes together and splitting batches which impacts cannot be attributed to individual fixes");
+    useGroupTestingOption.setRequired(false);
+    options.addOption(useGroupTestingOption);
+    // Module snapshot
+    Option moduleSnapshotDirOption =
+        new Option(
+            "msd",
+            "module-snapshot-dir",
+            true,
+            "Directory where snapshots of module information are persisted across runs, the build with Scanner activated on the target module is skipped if the compiler args file, its classpath entries, source files and build configuration are unchanged, requires compiler-args-file");
+    moduleSnapshotDirOption.setRequired(false);
+    options.addOption(moduleSnapshotDirOption);
+
     HelpFormatter formatter = new HelpFormatter();
     CommandLineParser parser = new DefaultParser();
     CommandLine cmd;
@@ -492,6 +641,46 @@ public class Config {
         !cmd.hasOption(nonnullAnnotationsOption)
             ? ImmutableSet.of()
             : ImmutableSet.copyOf(cmd.getOptionValue(nonnullAnnotationsOption).split(","));
+    this.compilerArgsFile =
+        cmd.hasOption(compilerArgsFileOption)
+            ? Paths.get(cmd.getOptionValue(compilerArgsFileOption))
+            : null;
+    this.useCompilerDaemon = cmd.hasOption(useCompilerDaemonOption);
+    Preconditions.checkArgument(
+        !this.useCompilerDaemon || this.compilerArgsFile != null,
+        "To use compiler daemon, --compiler-args-file (arg) must be present!");
+    this.incrementalTrialCompilation = cmd.hasOption(incrementalTrialCompilationOption);
+    Preconditions.checkArgument(
+        !this.incrementalTrialCompilation || this.compilerArgsFile != null,
+        "To use incremental trial compilation, --compiler-args-file (arg) must be present!");
+    this.trialWorkers =
+        cmd.hasOption(trialWorkersOption)
+            ? Integer.parseInt(cmd.getOptionValue(trialWorkersOption))
+            : 1;
+    Preconditions.checkArgument(
+        this.trialWorkers < 2 || this.compilerArgsFile != null,
+        "To use trial workers, --compiler-args-file (arg) must be present!");
+    this.useSourceOverlay = cmd.hasOption(useSourceOverlayOption);
+    Preconditions.checkArgument(
+        !this.useSourceOverlay || this.compilerArgsFile != null,
+        "To use source overlay, --compiler-args-file (arg) must be present!");
+    Preconditions.checkArgument(
+        !this.useSourceOverlay || !this.useCompilerDaemon,
+        "Source overlay is not supported with compiler daemon!");
+    this.buildCacheSize =
+        cmd.hasOption(buildCacheSizeOption)
+            ? Integer.parseInt(cmd.getOptionValue(buildCacheSizeOption))
+            : 0;
+    this.coloringStrategy =
+        ColoringStrategy.parseStrategy(cmd.getOptionValue(coloringStrategyOption, "greedy"));
+    this.useGroupTesting = cmd.hasOption(useGroupTestingOption);
+    Preconditions.checkArgument(
+        !this.useGroupTesting || this.useParallelGraphProcessor,
+        "Group testing is not supported with --disable-parallel-processing!");
+    this.moduleSnapshotDir =
+        cmd.hasOption(moduleSnapshotDirOption)
+            ? Paths.get(cmd.getOptionValue(moduleSnapshotDirOption))
+            : null;
   }
 
   /**
@@ -607,6 +796,50 @@ public class Config {
                     json -> json.get("NONNULL").toString(),
                     String.class)
                 .orElse(List.of()));
+    String compilerArgsFileString =
+        getValueFromKey(jsonObject, "IN_PROCESS_COMPILATION:ARGS_FILE", String.class).orElse(null);
+    this.compilerArgsFile =
+        compilerArgsFileString == null ? null : Paths.get(compilerArgsFileString);
+    this.useCompilerDaemon =
+        getValueFromKey(jsonObject, "IN_PROCESS_COMPILATION:DAEMON", Boolean.class).orElse(false);
+    Preconditions.checkArgument(
+        !this.useCompilerDaemon || this.compilerArgsFile != null,
+        "To use compiler daemon, IN_PROCESS_COMPILATION:ARGS_FILE must be present!");
+    this.incrementalTrialCompilation =
+        getValueFromKey(jsonObject, "IN_PROCESS_COMPILATION:INCREMENTAL", Boolean.class)
+            .orElse(false);
+    Preconditions.checkArgument(
+        !this.incrementalTrialCompilation || this.compilerArgsFile != null,
+        "To use incremental trial compilation, IN_PROCESS_COMPILATION:ARGS_FILE must be present!");
+    this.trialWorkers =
+        getValueFromKey(jsonObject, "IN_PROCESS_COMPILATION:WORKERS", Long.class)
+            .orElse((long) 1)
+            .intValue();
+    Preconditions.checkArgument(
+        this.trialWorkers < 2 || this.compilerArgsFile != null,
+        "To use trial workers, IN_PROCESS_COMPILATION:ARGS_FILE must be present!");
+    this.useSourceOverlay =
+        getValueFromKey(jsonObject, "IN_PROCESS_COMPILATION:OVERLAY", Boolean.class).orElse(false);
+    Preconditions.checkArgument(
+        !this.useSourceOverlay || this.compilerArgsFile != null,
+        "To use source overlay, IN_PROCESS_COMPILATION:ARGS_FILE must be present!");
+    Preconditions.checkArgument(
+        !this.useSourceOverlay || !this.useCompilerDaemon,
+        "Source overlay is not supported with compiler daemon!");
+    this.buildCacheSize =
+        getValueFromKey(jsonObject, "BUILD_CACHE_SIZE", Long.class).orElse((long) 0).intValue();
+    this.coloringStrategy =
+        ColoringStrategy.parseStrategy(
+            getValueFromKey(jsonObject, "COLORING_STRATEGY", String.class).orElse("greedy"));
+    this.useGroupTesting =
+        getValueFromKey(jsonObject, "GROUP_TESTING", Boolean.class).orElse(false);
+    Preconditions.checkArgument(
+        !this.useGroupTesting || this.useParallelGraphProcessor,
+        "Group testing is not supported when PARALLEL_PROCESSING is disabled!");
+    String moduleSnapshotDirString =
+        getValueFromKey(jsonObject, "MODULE_SNAPSHOT_DIR", String.class).orElse(null);
+    this.moduleSnapshotDir =
+        moduleSnapshotDirString == null ? null : Paths.get(moduleSnapshotDirString);
   }
 
   /**
@@ -736,6 +969,15 @@ public class Config {
     public int depth = 1;
     public String checker;
     public ParserConfiguration.LanguageLevel languageLevel;
+    public Path compilerArgsFile;
+    public boolean useCompilerDaemon = false;
+    public boolean incrementalTrialCompilation = false;
+    public int trialWorkers = 1;
+    public boolean useSourceOverlay = false;
+    public int buildCacheSize = 0;
+    public ColoringStrategy coloringStrategy = ColoringStrategy.GREEDY;
+    public boolean useGroupTesting = false;
+    public Path moduleSnapshotDir;
 
     @SuppressWarnings("unchecked")
     public void write(Path path) {
@@ -769,6 +1011,12 @@ public class Config {
       json.put("SUPPRESS_REMAINING_ERRORS", suppressRemainingErrors);
       json.put("INFERENCE_ACTIVATION", inferenceActivated);
       json.put("LANGUAGE_LEVEL", languageLevel.name().split("_")[1]);
+      json.put("BUILD_CACHE_SIZE", buildCacheSize);
+      json.put("COLORING_STRATEGY", coloringStrategy.name());
+      json.put("GROUP_TESTING", useGroupTesting);
+      if (moduleSnapshotDir != null) {
+        json.put("MODULE_SNAPSHOT_DIR", moduleSnapshotDir.toString());
+      }
       JSONArray configPathsJson = new JSONArray();
       configPathsJson.addAll(
           configPaths.stream()
@@ -797,6 +1045,15 @@ public class Config {
         downstreamDependency.put("ANALYSIS_MODE", mode.name());
       }
       json.put("DOWNSTREAM_DEPENDENCY_ANALYSIS", downstreamDependency);
+      if (compilerArgsFile != null) {
+        JSONObject inProcessCompilation = new JSONObject();
+        inProcessCompilation.put("ARGS_FILE", compilerArgsFile.toString());
+        inProcessCompilation.put("DAEMON", useCompilerDaemon);
+        inProcessCompilation.put("INCREMENTAL", incrementalTrialCompilation);
+        inProcessCompilation.put("WORKERS", trialWorkers);
+        inProcessCompilation.put("OVERLAY", useSourceOverlay);
+        json.put("IN_PROCESS_COMPILATION", inProcessCompilation);
+      }
 
       JSONObject processors = new JSONObject();
       sourceTypes.forEach(
@@ -24,19 +24,29 @@
 
 package edu.ucr.cs.riple.core;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import edu.ucr.cs.riple.core.cache.BuildResultCache;
 import edu.ucr.cs.riple.core.checkers.Checker;
 import edu.ucr.cs.riple.core.checkers.CheckerBaseClass;
+import edu.ucr.cs.riple.core.evaluators.graph.processors.CachingCompilerRunner;
+import edu.ucr.cs.riple.core.evaluators.graph.processors.CapturedCompilation;
+import edu.ucr.cs.riple.core.evaluators.graph.processors.CompilerRunner;
+import edu.ucr.cs.riple.core.evaluators.graph.processors.DaemonCompilerRunner;
+import edu.ucr.cs.riple.core.evaluators.graph.processors.InProcessCompilerRunner;
+import edu.ucr.cs.riple.core.evaluators.graph.processors.SourceOverlay;
+import edu.ucr.cs.riple.core.evaluators.graph.processors.TrialWorkspace;
 import edu.ucr.cs.riple.core.log.Log;
 import edu.ucr.cs.riple.core.module.ModuleConfiguration;
 import edu.ucr.cs.riple.core.module.ModuleInfo;
 import edu.ucr.cs.riple.core.registries.index.Error;
+import edu.ucr.cs.riple.core.util.Utility;
 import edu.ucr.cs.riple.injector.offsets.FileOffsetStore;
-import edu.ucr.cs.riple.injector.offsets.OffsetChange;
 import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import javax.annotation.Nullable;
 
 /**
  * Context class for Annotator. This class encapsulates all the code structure information all APIs
@@ -69,6 +79,30 @@ public class Context {
   /** Checker instance. Used to execute checker specific tasks. */
   public final Checker<? extends Error> checker;
 
+  /**
+   * Cache of build results of the target module, builds of already built source states are skipped.
+   * Null if build result caching is not activated.
+   */
+  @Nullable public final BuildResultCache targetBuildResultCache;
+
+  /**
+   * Runner for trial builds of the target module. Shared across iterations so that a compiler
+   * daemon, if used, stays alive for the whole run.
+   */
+  public final CompilerRunner targetCompilerRunner;
+
+  /**
+   * Isolated copies of the target module to run trial builds concurrently on. Empty if concurrent
+   * trial builds are not activated.
+   */
+  public final ImmutableList<TrialWorkspace> trialWorkspaces;
+
+  /**
+   * Copy-on-write overlay of the target module source files, trial changes are applied on instead
+   * of the original source files. Null if source overlay is not activated.
+   */
+  @Nullable public final SourceOverlay targetSourceOverlay;
+
   /**
    * Builds context from command line arguments.
    *
@@ -84,6 +118,45 @@ public class Context {
     this.targetModuleInfo = new ModuleInfo(this, config.target, config.buildCommand);
     // Checker compatibility check must be after target module info is initialized.
     this.checker.verifyCheckerCompatibility();
+    this.targetSourceOverlay =
+        config.useSourceOverlay
+            ? new SourceOverlay(
+                this,
+                new CapturedCompilation(config.compilerArgsFile).getSourceRoot(),
+                config.globalDir.resolve("overlay"))
+            : null;
+    this.targetBuildResultCache =
+        config.buildCacheSize > 0
+            ? new BuildResultCache(
+                this,
+                targetModuleInfo,
+                config.globalDir.resolve("build-cache"),
+                config.buildCacheSize)
+            : null;
+    this.targetCompilerRunner = createTargetCompilerRunner();
+    this.trialWorkspaces =
+        config.trialWorkers > 1
+            ? TrialWorkspace.createWorkspaces(this, config.trialWorkers)
+            : ImmutableList.of();
+  }
+
+  /**
+   * Creates the runner for trial builds of the target module according to the configuration.
+   *
+   * @return Compiler runner for the target module.
+   */
+  private CompilerRunner createTargetCompilerRunner() {
+    if (config.compilerArgsFile == null) {
+      // Builds with the build command are cached in Utility#buildTarget.
+      return () -> Utility.buildTarget(this);
+    }
+    CompilerRunner runner =
+        config.useCompilerDaemon
+            ? new DaemonCompilerRunner(this, config.compilerArgsFile)
+            : new InProcessCompilerRunner(this, config.compilerArgsFile);
+    return targetBuildResultCache == null
+        ? runner
+        : new CachingCompilerRunner(this, runner, targetBuildResultCache);
   }
 
   /** Responsible for handling offset changes in source file. */
@@ -92,8 +165,36 @@ public class Context {
     /** Map of file paths to Offset stores. */
     private final Map<Path, FileOffsetStore> contents;
 
+    /**
+     * Map of file paths to Offset stores of transient changes. Transient changes are made on top of
+     * all other changes and are either not applied on the original source files (e.g. changes of a
+     * trial in a {@link edu.ucr.cs.riple.core.evaluators.graph.processors.SourceOverlay}), or are
+     * reverted together (e.g. changes of a transaction in {@link
+     * edu.ucr.cs.riple.core.injectors.PhysicalInjector}), and can be dropped at once.
+     */
+    private final Map<Path, FileOffsetStore> transientContents;
+
+    /**
+     * Handler of the changes made before the changes in this handler, or {@code null} if this
+     * handler holds all the changes made to source files.
+     */
+    @Nullable private final OffsetHandler parent;
+
     public OffsetHandler() {
+      this(null);
+    }
+
+    /**
+     * Creates a handler for changes made on top of the changes recorded in the given handler.
+     * Offsets are translated with the changes in this handler first and then with the changes in
+     * the given handler.
+     *
+     * @param parent Handler of the changes made before the changes in this handler.
+     */
+    public OffsetHandler(@Nullable OffsetHandler parent) {
       this.contents = new HashMap<>();
+      this.transientContents = new HashMap<>();
+      this.parent = parent;
     }
 
     /**
@@ -104,10 +205,15 @@ public class Context {
      * @return Original offset.
      */
     public int getOriginalOffset(Path path, int offset) {
-      if (!contents.containsKey(path)) {
-        return offset;
+      FileOffsetStore transientStore = transientContents.get(path);
+      if (transientStore != null) {
+        offset = transientStore.getOriginalOffset(offset);
+      }
+      FileOffsetStore store = contents.get(path);
+      if (store != null) {
+        offset = store.getOriginalOffset(offset);
       }
-      return OffsetChange.getOriginalOffset(offset, contents.get(path).getOffsetChanges());
+      return parent == null ? offset : parent.getOriginalOffset(path, offset);
     }
 
     /**
@@ -116,14 +222,36 @@ public class Context {
      * @param newOffsets Given new offset changes.
      */
     public void updateStateWithRecentChanges(Set<FileOffsetStore> newOffsets) {
+      merge(contents, newOffsets);
+    }
+
+    /**
+     * Updates transient offsets with given new offset changes.
+     *
+     * @param newOffsets Given new offset changes.
+     */
+    public void updateStateWithTransientChanges(Set<FileOffsetStore> newOffsets) {
+      merge(transientContents, newOffsets);
+    }
+
+    /** Drops all transient offset changes. */
+    public void dropTransientChanges() {
+      transientContents.clear();
+    }
+
+    /**
+     * Merges given new offset changes into the given map of offset stores.
+     *
+     * @param stores Map of file paths to Offset stores.
+     * @param newOffsets Given new offset changes.
+     */
+    private static void merge(Map<Path, FileOffsetStore> stores, Set<FileOffsetStore> newOffsets) {
       newOffsets.forEach(
           store -> {
-            if (!contents.containsKey(store.getPath())) {
-              contents.put(store.getPath(), store);
+            if (!stores.containsKey(store.getPath())) {
+              stores.put(store.getPath(), store);
             } else {
-              contents
-                  .get(store.getPath())
-                  .updateStateWithNewOffsetChanges(store.getOffsetChanges());
+              stores.get(store.getPath()).updateStateWithNewOffsetChanges(store.getOffsetChanges());
             }
           });
     }
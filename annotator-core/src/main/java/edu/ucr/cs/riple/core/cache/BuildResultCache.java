@@ -0,0 +1,355 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Nima Karimipour
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.ucr.cs.riple.core.cache;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import edu.ucr.cs.riple.core.Context;
+import edu.ucr.cs.riple.core.evaluators.graph.processors.SourceOverlay;
+import edu.ucr.cs.riple.core.module.ModuleConfiguration;
+import edu.ucr.cs.riple.core.module.ModuleInfo;
+import edu.ucr.cs.riple.core.util.Utility;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Pattern;
+
+/**
+ * Content addressed cache of build results of a module. Each entry holds the checker outputs of a
+ * build and is keyed by a digest of the contents of all module source files at the time of the
+ * build (i.e. the base revision of the source files together with all applied annotations) and the
+ * contents of the checker configuration files of the build. A build of a source state which has
+ * already been built with the same configuration is skipped and its checker outputs are restored
+ * from the cache instead. Entries are stored on disk and the number of entries is bounded, the
+ * least recently used entry is evicted first.
+ */
+public class BuildResultCache {
+
+  /**
+   * Resolution of file modification times in milliseconds assumed when reusing digests of source
+   * files.
+   */
+  private static final long MODIFICATION_TIME_RESOLUTION = 2000;
+
+  /**
+   * Pattern of the random UUID written in checker and scanner configuration files on each write,
+   * which forces the checker to reload the file and is not part of the configuration.
+   */
+  private static final Pattern CONFIG_UUID = Pattern.compile("<uuid>[^<]*</uuid>");
+
+  /** Annotator context. */
+  private final Context context;
+
+  /** ModuleInfo of the module which builds are cached. */
+  private final ModuleInfo moduleInfo;
+
+  /** Directory where entries are stored. */
+  private final Path dir;
+
+  /** Maximum number of entries. */
+  private final int capacity;
+
+  /**
+   * Keys of the entries in access order, mapped to the value returned by the cached build (e.g.
+   * whether the build was incremental).
+   */
+  private final LinkedHashMap<String, Boolean> entries;
+
+  /**
+   * Digests of source files, reused while the size and modification time are unchanged and the
+   * file was not modified shortly before its digest was computed.
+   */
+  private final Map<Path, FileDigest> digests;
+
+  /** Number of builds skipped by restoring the result from the cache. */
+  private long hits;
+
+  /** Number of builds which were not found in the cache. */
+  private long misses;
+
+  /**
+   * Creates an empty cache. Existing entries in the given directory are removed.
+   *
+   * @param context Annotator context.
+   * @param moduleInfo ModuleInfo of the module which builds are cached.
+   * @param dir Directory where entries are stored.
+   * @param capacity Maximum number of entries.
+   */
+  public BuildResultCache(Context context, ModuleInfo moduleInfo, Path dir, int capacity) {
+    Preconditions.checkArgument(capacity > 0, "Capacity of build cache must be positive.");
+    this.context = context;
+    this.moduleInfo = moduleInfo;
+    this.dir = dir;
+    this.capacity = capacity;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    this.digests = new HashMap<>();
+    Utility.deleteDirectory(dir);
+  }
+
+  /**
+   * Runs a complete build of the module unless the result of a complete build on the same source
+   * state is cached. If incremental trial compilation is active, complete builds are always
+   * executed, since incremental builds are compiled against the class output of the last complete
+   * build.
+   *
+   * @param build Complete build of the module.
+   */
+  public void runFull(Runnable build) {
+    if (context.config.incrementalTrialCompilation) {
+      build.run();
+      return;
+    }
+    run(
+        "full",
+        () -> {
+          build.run();
+          return false;
+        });
+  }
+
+  /**
+   * Runs the given build unless the result of a build of the same variant on the same source state
+   * is cached.
+   *
+   * @param variant Description of the build, builds of different variants are cached separately.
+   * @param build Build to run, the returned value is cached along the checker outputs.
+   * @return The value returned by the build, or the cached value if the build is skipped.
+   */
+  public boolean run(String variant, BooleanSupplier build) {
+    String key = computeKey(variant);
+    Boolean cached = entries.get(key);
+    if (cached != null) {
+      hits++;
+      restore(key);
+      return cached;
+    }
+    misses++;
+    boolean result = build.getAsBoolean();
+    store(key, result);
+    return result;
+  }
+
+  /**
+   * Getter for the number of builds skipped by restoring the result from the cache.
+   *
+   * @return Number of cache hits.
+   */
+  public long getHits() {
+    return hits;
+  }
+
+  /**
+   * Getter for the number of builds which were not found in the cache.
+   *
+   * @return Number of cache misses.
+   */
+  public long getMisses() {
+    return misses;
+  }
+
+  /**
+   * Computes the key for a build of the given variant on the current state of the source files and
+   * checker configuration files. Configuration files are prepared for the build first, so that they
+   * match the configuration the build would run with. Modified source files in the overlay of the
+   * target module are read from the overlay.
+   *
+   * @param variant Description of the build.
+   * @return Key of the build.
+   */
+  private String computeKey(String variant) {
+    Hasher hasher = Hashing.sha256().newHasher();
+    hasher.putString(variant, StandardCharsets.UTF_8);
+    context.checker.prepareConfigFilesForBuild(moduleInfo.getModuleConfigurations());
+    for (ModuleConfiguration configuration : moduleInfo.getModuleConfigurations()) {
+      hasher.putInt(configuration.id);
+      hasher.putString(readConfig(configuration.checkerConfig), StandardCharsets.UTF_8);
+      hasher.putString(readConfig(configuration.scannerConfig), StandardCharsets.UTF_8);
+    }
+    SourceOverlay overlay = context.targetSourceOverlay;
+    ImmutableList<Path> sources =
+        moduleInfo.getFieldRegistry().getSourceFiles().stream()
+            .sorted()
+            .collect(ImmutableList.toImmutableList());
+    for (Path source : sources) {
+      Path path = overlay == null ? source : overlay.resolve(source);
+      hasher.putString(source.toString(), StandardCharsets.UTF_8);
+      hasher.putBytes(digest(path).asBytes());
+    }
+    return hasher.hash().toString();
+  }
+
+  /**
+   * Computes the digest of the contents of the given file. Digests are reused while the size and
+   * modification time of the file are unchanged. Since modification times have a limited
+   * resolution, a digest computed within {@link #MODIFICATION_TIME_RESOLUTION} milliseconds after
+   * the modification of the file is not reused, as the file might have been modified again in the
+   * same time unit.
+   *
+   * @param path Path to file.
+   * @return Digest of the file contents.
+   */
+  private HashCode digest(Path path) {
+    File file = path.toFile();
+    long size = file.length();
+    long modified = file.lastModified();
+    FileDigest cached = digests.get(path);
+    if (cached != null
+        && cached.size == size
+        && cached.modified == modified
+        && cached.computed - modified > MODIFICATION_TIME_RESOLUTION) {
+      return cached.hash;
+    }
+    long computed = System.currentTimeMillis();
+    HashCode hash;
+    try {
+      hash =
+          file.exists()
+              ? com.google.common.io.Files.asByteSource(file).hash(Hashing.sha256())
+              : HashCode.fromInt(0);
+    } catch (IOException e) {
+      throw new RuntimeException("Exception happened in computing digest of: " + path, e);
+    }
+    digests.put(path, new FileDigest(size, modified, computed, hash));
+    return hash;
+  }
+
+  /**
+   * Reads the contents of the given configuration file without its random UUID.
+   *
+   * @param path Path to configuration file.
+   * @return Contents of the configuration file, or an empty string if the file does not exist.
+   */
+  private static String readConfig(Path path) {
+    if (!Files.exists(path)) {
+      return "";
+    }
+    try {
+      return CONFIG_UUID
+          .matcher(Files.readString(path, StandardCharsets.UTF_8))
+          .replaceAll("");
+    } catch (IOException e) {
+      throw new RuntimeException("Exception happened in reading configuration file: " + path, e);
+    }
+  }
+
+  /**
+   * Stores the current checker outputs of the module under the given key and evicts the least
+   * recently used entries if the capacity is exceeded.
+   *
+   * @param key Key of the build.
+   * @param result Value returned by the build.
+   */
+  private void store(String key, boolean result) {
+    for (ModuleConfiguration configuration : moduleInfo.getModuleConfigurations()) {
+      Path entry = dir.resolve(key).resolve(String.valueOf(configuration.id));
+      for (String name : context.checker.getOutputFileNames()) {
+        Path output = configuration.dir.resolve(name);
+        if (output.toFile().exists()) {
+          copy(output, entry.resolve(name));
+        }
+      }
+    }
+    entries.put(key, result);
+    Iterator<String> iterator = entries.keySet().iterator();
+    while (entries.size() > capacity) {
+      String eldest = iterator.next();
+      iterator.remove();
+      Utility.deleteDirectory(dir.resolve(eldest));
+    }
+  }
+
+  /**
+   * Restores the checker outputs of the module from the entry with the given key.
+   *
+   * @param key Key of the build.
+   */
+  private void restore(String key) {
+    for (ModuleConfiguration configuration : moduleInfo.getModuleConfigurations()) {
+      Path entry = dir.resolve(key).resolve(String.valueOf(configuration.id));
+      for (String name : context.checker.getOutputFileNames()) {
+        Path cached = entry.resolve(name);
+        Path output = configuration.dir.resolve(name);
+        try {
+          if (cached.toFile().exists()) {
+            copy(cached, output);
+          } else {
+            Files.deleteIfExists(output);
+          }
+        } catch (IOException e) {
+          throw new RuntimeException("Exception happened in restoring: " + output, e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Copies the given file to the given destination.
+   *
+   * @param source Path to source file.
+   * @param destination Path to destination.
+   */
+  private static void copy(Path source, Path destination) {
+    try {
+      Files.createDirectories(destination.getParent());
+      Files.copy(source, destination, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      throw new RuntimeException("Could not copy " + source + " to " + destination, e);
+    }
+  }
+
+  /** Digest of a file contents along the size and modification time it is computed for. */
+  private static class FileDigest {
+
+    /** Size of the file. */
+    private final long size;
+
+    /** Modification time of the file. */
+    private final long modified;
+
+    /** Time the digest is computed at. */
+    private final long computed;
+
+    /** Digest of the file contents. */
+    private final HashCode hash;
+
+    private FileDigest(long size, long modified, long computed, HashCode hash) {
+      this.size = size;
+      this.modified = modified;
+      this.computed = computed;
+      this.hash = hash;
+    }
+  }
+}
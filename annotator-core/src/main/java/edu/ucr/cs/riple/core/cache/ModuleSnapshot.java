@@ -0,0 +1,487 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Nima Karimipour
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.ucr.cs.riple.core.cache;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import edu.ucr.cs.riple.core.Context;
+import edu.ucr.cs.riple.core.evaluators.graph.processors.CapturedCompilation;
+import edu.ucr.cs.riple.core.module.ModuleConfiguration;
+import edu.ucr.cs.riple.core.util.TSVReader;
+import edu.ucr.cs.riple.core.util.Utility;
+import edu.ucr.cs.riple.injector.Printer;
+import edu.ucr.cs.riple.scanner.Serializer;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+
+/**
+ * On-disk snapshot of the outputs of the build with Scanner activated on the target module, which
+ * is persisted across runs of Annotator. Registries of a module are loaded from these outputs,
+ * therefore if the snapshot is valid, the build is skipped and the outputs are restored from the
+ * snapshot instead. Each snapshot stores a manifest describing what the outputs were computed
+ * from: the build command, Scanner configuration, the javac argument file of the target module,
+ * each classpath and processor path entry listed in the argument file, the contents of each source
+ * file listed in the argument file or observed by Scanner and the list of source files in
+ * directories of these source files. A snapshot is invalidated if any of these has changed and is
+ * rewritten after the next build. Inputs of a build are only known from the javac argument file,
+ * therefore snapshots are never valid if the argument file is not set or the snapshot is not
+ * created for the target module alone.
+ */
+public class ModuleSnapshot {
+
+  /** Version of the snapshot layout, snapshots of other versions are not restored. */
+  private static final int VERSION = 2;
+
+  /** Name of the file describing the inputs the snapshot is computed from. */
+  private static final String MANIFEST_FILE_NAME = "manifest.tsv";
+
+  /** Manifest row kind holding the fingerprint of build inputs other than files. */
+  private static final String BUILD = "build";
+
+  /** Manifest row kind holding the size, modification time and digest of a source file. */
+  private static final String SOURCE = "source";
+
+  /**
+   * Manifest row kind holding the size, modification time and digest of a classpath or processor
+   * path file entry.
+   */
+  private static final String CLASSPATH = "classpath";
+
+  /**
+   * Manifest row kind holding the digest of the paths, sizes and modification times of all files in
+   * a classpath or processor path directory entry.
+   */
+  private static final String CLASSPATH_DIRECTORY = "classpath-directory";
+
+  /** Manifest row kind holding the digest of the list of source files in a directory. */
+  private static final String DIRECTORY = "directory";
+
+  /** Options of javac argument files followed by a classpath or processor path. */
+  private static final ImmutableSet<String> PATH_OPTIONS =
+      ImmutableSet.of(
+          "-cp", "-classpath", "--class-path", "-processorpath", "--processor-path");
+
+  /** Annotator context. */
+  private final Context context;
+
+  /** Modules the snapshot is created for. */
+  private final ImmutableSet<ModuleConfiguration> configurations;
+
+  /** Command to build the modules with Scanner activated. */
+  private final String buildCommand;
+
+  /**
+   * Javac argument file of the modules, null if the argument file is not set or the snapshot is not
+   * created for the target module alone.
+   */
+  @Nullable private final Path argsFile;
+
+  /** Directory of this snapshot. */
+  private final Path dir;
+
+  /**
+   * Creates a snapshot for the given modules. Snapshots of different sets of modules are stored in
+   * separate directories under the given root.
+   *
+   * @param context Annotator context.
+   * @param configurations Modules the snapshot is created for.
+   * @param buildCommand Command to build the modules with Scanner activated.
+   * @param root Root directory of all snapshots.
+   */
+  public ModuleSnapshot(
+      Context context,
+      ImmutableSet<ModuleConfiguration> configurations,
+      String buildCommand,
+      Path root) {
+    this.context = context;
+    this.configurations = configurations;
+    this.buildCommand = buildCommand;
+    // Argument file only describes the build of the target module.
+    this.argsFile =
+        configurations.equals(ImmutableSet.of(context.targetConfiguration))
+            ? context.config.compilerArgsFile
+            : null;
+    Hasher hasher = Hashing.murmur3_128().newHasher();
+    hasher.putString(buildCommand, StandardCharsets.UTF_8);
+    configurations.forEach(
+        configuration -> {
+          hasher.putInt(configuration.id);
+          hasher.putString(configuration.scannerConfig.toString(), StandardCharsets.UTF_8);
+        });
+    this.dir = root.resolve(hasher.hash().toString());
+  }
+
+  /**
+   * Restores the outputs of the build with Scanner activated from this snapshot, if the snapshot
+   * exists and all inputs it is computed from are unchanged.
+   *
+   * @return true, if the outputs are restored and the build can be skipped.
+   */
+  public boolean restore() {
+    Path manifest = dir.resolve(MANIFEST_FILE_NAME);
+    if (argsFile == null || !Files.exists(manifest)) {
+      return false;
+    }
+    String fingerprint = computeBuildFingerprint();
+    List<String> changes = new ArrayList<>();
+    try {
+      TSVReader.read(
+          manifest,
+          true,
+          row -> {
+            String[] values = row.toArray();
+            switch (values[0]) {
+              case BUILD:
+                if (!values[1].equals(fingerprint)) {
+                  changes.add("build configuration");
+                }
+                break;
+              case SOURCE:
+              case CLASSPATH:
+                Path file = Paths.get(values[1]);
+                long size = Long.parseLong(values[2]);
+                long modified = Long.parseLong(values[3]);
+                if (isModified(file, size, modified, values[4])) {
+                  changes.add(file.toString());
+                }
+                break;
+              case CLASSPATH_DIRECTORY:
+                Path classes = Paths.get(values[1]);
+                if (!digestClassDirectory(classes).equals(values[2])) {
+                  changes.add(classes.toString());
+                }
+                break;
+              case DIRECTORY:
+                Path directory = Paths.get(values[1]);
+                if (!digestDirectory(directory).equals(values[2])) {
+                  changes.add(directory.toString());
+                }
+                break;
+              default:
+                changes.add("unknown manifest entry: " + values[0]);
+            }
+          });
+    } catch (IOException e) {
+      throw new RuntimeException("Error happened while loading content of file: " + manifest, e);
+    }
+    if (!changes.isEmpty()) {
+      System.out.println(
+          "Module snapshot is outdated, " + changes.size() + " inputs changed since: " + dir);
+      return false;
+    }
+    int index = 0;
+    for (ModuleConfiguration configuration : configurations) {
+      Path outputs = dir.resolve(String.valueOf(index++));
+      for (Path output : listFiles(outputs)) {
+        copy(output, configuration.dir.resolve(output.getFileName()));
+      }
+    }
+    // Scanner configuration is left deactivated, as it is after a build with Scanner activated.
+    Utility.setScannerCheckerActivation(context.config, configurations, false);
+    System.out.println("Restored module snapshot from: " + dir);
+    return true;
+  }
+
+  /**
+   * Stores the current outputs of the build with Scanner activated in this snapshot along the
+   * manifest of the inputs they are computed from. Must be called right after the build. Nothing
+   * is stored if the snapshot can never be restored.
+   */
+  public void store() {
+    if (argsFile == null) {
+      return;
+    }
+    Utility.deleteDirectory(dir);
+    List<String> args = CapturedCompilation.readArgsFile(argsFile);
+    Set<Path> sources = new TreeSet<>();
+    Set<Path> classpath = new TreeSet<>();
+    for (int i = 0; i < args.size(); i++) {
+      String arg = args.get(i);
+      if (arg.endsWith(".java")) {
+        sources.add(Paths.get(arg));
+      } else if (PATH_OPTIONS.contains(arg) && i + 1 < args.size()) {
+        classpath.addAll(resolvePath(args.get(++i)));
+      }
+    }
+    int index = 0;
+    for (ModuleConfiguration configuration : configurations) {
+      Path outputs = dir.resolve(String.valueOf(index++));
+      for (Path output : listFiles(configuration.dir)) {
+        if (output.equals(configuration.scannerConfig)
+            || output.equals(configuration.checkerConfig)) {
+          continue;
+        }
+        copy(output, outputs.resolve(output.getFileName()));
+      }
+      Path classRecords = configuration.dir.resolve(Serializer.CLASS_RECORD_FILE_NAME);
+      try {
+        TSVReader.read(
+            classRecords,
+            true,
+            row -> {
+              Path source = Printer.deserializePath(row.getString(1));
+              if (Files.exists(source)) {
+                sources.add(source);
+              }
+            });
+      } catch (IOException e) {
+        throw new RuntimeException(
+            "Error happened while loading content of file: " + classRecords, e);
+      }
+    }
+    StringBuilder manifest = new StringBuilder("kind\tpath\tvalues\n");
+    manifest.append(BUILD).append('\t').append(computeBuildFingerprint()).append('\n');
+    for (Path entry : classpath) {
+      if (Files.isDirectory(entry)) {
+        manifest
+            .append(
+                String.join(
+                    "\t", CLASSPATH_DIRECTORY, entry.toString(), digestClassDirectory(entry)))
+            .append('\n');
+      } else {
+        manifest.append(describeFile(CLASSPATH, entry)).append('\n');
+      }
+    }
+    Set<Path> directories = new TreeSet<>();
+    for (Path source : sources) {
+      manifest.append(describeFile(SOURCE, source)).append('\n');
+      if (source.getParent() != null) {
+        directories.add(source.getParent());
+      }
+    }
+    for (Path directory : directories) {
+      manifest
+          .append(String.join("\t", DIRECTORY, directory.toString(), digestDirectory(directory)))
+          .append('\n');
+    }
+    try {
+      // Manifest is written last, an interrupted store does not leave a valid snapshot behind.
+      Files.createDirectories(dir);
+      Files.writeString(dir.resolve(MANIFEST_FILE_NAME), manifest, StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new RuntimeException("Could not write module snapshot manifest in: " + dir, e);
+    }
+  }
+
+  /**
+   * Computes the fingerprint of build inputs other than files listed in the javac argument file.
+   *
+   * @return Fingerprint of build inputs.
+   */
+  private String computeBuildFingerprint() {
+    Hasher hasher = Hashing.murmur3_128().newHasher();
+    hasher.putInt(VERSION);
+    hasher.putString(buildCommand, StandardCharsets.UTF_8);
+    context.config.generatedCodeDetectors.stream()
+        .map(Enum::name)
+        .sorted()
+        .forEach(name -> hasher.putString(name, StandardCharsets.UTF_8));
+    context.config.getNonnullAnnotations().stream()
+        .sorted()
+        .forEach(name -> hasher.putString(name, StandardCharsets.UTF_8));
+    // Argument file lists the options, classpath, processor path and all source files.
+    hasher.putString(digest(argsFile), StandardCharsets.UTF_8);
+    return hasher.hash().toString();
+  }
+
+  /**
+   * Resolves the entries of a classpath or processor path. Wildcard entries are resolved to jar
+   * files in their directory, the same way as the java launcher.
+   *
+   * @param path Classpath or processor path.
+   * @return Paths to entries.
+   */
+  private static ImmutableList<Path> resolvePath(String path) {
+    ImmutableList.Builder<Path> entries = ImmutableList.builder();
+    for (String entry : path.split(File.pathSeparator)) {
+      if (entry.isEmpty()) {
+        continue;
+      }
+      if (entry.equals("*") || entry.endsWith(File.separator + "*")) {
+        Path directory = Paths.get(entry.substring(0, entry.length() - 1));
+        listFiles(directory).stream()
+            .filter(file -> file.getFileName().toString().toLowerCase().endsWith(".jar"))
+            .forEach(entries::add);
+        // Jars added to or removed from the directory are detected by its listing.
+        entries.add(directory);
+      } else {
+        entries.add(Paths.get(entry));
+      }
+    }
+    return entries.build();
+  }
+
+  /**
+   * Describes the given file as a manifest row with its size, modification time and digest. A
+   * missing file is described with the size -1.
+   *
+   * @param kind Kind of the manifest row.
+   * @param path Path to the file.
+   * @return Manifest row describing the file.
+   */
+  private static String describeFile(String kind, Path path) {
+    File file = path.toFile();
+    boolean exists = file.isFile();
+    return String.join(
+        "\t",
+        kind,
+        path.toString(),
+        String.valueOf(exists ? file.length() : -1),
+        String.valueOf(exists ? file.lastModified() : 0),
+        digest(path));
+  }
+
+  /**
+   * Checks if the given file is modified since it was recorded. The content of the file is only
+   * compared if its size is unchanged and its modification time is changed.
+   *
+   * @param path Path to the file.
+   * @param size Recorded size of the file, -1 if the file did not exist.
+   * @param modified Recorded modification time of the file.
+   * @param digest Recorded digest of the file contents.
+   * @return true, if the file is added, removed or its content is changed.
+   */
+  private static boolean isModified(Path path, long size, long modified, String digest) {
+    File file = path.toFile();
+    if (!file.isFile()) {
+      return size != -1;
+    }
+    if (file.length() != size) {
+      return true;
+    }
+    return file.lastModified() != modified && !digest(path).equals(digest);
+  }
+
+  /**
+   * Computes the digest of the contents of the given file.
+   *
+   * @param path Path to file.
+   * @return Digest of the file contents, or {@code "null"} if the file does not exist.
+   */
+  private static String digest(Path path) {
+    File file = path.toFile();
+    if (!file.isFile()) {
+      return "null";
+    }
+    try {
+      return com.google.common.io.Files.asByteSource(file).hash(Hashing.murmur3_128()).toString();
+    } catch (IOException e) {
+      throw new RuntimeException("Exception happened in computing digest of: " + path, e);
+    }
+  }
+
+  /**
+   * Computes the digest of the names of source files in the given directory. Used to detect source
+   * files added to or removed from directories of observed source files.
+   *
+   * @param directory Path to directory.
+   * @return Digest of the sorted names of source files in the directory.
+   */
+  private static String digestDirectory(Path directory) {
+    Hasher hasher = Hashing.murmur3_128().newHasher();
+    listFiles(directory).stream()
+        .map(path -> path.getFileName().toString())
+        .filter(name -> name.endsWith(".java"))
+        .sorted()
+        .forEach(name -> hasher.putString(name, StandardCharsets.UTF_8));
+    return hasher.hash().toString();
+  }
+
+  /**
+   * Computes the digest of the relative paths, sizes and modification times of all files in the
+   * given classpath directory. Contents of class files are not read, a rebuilt class file has a new
+   * modification time.
+   *
+   * @param directory Path to directory.
+   * @return Digest of the files in the directory, or {@code "null"} if the directory does not
+   *     exist.
+   */
+  private static String digestClassDirectory(Path directory) {
+    if (!Files.isDirectory(directory)) {
+      return "null";
+    }
+    Hasher hasher = Hashing.murmur3_128().newHasher();
+    try (Stream<Path> paths = Files.walk(directory)) {
+      paths
+          .filter(Files::isRegularFile)
+          .sorted()
+          .forEach(
+              path -> {
+                File file = path.toFile();
+                hasher.putString(directory.relativize(path).toString(), StandardCharsets.UTF_8);
+                hasher.putLong(file.length());
+                hasher.putLong(file.lastModified());
+              });
+    } catch (IOException e) {
+      throw new RuntimeException("Could not list files in: " + directory, e);
+    }
+    return hasher.hash().toString();
+  }
+
+  /**
+   * Returns regular files directly in the given directory.
+   *
+   * @param directory Path to directory.
+   * @return Regular files in the directory, empty if the directory does not exist.
+   */
+  private static ImmutableList<Path> listFiles(Path directory) {
+    if (!Files.isDirectory(directory)) {
+      return ImmutableList.of();
+    }
+    try (Stream<Path> paths = Files.list(directory)) {
+      return paths.filter(Files::isRegularFile).collect(ImmutableList.toImmutableList());
+    } catch (IOException e) {
+      throw new RuntimeException("Could not list files in: " + directory, e);
+    }
+  }
+
+  /**
+   * Copies the given file to the given destination.
+   *
+   * @param source Path to source file.
+   * @param destination Path to destination.
+   */
+  private static void copy(Path source, Path destination) {
+    try {
+      Files.createDirectories(destination.getParent());
+      Files.copy(source, destination, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      throw new RuntimeException("Could not copy " + source + " to " + destination, e);
+    }
+  }
+}
@@ -29,6 +29,7 @@ import edu.ucr.cs.riple.core.injectors.AnnotationInjector;
 import edu.ucr.cs.riple.core.module.ModuleConfiguration;
 import edu.ucr.cs.riple.core.module.ModuleInfo;
 import edu.ucr.cs.riple.core.registries.index.Error;
+import edu.ucr.cs.riple.core.registries.region.Region;
 import java.util.Set;
 
 /**
@@ -46,6 +47,16 @@ public interface Checker<T extends Error> {
    */
   Set<T> deserializeErrors(ModuleInfo module);
 
+  /**
+   * Deserializes errors reported by the checker which are enclosed by the given regions. Errors
+   * enclosed by other regions are skipped before being fully deserialized.
+   *
+   * @param module Module where the checker reports errors.
+   * @param regions Regions of interest.
+   * @return Set of errors reported by the checker enclosed by the given regions.
+   */
+  Set<T> deserializeErrors(ModuleInfo module, ImmutableSet<Region> regions);
+
   /**
    * Suppresses remaining errors reported by the checker.
    *
@@ -74,4 +85,12 @@ public interface Checker<T extends Error> {
    *     build.
    */
   void prepareConfigFilesForBuild(ImmutableSet<ModuleConfiguration> configurations);
+
+  /**
+   * Returns the names of files the checker serializes its output to in the output directory of
+   * each module on every build.
+   *
+   * @return Immutable set of output file names.
+   */
+  ImmutableSet<String> getOutputFileNames();
 }
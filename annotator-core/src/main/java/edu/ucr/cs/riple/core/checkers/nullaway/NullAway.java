@@ -36,6 +36,7 @@ import edu.ucr.cs.riple.core.registries.field.FieldInitializationStore;
 import edu.ucr.cs.riple.core.registries.index.Error;
 import edu.ucr.cs.riple.core.registries.index.Fix;
 import edu.ucr.cs.riple.core.registries.region.Region;
+import edu.ucr.cs.riple.core.util.TSVReader;
 import edu.ucr.cs.riple.core.util.Utility;
 import edu.ucr.cs.riple.injector.Printer;
 import edu.ucr.cs.riple.injector.changes.AddAnnotation;
@@ -45,16 +46,18 @@ import edu.ucr.cs.riple.injector.changes.AddTypeUseMarkerAnnotation;
 import edu.ucr.cs.riple.injector.location.Location;
 import edu.ucr.cs.riple.injector.location.OnField;
 import edu.ucr.cs.riple.injector.location.OnParameter;
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 
 /** Represents <a href="https://github.com/uber/NullAway">NullAway</a> checker in Annotator. */
 public class NullAway extends CheckerBaseClass<NullAwayError> {
@@ -67,28 +70,54 @@ public class NullAway extends CheckerBaseClass<NullAwayError> {
   /** Supported version of NullAway serialization. */
   public static final int VERSION = 3;
 
+  /** Name of the file NullAway serializes reported errors to. */
+  public static final String ERRORS_FILE_NAME = "errors.tsv";
+
   public NullAway(Context context) {
     super(context);
   }
 
   @Override
   public Set<NullAwayError> deserializeErrors(ModuleInfo module) {
+    return deserializeErrors(module, (Map<String, Set<String>>) null);
+  }
+
+  @Override
+  public Set<NullAwayError> deserializeErrors(ModuleInfo module, ImmutableSet<Region> regions) {
+    Map<String, Set<String>> members = new HashMap<>();
+    regions.forEach(
+        region -> members.computeIfAbsent(region.clazz, k -> new HashSet<>()).add(region.member));
+    return deserializeErrors(module, members);
+  }
+
+  /**
+   * Deserializes errors reported by NullAway. If a filter is given, the enclosing class and member
+   * columns of each line are checked first and only lines enclosed by a region in the filter are
+   * fully deserialized.
+   *
+   * @param module Module where the checker reports errors.
+   * @param regions Members of regions of interest indexed by their enclosing class, or {@code
+   *     null} to deserialize all errors.
+   * @return Set of deserialized errors.
+   */
+  private Set<NullAwayError> deserializeErrors(
+      ModuleInfo module, @Nullable Map<String, Set<String>> regions) {
     ImmutableSet<Path> paths =
         module.getModuleConfiguration().stream()
-            .map(configuration -> configuration.dir.resolve("errors.tsv"))
+            .map(configuration -> configuration.dir.resolve(ERRORS_FILE_NAME))
             .collect(ImmutableSet.toImmutableSet());
     Set<NullAwayError> errors = new HashSet<>();
     paths.forEach(
         path -> {
           try {
-            try (BufferedReader br = Files.newBufferedReader(path, Charset.defaultCharset())) {
-              String line;
-              // Skip header.
-              br.readLine();
-              while ((line = br.readLine()) != null) {
-                errors.add(deserializeErrorFromTSVLine(module, line));
-              }
-            }
+            TSVReader.read(
+                path,
+                true,
+                row -> {
+                  if (regions == null || isEnclosedByRegions(row, regions)) {
+                    errors.add(deserializeErrorFromTSVRow(module, row.toArray()));
+                  }
+                });
           } catch (IOException e) {
             throw new RuntimeException("Exception happened in reading errors at: " + path, e);
           }
@@ -97,15 +126,30 @@ public class NullAway extends CheckerBaseClass<NullAwayError> {
   }
 
   /**
-   * Deserializes an error from a TSV line.
+   * Checks if the error serialized in the given TSV row is enclosed by one of the given regions.
+   * Only the enclosing class and member columns are extracted from the row.
+   *
+   * @param row Given TSV row.
+   * @param regions Members of regions indexed by their enclosing class.
+   * @return true, if the error is enclosed by one of the given regions.
+   */
+  private static boolean isEnclosedByRegions(TSVReader.Row row, Map<String, Set<String>> regions) {
+    if (row.size() < 4) {
+      // Malformed row, let the deserializer report it.
+      return true;
+    }
+    Set<String> members = regions.get(row.getString(2));
+    return members != null && members.contains(row.getString(3));
+  }
+
+  /**
+   * Deserializes an error from the values of a TSV row.
    *
    * @param moduleInfo Module info.
-   * @param line Given TSV line.
-   * @return the deserialized error corresponding to the values in the given tsv line.
+   * @param values Values of the given TSV row.
+   * @return the deserialized error corresponding to the values in the given tsv row.
    */
-  private NullAwayError deserializeErrorFromTSVLine(ModuleInfo moduleInfo, String line) {
-    Context context = moduleInfo.getContext();
-    String[] values = line.split("\t");
+  private NullAwayError deserializeErrorFromTSVRow(ModuleInfo moduleInfo, String[] values) {
     Preconditions.checkArgument(
         values.length == 12,
         "Expected 12 values to create Error instance in NullAway serialization version 2 but found: "
@@ -125,7 +169,7 @@ public class NullAway extends CheckerBaseClass<NullAwayError> {
           errorType,
           errorMessage,
           region,
-          context.offsetHandler.getOriginalOffset(path, offset),
+          moduleInfo.getOffsetHandler().getOriginalOffset(path, offset),
           annotationsOnField,
           moduleInfo);
     }
@@ -153,7 +197,7 @@ public class NullAway extends CheckerBaseClass<NullAwayError> {
         errorType,
         errorMessage,
         region,
-        context.offsetHandler.getOriginalOffset(path, offset),
+        moduleInfo.getOffsetHandler().getOriginalOffset(path, offset),
         annotations,
         moduleInfo);
   }
@@ -449,6 +493,11 @@ public class NullAway extends CheckerBaseClass<NullAwayError> {
     }
   }
 
+  @Override
+  public ImmutableSet<String> getOutputFileNames() {
+    return ImmutableSet.of(ERRORS_FILE_NAME, FieldInitializationStore.FILE_NAME);
+  }
+
   @Override
   public void prepareConfigFilesForBuild(ImmutableSet<ModuleConfiguration> configurations) {
     configurations.forEach(
@@ -65,7 +65,7 @@ public abstract class AbstractEvaluator implements Evaluator {
     this.supplier = supplier;
     this.depth = supplier.depth();
     this.context = supplier.getContext();
-    this.graph = new ConflictGraph();
+    this.graph = new ConflictGraph(context.config.coloringStrategy);
     this.processor = supplier.getGraphProcessor();
   }
 
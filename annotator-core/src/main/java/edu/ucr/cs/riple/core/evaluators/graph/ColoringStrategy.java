@@ -0,0 +1,198 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Nima Karimipour
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.ucr.cs.riple.core.evaluators.graph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+
+/**
+ * Strategy used to color the {@link ConflictGraph}. Each color corresponds to a group of fixes
+ * which are evaluated together in a single build, therefore strategies producing fewer colors
+ * result in fewer builds.
+ */
+public enum ColoringStrategy {
+  /** Greedily colors nodes in the order they are stored in the graph. */
+  GREEDY {
+    @Override
+    public int[] color(int[][] adj) {
+      return colorInOrder(adj, IntStream.range(0, adj.length).toArray());
+    }
+  },
+
+  /**
+   * Greedily colors nodes in decreasing order of their degree (Welsh-Powell). Nodes with many
+   * conflicts are placed first while there are still few colors in use.
+   */
+  LARGEST_FIRST {
+    @Override
+    public int[] color(int[][] adj) {
+      int[] order =
+          IntStream.range(0, adj.length)
+              .boxed()
+              .sorted(Comparator.comparingInt((Integer u) -> -adj[u].length))
+              .mapToInt(Integer::intValue)
+              .toArray();
+      return colorInOrder(adj, order);
+    }
+  },
+
+  /**
+   * Colors the node with the highest number of distinct colors among its neighbours (saturation)
+   * next, ties are broken by degree and then by the order of nodes in the graph (DSatur).
+   */
+  DSATUR {
+    @Override
+    public int[] color(int[][] adj) {
+      int size = adj.length;
+      int[] result = new int[size];
+      Arrays.fill(result, -1);
+      int[] saturation = new int[size];
+      BitSet[] neighbourColors = new BitSet[size];
+      TreeSet<Integer> queue =
+          new TreeSet<>(
+              Comparator.comparingInt((Integer u) -> -saturation[u])
+                  .thenComparingInt(u -> -adj[u].length)
+                  .thenComparingInt(u -> u));
+      for (int u = 0; u < size; u++) {
+        neighbourColors[u] = new BitSet();
+        queue.add(u);
+      }
+      while (!queue.isEmpty()) {
+        int u = queue.pollFirst();
+        int color = neighbourColors[u].nextClearBit(0);
+        result[u] = color;
+        for (int v : adj[u]) {
+          if (result[v] != -1 || neighbourColors[v].get(color)) {
+            continue;
+          }
+          // Saturation is part of the ordering, the node must be re-inserted after the update.
+          queue.remove(v);
+          neighbourColors[v].set(color);
+          saturation[v]++;
+          queue.add(v);
+        }
+      }
+      return result;
+    }
+  },
+
+  /** Runs all other strategies and keeps the coloring with the fewest colors. */
+  BEST {
+    @Override
+    public int[] color(int[][] adj) {
+      int[] best = null;
+      for (ColoringStrategy strategy : new ColoringStrategy[] {GREEDY, LARGEST_FIRST, DSATUR}) {
+        int[] result = strategy.color(adj);
+        if (best == null || numberOfColors(result) < numberOfColors(best)) {
+          best = result;
+        }
+      }
+      return best;
+    }
+  };
+
+  /**
+   * Colors the graph, no two adjacent nodes will receive the same color.
+   *
+   * @param adj Adjacency lists of the nodes, the i-th array contains neighbours of the i-th node.
+   * @return Colors of nodes, where the i-th element is the color of the i-th node. Colors are
+   *     consecutive integers starting from zero.
+   */
+  public abstract int[] color(int[][] adj);
+
+  /**
+   * Greedily assigns each node the smallest color not used by its neighbours, visiting nodes in
+   * the given order.
+   *
+   * @param adj Adjacency lists of the nodes.
+   * @param order Order in which nodes are colored.
+   * @return Colors of nodes.
+   */
+  private static int[] colorInOrder(int[][] adj, int[] order) {
+    int size = adj.length;
+    int[] result = new int[size];
+    Arrays.fill(result, -1);
+    boolean[] available = new boolean[size];
+    Arrays.fill(available, true);
+    for (int u : order) {
+      for (int i : adj[u]) {
+        if (result[i] != -1) {
+          available[result[i]] = false;
+        }
+      }
+      int cr;
+      for (cr = 0; cr < size; cr++) {
+        if (available[cr]) {
+          break;
+        }
+      }
+      result[u] = cr;
+      for (int i : adj[u]) {
+        if (result[i] != -1) {
+          available[result[i]] = true;
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the number of distinct colors in the given coloring.
+   *
+   * @param colors Colors of nodes.
+   * @return Number of colors.
+   */
+  private static int numberOfColors(int[] colors) {
+    return Arrays.stream(colors).max().orElse(-1) + 1;
+  }
+
+  /**
+   * Parses the received option and returns the corresponding {@link ColoringStrategy}. Can only be
+   * one of [greedy|largest_first|dsatur|best] values.
+   *
+   * @param strategy passed strategy.
+   * @return the corresponding {@link ColoringStrategy}.
+   */
+  public static ColoringStrategy parseStrategy(String strategy) {
+    switch (strategy.toLowerCase()) {
+      case "greedy":
+        return GREEDY;
+      case "largest_first":
+        return LARGEST_FIRST;
+      case "dsatur":
+        return DSATUR;
+      case "best":
+        return BEST;
+      default:
+        throw new IllegalArgumentException(
+            "Unrecognized coloring strategy: "
+                + strategy
+                + " .Can only be [greedy|largest_first|dsatur|best].");
+    }
+  }
+}
@@ -32,7 +32,6 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Stream;
@@ -48,12 +47,21 @@ public class ConflictGraph {
 
   /**
    * Groups in this graph, nodes which does not have any conflict in regions will in the same group.
-   * Please note that this is a graph coloring problem, set of groups is calculated using a greedy
-   * algorithm can may not be optimal.
+   * Please note that this is a graph coloring problem, set of groups is calculated using a
+   * heuristic {@link ColoringStrategy} and may not be optimal.
    */
   private final HashMap<Integer, Set<Node>> groups;
 
-  public ConflictGraph() {
+  /** Strategy used to color the graph. */
+  private final ColoringStrategy strategy;
+
+  /**
+   * Creates an empty conflict graph.
+   *
+   * @param strategy Strategy used to color the graph.
+   */
+  public ConflictGraph(ColoringStrategy strategy) {
+    this.strategy = strategy;
     nodes = MultimapBuilder.hashKeys().arrayListValues().build();
     groups = new HashMap<>();
   }
@@ -72,64 +80,92 @@ public class ConflictGraph {
 
   /**
    * Colors the graph based on edges, no two vertices which there is an edge connecting them will be
-   * in the same group. A greedy algorithm is used to find the solution.
+   * in the same group. The configured {@link ColoringStrategy} is used to find the solution.
    */
-  // TODO: Remove SuppressWarnings below later.
-  @SuppressWarnings("JdkObsolete")
   public void findGroups() {
     this.groups.clear();
-    Collection<Node> allNodes = nodes.values();
-    int counter = 0;
-    for (Node node : allNodes) {
-      node.id = counter++;
+    List<Node> allNodes = new ArrayList<>(nodes.values());
+    if (allNodes.isEmpty()) {
+      return;
+    }
+    for (int i = 0; i < allNodes.size(); i++) {
+      allNodes.get(i).id = i;
     }
+    colorGraph(computeAdjacency(allNodes), allNodes);
+  }
+
+  /**
+   * Computes the adjacency lists of the given nodes, there is an edge between two nodes if they
+   * share a potentially impacted region. Instead of checking all pairs of nodes, an inverted index
+   * from each region to the nodes containing it is built, and neighbours of each node are collected
+   * from the index entries of its regions. Therefore, the cost is proportional to the number of
+   * shared regions rather than the square of the number of nodes.
+   *
+   * @param allNodes Nodes in the graph, id of each node must be its index in the list.
+   * @return Adjacency lists, where the i-th array contains the ids of neighbours of the i-th node.
+   */
+  private static int[][] computeAdjacency(List<Node> allNodes) {
     int size = allNodes.size();
-    LinkedList<Integer>[] adj = new LinkedList[size];
-    for (int i = 0; i < size; ++i) {
-      adj[i] = new LinkedList<>();
+    // Collect the region ids of each node, ids are assigned by the module region index.
+    int[][] nodeRegions = new int[size][];
+    int numberOfRegions = 0;
+    int total = 0;
+    for (int i = 0; i < size; i++) {
+      int[] ids = allNodes.get(i).getRegionIds();
+      if (ids.length > 0) {
+        // Ids are sorted in ascending order.
+        numberOfRegions = Math.max(numberOfRegions, ids[ids.length - 1] + 1);
+      }
+      nodeRegions[i] = ids;
+      total += ids.length;
     }
-    for (Node node : allNodes) {
-      for (Node other : allNodes) {
-        if (node.equals(other)) {
-          continue;
-        }
-        if (node.hasConflictInRegions(other)) {
-          adj[node.id].add(other.id);
+    // Inverted index in compressed form: nodes containing region r are stored in
+    // members[start[r]] to members[start[r + 1] - 1].
+    int[] start = new int[numberOfRegions + 1];
+    for (int[] ids : nodeRegions) {
+      for (int id : ids) {
+        start[id + 1]++;
+      }
+    }
+    for (int r = 0; r < numberOfRegions; r++) {
+      start[r + 1] += start[r];
+    }
+    int[] members = new int[total];
+    int[] next = Arrays.copyOf(start, numberOfRegions);
+    for (int i = 0; i < size; i++) {
+      for (int id : nodeRegions[i]) {
+        members[next[id]++] = i;
+      }
+    }
+    // Collect neighbours of each node, mark is used to skip duplicates.
+    int[][] adj = new int[size][];
+    int[] mark = new int[size];
+    Arrays.fill(mark, -1);
+    int[] buffer = new int[size];
+    for (int i = 0; i < size; i++) {
+      int count = 0;
+      for (int id : nodeRegions[i]) {
+        for (int m = start[id]; m < start[id + 1]; m++) {
+          int other = members[m];
+          if (other != i && mark[other] != i) {
+            mark[other] = i;
+            buffer[count++] = other;
+          }
         }
       }
+      adj[i] = Arrays.copyOf(buffer, count);
     }
-    colorGraph(adj, allNodes);
+    return adj;
   }
 
   /**
    * Performs the actual coloring.
    *
-   * @param adj Martic of adjancey.
-   * @param nodes Nodes in the graph.
+   * @param adj Adjacency lists of the nodes.
+   * @param allNodes Nodes in the graph.
    */
-  private void colorGraph(LinkedList<Integer>[] adj, Collection<Node> nodes) {
-    int v = nodes.size();
-    List<Node> allNodes = new ArrayList<>(nodes);
-    int[] result = new int[v];
-    Arrays.fill(result, -1);
-    result[0] = 0;
-    boolean[] available = new boolean[v];
-    Arrays.fill(available, true);
-    for (int u = 1; u < v; u++) {
-      for (int i : adj[u]) {
-        if (result[i] != -1) {
-          available[result[i]] = false;
-        }
-      }
-      int cr;
-      for (cr = 0; cr < v; cr++) {
-        if (available[cr]) {
-          break;
-        }
-      }
-      result[u] = cr;
-      Arrays.fill(available, true);
-    }
+  private void colorGraph(int[][] adj, List<Node> allNodes) {
+    int[] result = strategy.color(adj);
     for (int i = 0; i < result.length; i++) {
       if (!groups.containsKey(result[i])) {
         Set<Node> newList = new HashSet<>();
@@ -32,14 +32,13 @@ import edu.ucr.cs.riple.core.registries.index.Error;
 import edu.ucr.cs.riple.core.registries.index.ErrorStore;
 import edu.ucr.cs.riple.core.registries.index.Fix;
 import edu.ucr.cs.riple.core.registries.region.Region;
+import edu.ucr.cs.riple.core.registries.region.RegionIndex;
 import edu.ucr.cs.riple.core.registries.region.RegionRegistry;
 import edu.ucr.cs.riple.injector.location.OnMethod;
+import java.util.BitSet;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Vertex in {@link ConflictGraph} graph. It stores a fix tree (starting from a root) and all it's
@@ -53,8 +52,14 @@ public class Node {
   /** Set of all fixes in tree. */
   public final Set<Fix> tree;
 
-  /** Set of potentially impacted by any node in tree. */
-  public final Set<Region> regions;
+  /**
+   * Ids of regions potentially impacted by any node in tree, ids are assigned by {@link
+   * #regionIndex}.
+   */
+  private final BitSet regions;
+
+  /** Index used to assign ids to the potentially impacted regions. */
+  private RegionIndex regionIndex;
 
   /** Set of triggered errors if tree is applied on target module. */
   public ImmutableSet<Error> triggeredErrors;
@@ -78,7 +83,7 @@ public class Node {
   private ImmutableSet<Region> origins;
 
   public Node(Fix root) {
-    this.regions = new HashSet<>();
+    this.regions = new BitSet();
     this.root = root;
     this.triggeredFixesFromDownstreamErrors = ImmutableSet.of();
     this.triggeredErrors = ImmutableSet.of();
@@ -112,31 +117,58 @@ public class Node {
    *
    * @param regionRegistry Region registry instance. Used to retrieve regions that can be
    *     potentially impacted by the changes in this node.
+   * @param regionIndex Region index of the module, used to assign ids to the collected regions.
    */
-  public void reCollectPotentiallyImpactedRegions(RegionRegistry regionRegistry) {
+  public void reCollectPotentiallyImpactedRegions(
+      RegionRegistry regionRegistry, RegionIndex regionIndex) {
+    this.regionIndex = regionIndex;
     this.regions.clear();
     // Add origins.
-    this.regions.addAll(this.origins);
+    regionIndex.addAll(this.regions, this.origins);
     this.tree.forEach(
         fix ->
-            this.regions.addAll(
-                fix.toLocations().stream()
-                    .flatMap(location -> regionRegistry.getImpactedRegions(location).stream())
-                    .collect(Collectors.toSet())));
+            fix.toLocations()
+                .forEach(
+                    location ->
+                        regionIndex.addAll(
+                            this.regions, regionRegistry.getImpactedRegions(location))));
     // Add class initialization region, if a fix is modifying a parameter on constructor.
     this.tree.stream()
         .filter(fix -> fix.isOnParameter() && fix.isModifyingConstructor())
-        .forEach(fix -> regions.add(new Region(fix.toParameter().clazz, "null")));
+        .forEach(
+            fix -> regions.set(regionIndex.getId(new Region(fix.toParameter().clazz, "null"))));
+  }
+
+  /**
+   * Returns the potentially impacted regions collected in the last call of {@link
+   * #reCollectPotentiallyImpactedRegions(RegionRegistry, RegionIndex)}.
+   *
+   * @return Immutable set of potentially impacted regions.
+   */
+  public ImmutableSet<Region> getRegions() {
+    return regionIndex == null ? ImmutableSet.of() : regionIndex.getRegions(regions);
+  }
+
+  /**
+   * Returns the ids of potentially impacted regions in ascending order. Ids are assigned by the
+   * {@link RegionIndex} passed to {@link #reCollectPotentiallyImpactedRegions(RegionRegistry,
+   * RegionIndex)}.
+   *
+   * @return Ids of potentially impacted regions.
+   */
+  public int[] getRegionIds() {
+    return regions.stream().toArray();
   }
 
   /**
-   * Checks if a node has a shared region with this node's regions.
+   * Checks if a node has a shared region with this node's regions. Both nodes must have collected
+   * their regions with the same {@link RegionIndex}.
    *
    * @param other Other Node instance.
    * @return true, if there is a conflict and a region is shared.
    */
   public boolean hasConflictInRegions(Node other) {
-    return !Collections.disjoint(other.regions, this.regions);
+    return this.regions.intersects(other.regions);
   }
 
   /**
@@ -24,6 +24,7 @@
 
 package edu.ucr.cs.riple.core.evaluators.graph.processors;
 
+import com.google.common.collect.ImmutableSet;
 import edu.ucr.cs.riple.core.Context;
 import edu.ucr.cs.riple.core.cache.downstream.DownstreamImpactCache;
 import edu.ucr.cs.riple.core.evaluators.graph.Node;
@@ -33,6 +34,10 @@ import edu.ucr.cs.riple.core.module.ModuleInfo;
 import edu.ucr.cs.riple.core.registries.index.Error;
 import edu.ucr.cs.riple.core.registries.index.ErrorStore;
 import edu.ucr.cs.riple.core.registries.index.Fix;
+import edu.ucr.cs.riple.core.registries.region.Region;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -77,4 +82,40 @@ public abstract class AbstractConflictGraphProcessor implements ConflictGraphPro
         .flatMap(Error::getResolvingFixesStream)
         .collect(Collectors.toSet());
   }
+
+  /**
+   * Returns the source files which can observe a change in errors by injecting the given fixes.
+   * These are the source files the fixes are applied on and the source files containing the
+   * potentially impacted regions of the given nodes.
+   *
+   * @param nodes Nodes in process, their potentially impacted regions must be collected.
+   * @param fixes Fixes of the given nodes.
+   * @return Immutable set of paths to affected source files.
+   */
+  protected ImmutableSet<Path> getAffectedSourceFiles(Set<Node> nodes, Set<Fix> fixes) {
+    ImmutableSet.Builder<Path> builder = ImmutableSet.builder();
+    fixes.stream()
+        .flatMap(fix -> fix.toLocations().stream())
+        .map(location -> location.path)
+        .filter(Objects::nonNull)
+        .forEach(builder::add);
+    nodes.stream()
+        .flatMap(node -> node.getRegions().stream())
+        .map(region -> moduleInfo.getLocationOnClass(region.clazz))
+        .filter(Objects::nonNull)
+        .forEach(onClass -> builder.add(onClass.path));
+    return builder.build();
+  }
+
+  /**
+   * Returns the union of potentially impacted regions of the given nodes.
+   *
+   * @param nodes Nodes in process, their potentially impacted regions must be collected.
+   * @return Immutable set of regions.
+   */
+  protected ImmutableSet<Region> getRegionsOfNodes(Collection<Node> nodes) {
+    return nodes.stream()
+        .flatMap(node -> node.getRegions().stream())
+        .collect(ImmutableSet.toImmutableSet());
+  }
 }
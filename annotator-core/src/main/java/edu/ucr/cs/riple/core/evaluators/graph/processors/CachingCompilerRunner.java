@@ -0,0 +1,80 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Nima Karimipour
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.ucr.cs.riple.core.evaluators.graph.processors;
+
+import com.google.common.collect.ImmutableSet;
+import edu.ucr.cs.riple.core.Context;
+import edu.ucr.cs.riple.core.cache.BuildResultCache;
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+
+/**
+ * Compiler runner which skips builds of source states which are already built by restoring their
+ * checker outputs from a {@link BuildResultCache}, and delegates all other builds to the wrapped
+ * runner.
+ */
+public class CachingCompilerRunner implements CompilerRunner {
+
+  /** Annotator context. */
+  private final Context context;
+
+  /** Runner to delegate builds to. */
+  private final CompilerRunner runner;
+
+  /** Cache of build results. */
+  private final BuildResultCache cache;
+
+  /**
+   * Constructor for caching compiler runner.
+   *
+   * @param context Annotator context.
+   * @param runner Runner to delegate builds to.
+   * @param cache Cache of build results.
+   */
+  public CachingCompilerRunner(Context context, CompilerRunner runner, BuildResultCache cache) {
+    this.context = context;
+    this.runner = runner;
+    this.cache = cache;
+  }
+
+  @Override
+  public void run() {
+    cache.runFull(runner::run);
+  }
+
+  @Override
+  public boolean runOn(ImmutableSet<Path> sources) {
+    if (!context.config.incrementalTrialCompilation) {
+      run();
+      return false;
+    }
+    String variant =
+        sources.stream()
+            .map(Path::toString)
+            .sorted()
+            .collect(Collectors.joining(",", "incremental:", ""));
+    return cache.run(variant, () -> runner.runOn(sources));
+  }
+}
@@ -0,0 +1,427 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Nima Karimipour
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.ucr.cs.riple.core.evaluators.graph.processors;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import edu.ucr.cs.riple.core.util.Utility;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+/**
+ * Compilation of a module captured from its build as a javac argument file. The compiler options
+ * (classpath, processor path including the checker and {@code AnnotatorScanner}, Error Prone
+ * plugin flags and output directory) and the list of source files are read once, and the module
+ * can be recompiled with the system {@link JavaCompiler} of the running JVM.
+ *
+ * <p>Please note that Error Prone accesses internal APIs of {@code jdk.compiler}, therefore on JDK
+ * 16+ the running JVM must be launched with the required {@code --add-exports} / {@code
+ * --add-opens} flags for Error Prone to run in-process.
+ *
+ * <p>File managers are reused across compilations with the same options, therefore contents of the
+ * classpath jars are opened once. File managers are released by {@link #close()}.
+ */
+public class CapturedCompilation {
+
+  /** Compiler options specifying an output directory, mapped to the name of the output. */
+  private static final ImmutableMap<String, String> OUTPUT_OPTIONS =
+      ImmutableMap.of("-d", "classes", "-s", "generated", "-h", "headers");
+
+  /** System java compiler. */
+  private final JavaCompiler compiler;
+
+  /** Compiler options read from the argument file. */
+  private final ImmutableList<String> options;
+
+  /** Source files to compile read from the argument file. */
+  private final ImmutableList<File> sources;
+
+  /**
+   * Class output directory of the captured compilation (value of {@code -d}), or {@code null} if
+   * not specified. Required for incremental compilations.
+   */
+  @Nullable private final Path outputDirectory;
+
+  /**
+   * Compiler options for incremental compilations, computed lazily on the first incremental
+   * compilation.
+   */
+  @Nullable private ImmutableList<String> incrementalOptions;
+
+  /**
+   * Temporary class output directory of incremental compilations, created lazily with {@link
+   * #incrementalOptions} and deleted on {@link #close()}.
+   */
+  @Nullable private Path incrementalOutput;
+
+  /**
+   * File managers reused across compilations, one for each set of compiler options, since a file
+   * manager keeps the locations (e.g. classpath) set by the options of its previous compilation.
+   */
+  private final Map<List<String>, StandardJavaFileManager> fileManagers;
+
+  /**
+   * Creates a captured compilation from a javac argument file.
+   *
+   * @param argsFile Path to javac argument file containing the compiler options and source files.
+   */
+  public CapturedCompilation(Path argsFile) {
+    this(readArgsFile(argsFile));
+  }
+
+  /**
+   * Creates a captured compilation from the list of javac arguments.
+   *
+   * @param args Javac arguments containing the compiler options and source files.
+   */
+  private CapturedCompilation(List<String> args) {
+    this.compiler = ToolProvider.getSystemJavaCompiler();
+    Preconditions.checkNotNull(
+        compiler, "System java compiler is not available, annotator must run on a JDK.");
+    this.fileManagers = new HashMap<>();
+    ImmutableList.Builder<String> optionsBuilder = ImmutableList.builder();
+    ImmutableList.Builder<File> sourcesBuilder = ImmutableList.builder();
+    for (String arg : args) {
+      if (arg.endsWith(".java")) {
+        sourcesBuilder.add(new File(arg));
+      } else {
+        optionsBuilder.add(arg);
+      }
+    }
+    this.options = optionsBuilder.build();
+    this.sources = sourcesBuilder.build();
+    int outputIndex = options.indexOf("-d");
+    this.outputDirectory =
+        outputIndex >= 0 && outputIndex + 1 < options.size()
+            ? Paths.get(options.get(outputIndex + 1))
+            : null;
+    Preconditions.checkArgument(
+        !sources.isEmpty(), "No source file found in captured compiler arguments.");
+  }
+
+  /**
+   * Getter for the source files of the captured compilation.
+   *
+   * @return Source files of the captured compilation.
+   */
+  public ImmutableList<File> getSources() {
+    return sources;
+  }
+
+  /**
+   * Creates a copy of this compilation where all arguments are rewritten by the given mapper and
+   * all compiler outputs (class files, generated sources and headers) are redirected to the given
+   * directory. Used to compile copies of the module independently of the original compilation.
+   *
+   * @param argumentMapper Mapper to rewrite compiler options and paths to source files.
+   * @param outputRoot Directory where all outputs of the relocated compilation are written.
+   * @return The relocated compilation.
+   */
+  public CapturedCompilation relocate(UnaryOperator<String> argumentMapper, Path outputRoot) {
+    List<String> args = new ArrayList<>();
+    for (int i = 0; i < options.size(); i++) {
+      String option = options.get(i);
+      String outputName = OUTPUT_OPTIONS.get(option);
+      if (outputName != null && i + 1 < options.size()) {
+        Path output = outputRoot.resolve(outputName);
+        try {
+          Files.createDirectories(output);
+        } catch (IOException e) {
+          throw new RuntimeException("Could not create output directory: " + output, e);
+        }
+        args.add(option);
+        args.add(output.toString());
+        i++;
+      } else {
+        args.add(argumentMapper.apply(option));
+      }
+    }
+    sources.forEach(file -> args.add(argumentMapper.apply(file.getPath())));
+    return new CapturedCompilation(args);
+  }
+
+  /**
+   * Compiles all source files with the captured options. Compilation errors are expected (checker
+   * errors are reported as compilation errors), therefore the result of the compilation is
+   * intentionally ignored and errors should be read from the checker serialized output.
+   *
+   * @param out Writer for the compiler diagnostics.
+   */
+  public void compile(Writer out) {
+    compile(out, UnaryOperator.identity());
+  }
+
+  /**
+   * Compiles all source files with the captured options, where each source file is read from the
+   * path given by the resolver. Used to compile source files with pending changes stored in a
+   * different location (e.g. {@link SourceOverlay}).
+   *
+   * @param out Writer for the compiler diagnostics.
+   * @param resolver Resolver of the path to read each source file from.
+   */
+  public void compile(Writer out, UnaryOperator<Path> resolver) {
+    compile(out, options, resolve(sources, resolver));
+  }
+
+  /**
+   * Compiles only the given subset of source files against the class output of the last complete
+   * build. Classes of this compilation are written to a separate directory, so that the output of
+   * the complete build is not affected by trial changes in the given source files.
+   *
+   * @param out Writer for the compiler diagnostics.
+   * @param subset Paths to source files to compile, paths not included in the captured compilation
+   *     are ignored.
+   */
+  public void compile(Writer out, ImmutableSet<Path> subset) {
+    compile(out, subset, UnaryOperator.identity());
+  }
+
+  /**
+   * Compiles only the given subset of source files against the class output of the last complete
+   * build, where each source file is read from the path given by the resolver.
+   *
+   * @param out Writer for the compiler diagnostics.
+   * @param subset Paths to source files to compile, paths not included in the captured compilation
+   *     are ignored.
+   * @param resolver Resolver of the path to read each source file from.
+   */
+  public void compile(Writer out, ImmutableSet<Path> subset, UnaryOperator<Path> resolver) {
+    Set<Path> targets =
+        subset.stream()
+            .map(path -> path.toAbsolutePath().normalize())
+            .collect(Collectors.toSet());
+    List<File> units =
+        sources.stream()
+            .filter(file -> targets.contains(file.toPath().toAbsolutePath().normalize()))
+            .collect(Collectors.toList());
+    if (units.isEmpty()) {
+      return;
+    }
+    compile(out, getIncrementalOptions(), resolve(units, resolver));
+  }
+
+  /**
+   * Computes the deepest common directory of all source files of this compilation.
+   *
+   * @return Absolute path to the deepest common directory of all source files.
+   */
+  public Path getSourceRoot() {
+    Path root = null;
+    for (File file : sources) {
+      Path parent = file.toPath().toAbsolutePath().normalize().getParent();
+      if (root == null) {
+        root = parent;
+        continue;
+      }
+      while (!parent.startsWith(root)) {
+        root = root.getParent();
+      }
+    }
+    Preconditions.checkArgument(
+        root != null && root.getNameCount() > 0,
+        "Source files of the captured compilation must share a common root directory.");
+    return root;
+  }
+
+  /**
+   * Compiles the given source files with the given options.
+   *
+   * @param out Writer for the compiler diagnostics.
+   * @param options Compiler options.
+   * @param files Source files to compile.
+   */
+  private synchronized void compile(Writer out, List<String> options, List<File> files) {
+    StandardJavaFileManager fileManager =
+        fileManagers.computeIfAbsent(
+            options, key -> compiler.getStandardFileManager(null, null, Charset.defaultCharset()));
+    try {
+      Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjectsFromFiles(files);
+      compiler.getTask(out, fileManager, null, options, null, units).call();
+    } catch (RuntimeException e) {
+      throw new RuntimeException("Exception happened in compiling captured compilation", e);
+    }
+  }
+
+  /** Releases all resources held by this compilation, it can still be compiled afterwards. */
+  public synchronized void close() {
+    for (StandardJavaFileManager fileManager : fileManagers.values()) {
+      try {
+        fileManager.close();
+      } catch (IOException e) {
+        throw new RuntimeException("Exception happened in closing file manager", e);
+      }
+    }
+    fileManagers.clear();
+    if (incrementalOutput != null) {
+      Utility.deleteDirectory(incrementalOutput);
+      incrementalOutput = null;
+      incrementalOptions = null;
+    }
+  }
+
+  /**
+   * Resolves the given source files with the given resolver.
+   *
+   * @param files Source files to resolve.
+   * @param resolver Resolver of the path to read each source file from.
+   * @return Resolved source files.
+   */
+  private static List<File> resolve(List<File> files, UnaryOperator<Path> resolver) {
+    return files.stream()
+        .map(file -> resolver.apply(file.toPath().toAbsolutePath().normalize()).toFile())
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Returns the compiler options for incremental compilations. Options are the captured options
+   * where the output directory of the complete build is prepended to the classpath and the class
+   * output is redirected to a temporary directory. Source path is dropped, so that referenced
+   * classes are always loaded from the class output of the complete build.
+   *
+   * @return Compiler options for incremental compilations.
+   */
+  private synchronized ImmutableList<String> getIncrementalOptions() {
+    if (incrementalOptions != null) {
+      return incrementalOptions;
+    }
+    Preconditions.checkState(
+        outputDirectory != null,
+        "Class output directory (-d) must be present in compiler argument file for incremental compilation.");
+    try {
+      incrementalOutput = Files.createTempDirectory("annotator-incremental-classes");
+    } catch (IOException e) {
+      throw new RuntimeException("Could not create output directory for incremental builds", e);
+    }
+    ImmutableList.Builder<String> builder = ImmutableList.builder();
+    boolean hasClasspath = false;
+    for (int i = 0; i < options.size(); i++) {
+      String option = options.get(i);
+      boolean hasValue = i + 1 < options.size();
+      switch (option) {
+        case "-d":
+          builder.add(option);
+          if (hasValue) {
+            builder.add(incrementalOutput.toString());
+            i++;
+          }
+          break;
+        case "-cp":
+        case "-classpath":
+        case "--class-path":
+          builder.add(option);
+          if (hasValue) {
+            builder.add(outputDirectory + File.pathSeparator + options.get(i + 1));
+            i++;
+          }
+          hasClasspath = true;
+          break;
+        case "-sourcepath":
+        case "--source-path":
+          if (hasValue) {
+            i++;
+          }
+          break;
+        default:
+          builder.add(option);
+      }
+    }
+    if (!hasClasspath) {
+      builder.add("-classpath", outputDirectory.toString());
+    }
+    builder.add("-implicit:none");
+    incrementalOptions = builder.build();
+    return incrementalOptions;
+  }
+
+  /**
+   * Reads arguments from a javac argument file. Arguments are separated by white spaces and can be
+   * surrounded by single or double quotes. Lines starting with {@code #} are ignored.
+   *
+   * @param path Path to argument file.
+   * @return List of arguments in the order they appear in the file.
+   */
+  public static List<String> readArgsFile(Path path) {
+    List<String> lines;
+    try {
+      lines = Files.readAllLines(path, Charset.defaultCharset());
+    } catch (IOException e) {
+      throw new RuntimeException("Exception while reading compiler argument file: " + path, e);
+    }
+    List<String> args = new ArrayList<>();
+    for (String line : lines) {
+      if (line.strip().startsWith("#")) {
+        continue;
+      }
+      StringBuilder current = new StringBuilder();
+      boolean hasToken = false;
+      char quote = 0;
+      for (int i = 0; i < line.length(); i++) {
+        char c = line.charAt(i);
+        if (quote != 0) {
+          if (c == quote) {
+            quote = 0;
+          } else {
+            current.append(c);
+          }
+        } else if (c == '"' || c == '\'') {
+          quote = c;
+          hasToken = true;
+        } else if (Character.isWhitespace(c)) {
+          if (hasToken) {
+            args.add(current.toString());
+            current = new StringBuilder();
+            hasToken = false;
+          }
+        } else {
+          current.append(c);
+          hasToken = true;
+        }
+      }
+      if (hasToken) {
+        args.add(current.toString());
+      }
+    }
+    return args;
+  }
+}
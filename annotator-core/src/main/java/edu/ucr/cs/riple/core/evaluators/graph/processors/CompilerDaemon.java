@@ -0,0 +1,119 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Nima Karimipour
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.ucr.cs.riple.core.evaluators.graph.processors;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Long-lived compiler worker process for trial builds. Keeps the compiler, the checker and the
+ * classpath jars loaded and warmed up across builds, so that each trial build does not pay again
+ * for a cold JVM and opening the classpath. A single file manager is reused by all builds of the
+ * daemon.
+ *
+ * <p>The daemon reads one request per line from standard input. On {@link #COMPILE_REQUEST} it
+ * recompiles the {@link CapturedCompilation} given at startup and answers with {@link
+ * #DONE_RESPONSE} on standard output. If the request is followed by tab separated paths to source
+ * files, only those source files are compiled incrementally. Checker configuration files are
+ * written by the annotator before each request and are read by the checker on each compilation.
+ * Each response is a single line. The daemon terminates once its standard input is closed.
+ */
+public class CompilerDaemon {
+
+  /** Request to recompile the captured compilation. */
+  public static final String COMPILE_REQUEST = "COMPILE";
+
+  /** Response written once a requested compilation is finished. */
+  public static final String DONE_RESPONSE = "DONE";
+
+  /** Prefix of the response written if a requested compilation failed unexpectedly. */
+  public static final String FAILED_RESPONSE = "FAILED";
+
+  /**
+   * Starting point of the daemon process.
+   *
+   * @param args Path to javac argument file of the captured compilation.
+   */
+  public static void main(String[] args) {
+    Preconditions.checkArgument(
+        args.length == 1, "Expected path to compiler argument file, found: " + args.length);
+    CapturedCompilation compilation = new CapturedCompilation(Paths.get(args[0]));
+    // Standard output is reserved for the protocol, everything else is written to standard error.
+    PrintStream protocol = System.out;
+    System.setOut(System.err);
+    Writer diagnostics = new PrintWriter(System.err, true);
+    try (BufferedReader requests =
+        new BufferedReader(new InputStreamReader(System.in, Charset.defaultCharset()))) {
+      String request;
+      while ((request = requests.readLine()) != null) {
+        String[] values = request.split("\t");
+        if (!values[0].equals(COMPILE_REQUEST)) {
+          protocol.println(FAILED_RESPONSE + " unknown request: " + values[0]);
+        } else {
+          try {
+            if (values.length == 1) {
+              compilation.compile(diagnostics);
+            } else {
+              compilation.compile(
+                  diagnostics,
+                  Arrays.stream(values, 1, values.length)
+                      .map(Paths::get)
+                      .collect(ImmutableSet.toImmutableSet()));
+            }
+            protocol.println(DONE_RESPONSE);
+          } catch (RuntimeException e) {
+            e.printStackTrace();
+            protocol.println(FAILED_RESPONSE + " " + toSingleLine(e));
+          }
+        }
+        protocol.flush();
+      }
+    } catch (IOException e) {
+      throw new RuntimeException("Exception happened in reading compile requests", e);
+    } finally {
+      compilation.close();
+    }
+  }
+
+  /**
+   * Describes the given exception in a single line, so that it can be sent as a response.
+   *
+   * @param e Exception to describe.
+   * @return Single line description of the exception.
+   */
+  private static String toSingleLine(Throwable e) {
+    String message = e.getMessage() == null ? e.getClass().getName() : e.getMessage();
+    return message.replaceAll("\\s+", " ").strip();
+  }
+}
@@ -24,9 +24,26 @@
 
 package edu.ucr.cs.riple.core.evaluators.graph.processors;
 
+import com.google.common.collect.ImmutableSet;
+import java.nio.file.Path;
+
 /** Interface for rerunning the analysis/compiler. */
 public interface CompilerRunner {
 
   /** Runs the analysis/compiler. */
   void run();
+
+  /**
+   * Reruns the analysis/compiler only on the given source files. Outputs on all other source files
+   * are expected to remain unchanged from the initial state. Runners which do not support
+   * incremental runs will rerun the analysis/compiler on all source files.
+   *
+   * @param sources Paths to source files to rerun the analysis/compiler on.
+   * @return {@code true} if the run was limited to the given source files, {@code false} if it was
+   *     performed on all source files.
+   */
+  default boolean runOn(ImmutableSet<Path> sources) {
+    run();
+    return false;
+  }
 }
@@ -0,0 +1,267 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Nima Karimipour
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.ucr.cs.riple.core.evaluators.graph.processors;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import edu.ucr.cs.riple.core.Context;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.annotation.Nullable;
+
+/**
+ * Compiler runner which delegates trial builds of the target module to a persistent {@link
+ * CompilerDaemon} process. The daemon is started lazily on the first build and is restarted if it
+ * crashes, or if it does not answer a request within {@link #RESPONSE_TIMEOUT}.
+ */
+public class DaemonCompilerRunner implements CompilerRunner {
+
+  /** Flags required by Error Prone to access internal javac APIs on JDK 16+. */
+  private static final ImmutableList<String> ERROR_PRONE_JVM_FLAGS =
+      ImmutableList.of(
+          "--add-exports=jdk.compiler/com.sun.tools.javac.api=ALL-UNNAMED",
+          "--add-exports=jdk.compiler/com.sun.tools.javac.file=ALL-UNNAMED",
+          "--add-exports=jdk.compiler/com.sun.tools.javac.main=ALL-UNNAMED",
+          "--add-exports=jdk.compiler/com.sun.tools.javac.model=ALL-UNNAMED",
+          "--add-exports=jdk.compiler/com.sun.tools.javac.parser=ALL-UNNAMED",
+          "--add-exports=jdk.compiler/com.sun.tools.javac.processing=ALL-UNNAMED",
+          "--add-exports=jdk.compiler/com.sun.tools.javac.tree=ALL-UNNAMED",
+          "--add-exports=jdk.compiler/com.sun.tools.javac.util=ALL-UNNAMED",
+          "--add-opens=jdk.compiler/com.sun.tools.javac.code=ALL-UNNAMED",
+          "--add-opens=jdk.compiler/com.sun.tools.javac.comp=ALL-UNNAMED");
+
+  /** Number of attempts for each build, a crashed daemon is restarted between attempts. */
+  private static final int MAX_ATTEMPTS = 2;
+
+  /** Maximum time to wait for the daemon to answer a compile request. */
+  private static final Duration RESPONSE_TIMEOUT = Duration.ofMinutes(30);
+
+  /** Interval to check whether the daemon is still alive while waiting for its response. */
+  private static final Duration LIVENESS_CHECK_INTERVAL = Duration.ofSeconds(1);
+
+  /** Annotator context. */
+  private final Context context;
+
+  /** Path to javac argument file of the target module passed to the daemon. */
+  private final Path argsFile;
+
+  /** Daemon process, {@code null} if not started yet. */
+  @Nullable private Process daemon;
+
+  /** Writer to send requests to the daemon. */
+  @Nullable private BufferedWriter requests;
+
+  /** Reader to receive responses from the daemon. */
+  @Nullable private BufferedReader responses;
+
+  /** Executor reading responses of the daemon, so that waiting for a response is bounded. */
+  private final ExecutorService reader;
+
+  /**
+   * Constructor for daemon compiler runner.
+   *
+   * @param context Annotator context.
+   * @param argsFile Path to javac argument file containing the compiler options and source files.
+   */
+  public DaemonCompilerRunner(Context context, Path argsFile) {
+    this.context = context;
+    this.argsFile = argsFile;
+    this.reader =
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("compiler-daemon-reader")
+                .setDaemon(true)
+                .build());
+    Runtime.getRuntime().addShutdownHook(new Thread(this::stop));
+  }
+
+  @Override
+  public void run() {
+    compile(CompilerDaemon.COMPILE_REQUEST);
+  }
+
+  @Override
+  public boolean runOn(ImmutableSet<Path> sources) {
+    if (!context.config.incrementalTrialCompilation) {
+      run();
+      return false;
+    }
+    StringBuilder request = new StringBuilder(CompilerDaemon.COMPILE_REQUEST);
+    sources.forEach(path -> request.append('\t').append(path.toAbsolutePath()));
+    compile(request.toString());
+    return true;
+  }
+
+  /**
+   * Sends the given compile request to the daemon and waits for the compilation to finish.
+   *
+   * @param request Compile request.
+   */
+  private synchronized void compile(String request) {
+    context.checker.prepareConfigFilesForBuild(context.targetModuleInfo.getModuleConfigurations());
+    long timer = context.log.startTimer();
+    String response = null;
+    for (int attempt = 0; attempt < MAX_ATTEMPTS && response == null; attempt++) {
+      response = requestCompilation(request);
+    }
+    if (response == null) {
+      throw new RuntimeException(
+          "Compiler daemon crashed on all " + MAX_ATTEMPTS + " attempts to build target module.");
+    }
+    if (!response.equals(CompilerDaemon.DONE_RESPONSE)) {
+      throw new RuntimeException("Compiler daemon could not build target module: " + response);
+    }
+    context.log.stopTimerAndCaptureBuildTime(timer);
+    context.log.incrementBuildRequest();
+  }
+
+  /** Stops the daemon process if running. */
+  public synchronized void stop() {
+    if (daemon == null) {
+      return;
+    }
+    try {
+      if (requests != null) {
+        // Closing standard input of the daemon terminates it gracefully.
+        requests.close();
+      }
+    } catch (IOException ignored) {
+      // Daemon will be destroyed below.
+    }
+    daemon.destroy();
+    daemon = null;
+    requests = null;
+    responses = null;
+  }
+
+  /**
+   * Sends a compile request to the daemon and waits for its response. Starts the daemon if it is
+   * not running.
+   *
+   * @param request Compile request.
+   * @return Response of the daemon, or {@code null} if the daemon crashed or did not answer in time
+   *     while processing the request.
+   */
+  @Nullable
+  private String requestCompilation(String request) {
+    if (daemon == null || !daemon.isAlive()) {
+      stop();
+      start();
+    }
+    try {
+      requests.write(request);
+      requests.newLine();
+      requests.flush();
+      String response = awaitResponse();
+      if (response == null) {
+        // Daemon terminated or hung before answering.
+        stop();
+      }
+      return response;
+    } catch (IOException e) {
+      stop();
+      return null;
+    }
+  }
+
+  /**
+   * Waits for the response of the daemon to the last request. Waiting is stopped once the daemon
+   * terminates or {@link #RESPONSE_TIMEOUT} is elapsed.
+   *
+   * @return Response of the daemon, or {@code null} if the daemon terminated or did not answer in
+   *     time.
+   * @throws IOException if reading the response fails.
+   */
+  @Nullable
+  private String awaitResponse() throws IOException {
+    BufferedReader current = responses;
+    Future<String> response = reader.submit(current::readLine);
+    long deadline = System.nanoTime() + RESPONSE_TIMEOUT.toNanos();
+    try {
+      while (true) {
+        try {
+          return response.get(LIVENESS_CHECK_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+          if (!daemon.isAlive() || System.nanoTime() - deadline >= 0) {
+            // Stopping the daemon closes its output, which unblocks the pending read.
+            response.cancel(true);
+            return null;
+          }
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while waiting for compiler daemon", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new RuntimeException("Exception happened in reading compiler daemon response", e);
+    }
+  }
+
+  /** Starts the daemon process using the java executable and classpath of the running JVM. */
+  private void start() {
+    List<String> command = new ArrayList<>();
+    command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+    command.addAll(ERROR_PRONE_JVM_FLAGS);
+    command.add("-cp");
+    command.add(System.getProperty("java.class.path"));
+    command.add(CompilerDaemon.class.getName());
+    command.add(argsFile.toString());
+    ProcessBuilder pb = new ProcessBuilder(command);
+    pb.redirectError(
+        context.config.redirectBuildOutputToStdErr
+            ? ProcessBuilder.Redirect.INHERIT
+            : ProcessBuilder.Redirect.DISCARD);
+    try {
+      daemon = pb.start();
+    } catch (IOException e) {
+      throw new RuntimeException("Could not start compiler daemon: " + command, e);
+    }
+    requests =
+        new BufferedWriter(
+            new OutputStreamWriter(daemon.getOutputStream(), Charset.defaultCharset()));
+    responses =
+        new BufferedReader(
+            new InputStreamReader(daemon.getInputStream(), Charset.defaultCharset()));
+  }
+}
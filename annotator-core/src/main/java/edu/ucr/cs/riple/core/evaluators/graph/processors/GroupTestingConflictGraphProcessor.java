@@ -0,0 +1,201 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Nima Karimipour
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.ucr.cs.riple.core.evaluators.graph.processors;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import edu.ucr.cs.riple.core.Context;
+import edu.ucr.cs.riple.core.evaluators.graph.ConflictGraph;
+import edu.ucr.cs.riple.core.evaluators.graph.Node;
+import edu.ucr.cs.riple.core.evaluators.suppliers.Supplier;
+import edu.ucr.cs.riple.core.registries.index.Error;
+import edu.ucr.cs.riple.core.registries.index.Fix;
+import edu.ucr.cs.riple.core.registries.index.Result;
+import edu.ucr.cs.riple.core.registries.region.Region;
+import edu.ucr.cs.riple.core.registries.region.RegionIndex;
+import edu.ucr.cs.riple.core.registries.region.RegionRegistry;
+import edu.ucr.cs.riple.core.util.Utility;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import me.tongfei.progressbar.ProgressBar;
+
+/**
+ * Processor which computes the impact of nodes using group testing. Instead of building once per
+ * group of non-conflicting nodes, a batch of nodes is applied together regardless of conflicts and
+ * the module is built once. The impact of a node can be attributed from the batch build, if every
+ * potentially impacted region of the node is either not shared with any other node in the batch, or
+ * does not observe any change in errors. Nodes which cannot be attributed are split in halves and
+ * processed again in separate batches. Since most nodes do not change errors in shared regions, the
+ * number of builds is close to {@code O(k log n)} where {@code k} of {@code n} nodes have
+ * conflicting effects.
+ */
+public class GroupTestingConflictGraphProcessor extends AbstractConflictGraphProcessor {
+
+  /**
+   * Region registry instance to check conflicts in potentially impacted regions by changes in fix
+   * trees.
+   */
+  private final RegionRegistry regionRegistry;
+
+  public GroupTestingConflictGraphProcessor(
+      Context context, CompilerRunner runner, Supplier supplier) {
+    super(context, runner, supplier);
+    this.regionRegistry = supplier.getModuleInfo().getRegionRegistry();
+  }
+
+  @Override
+  public void process(ConflictGraph graph) {
+    RegionIndex regionIndex = moduleInfo.getRegionIndex();
+    graph
+        .getNodes()
+        .forEach(node -> node.reCollectPotentiallyImpactedRegions(regionRegistry, regionIndex));
+    List<Node> nodes = graph.getNodes().collect(Collectors.toList());
+    if (nodes.isEmpty()) {
+      return;
+    }
+    System.out.println("Scheduling group testing for: " + nodes.size() + " fixes");
+    ProgressBar pb = Utility.createProgressBar("Processing", nodes.size());
+    int builds =
+        bisect(
+            nodes,
+            batch -> {
+              List<Node> unresolved = processBatch(batch);
+              pb.stepBy(batch.size() - unresolved.size());
+              return unresolved;
+            });
+    pb.close();
+    System.out.println("Processed " + nodes.size() + " fixes with: " + builds + " builds");
+  }
+
+  /**
+   * Processes all given items in batches. Starting with a single batch of all items, items which
+   * cannot be resolved in their batch are split in halves and processed again in separate batches,
+   * until all items are resolved.
+   *
+   * @param items Items to process.
+   * @param processBatch Processes a batch of items and returns the unresolved items of the batch. A
+   *     batch of a single item must always be resolved.
+   * @param <T> Type of items.
+   * @return Number of processed batches.
+   */
+  static <T> int bisect(List<T> items, UnaryOperator<List<T>> processBatch) {
+    if (items.isEmpty()) {
+      return 0;
+    }
+    Deque<List<T>> batches = new ArrayDeque<>();
+    batches.add(items);
+    int processed = 0;
+    while (!batches.isEmpty()) {
+      List<T> batch = batches.poll();
+      processed++;
+      List<T> unresolved = processBatch.apply(batch);
+      if (unresolved.isEmpty()) {
+        continue;
+      }
+      // Each half is strictly smaller, therefore processing terminates.
+      Preconditions.checkState(
+          batch.size() > 1 && unresolved.size() <= batch.size(),
+          "Unresolved items must be a subset of a batch with more than one item.");
+      int middle = unresolved.size() / 2;
+      if (middle > 0) {
+        batches.add(new ArrayList<>(unresolved.subList(0, middle)));
+      }
+      batches.add(new ArrayList<>(unresolved.subList(middle, unresolved.size())));
+    }
+    return processed;
+  }
+
+  /**
+   * Applies all nodes in the batch together, builds the module once and updates the status of
+   * nodes which their impact can be attributed from the build.
+   *
+   * @param batch Nodes to process together.
+   * @return Nodes which their impact could not be attributed from the build.
+   */
+  private List<Node> processBatch(List<Node> batch) {
+    Set<Fix> fixes = batch.stream().flatMap(node -> node.tree.stream()).collect(Collectors.toSet());
+    injector.begin();
+    try {
+      injector.injectFixes(fixes);
+      ImmutableSet<Path> affectedSourceFiles = getAffectedSourceFiles(new HashSet<>(batch), fixes);
+      // Only errors in potentially impacted regions of the batch are compared.
+      ImmutableSet<Region> regions = getRegionsOfNodes(batch);
+      if (compilerRunner.runOn(affectedSourceFiles)) {
+        // Errors on source files which are not recompiled are carried over from initial state.
+        errorStore.saveStateOfRegions(regions, affectedSourceFiles);
+      } else {
+        errorStore.saveStateOfRegions(regions);
+      }
+      // Number of nodes in the batch which can potentially impact each region.
+      Map<Region, Integer> sharing = new HashMap<>();
+      Map<Node, ImmutableSet<Region>> regionsOfNodes = new HashMap<>();
+      for (Node node : batch) {
+        ImmutableSet<Region> regionsOfNode = node.getRegions();
+        regionsOfNodes.put(node, regionsOfNode);
+        regionsOfNode.forEach(region -> sharing.merge(region, 1, Integer::sum));
+      }
+      List<Node> unresolved = new ArrayList<>();
+      for (Node node : batch) {
+        int localEffect = 0;
+        Set<Error> triggeredErrors = new HashSet<>();
+        boolean attributable = true;
+        for (Region region : regionsOfNodes.get(node)) {
+          Result errorComparisonResult = errorStore.compareByRegion(region);
+          boolean unchanged =
+              errorComparisonResult.size == 0 && errorComparisonResult.dif.isEmpty();
+          if (sharing.get(region) > 1 && !unchanged) {
+            // Change in this region might be caused by another node in the batch.
+            attributable = false;
+            break;
+          }
+          localEffect += errorComparisonResult.size;
+          triggeredErrors.addAll(errorComparisonResult.dif);
+        }
+        if (!attributable) {
+          unresolved.add(node);
+          continue;
+        }
+        node.updateStatus(
+            localEffect,
+            fixes,
+            getTriggeredFixesFromDownstreamErrors(node),
+            triggeredErrors,
+            moduleInfo);
+      }
+      return unresolved;
+    } finally {
+      injector.rollback();
+    }
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Nima Karimipour
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.ucr.cs.riple.core.evaluators.graph.processors;
+
+import com.google.common.collect.ImmutableSet;
+import edu.ucr.cs.riple.core.Context;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.function.UnaryOperator;
+import javax.annotation.Nullable;
+
+/**
+ * Compiler runner which compiles the target module in the running JVM via {@link
+ * CapturedCompilation} rather than forking the build command in a shell for every trial build. If
+ * a {@link SourceOverlay} is activated for the target module, modified source files are read from
+ * the overlay.
+ */
+public class InProcessCompilerRunner implements CompilerRunner {
+
+  /** Annotator context. */
+  private final Context context;
+
+  /** Compilation of the target module captured from its build. */
+  private final CapturedCompilation compilation;
+
+  /**
+   * Constructor for in-process compiler runner.
+   *
+   * @param context Annotator context.
+   * @param argsFile Path to javac argument file containing the compiler options and source files.
+   */
+  public InProcessCompilerRunner(Context context, Path argsFile) {
+    this.context = context;
+    this.compilation = new CapturedCompilation(argsFile);
+    Runtime.getRuntime().addShutdownHook(new Thread(compilation::close));
+  }
+
+  @Override
+  public void run() {
+    compile(null);
+  }
+
+  @Override
+  public boolean runOn(ImmutableSet<Path> sources) {
+    if (!context.config.incrementalTrialCompilation) {
+      run();
+      return false;
+    }
+    compile(sources);
+    return true;
+  }
+
+  /**
+   * Compiles the target module.
+   *
+   * @param sources Source files to compile incrementally, or {@code null} to compile all source
+   *     files.
+   */
+  private void compile(@Nullable ImmutableSet<Path> sources) {
+    context.checker.prepareConfigFilesForBuild(context.targetModuleInfo.getModuleConfigurations());
+    long timer = context.log.startTimer();
+    Writer out =
+        context.config.redirectBuildOutputToStdErr
+            ? new PrintWriter(System.err, true)
+            : Writer.nullWriter();
+    SourceOverlay overlay = context.targetSourceOverlay;
+    UnaryOperator<Path> resolver = overlay == null ? UnaryOperator.identity() : overlay::resolve;
+    if (sources == null) {
+      compilation.compile(out, resolver);
+    } else {
+      compilation.compile(out, sources, resolver);
+    }
+    context.log.stopTimerAndCaptureBuildTime(timer);
+    context.log.incrementBuildRequest();
+    if (overlay != null) {
+      context.targetModuleInfo.getModuleConfigurations().stream()
+          .flatMap(
+              configuration ->
+                  context.checker.getOutputFileNames().stream().map(configuration.dir::resolve))
+          .forEach(overlay::restorePaths);
+    }
+  }
+}
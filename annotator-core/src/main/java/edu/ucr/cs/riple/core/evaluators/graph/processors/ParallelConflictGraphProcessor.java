@@ -24,6 +24,7 @@
 
 package edu.ucr.cs.riple.core.evaluators.graph.processors;
 
+import com.google.common.collect.ImmutableSet;
 import edu.ucr.cs.riple.core.Context;
 import edu.ucr.cs.riple.core.evaluators.graph.ConflictGraph;
 import edu.ucr.cs.riple.core.evaluators.graph.Node;
@@ -32,8 +33,10 @@ import edu.ucr.cs.riple.core.registries.index.Error;
 import edu.ucr.cs.riple.core.registries.index.Fix;
 import edu.ucr.cs.riple.core.registries.index.Result;
 import edu.ucr.cs.riple.core.registries.region.Region;
+import edu.ucr.cs.riple.core.registries.region.RegionIndex;
 import edu.ucr.cs.riple.core.registries.region.RegionRegistry;
 import edu.ucr.cs.riple.core.util.Utility;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
@@ -60,7 +63,10 @@ public class ParallelConflictGraphProcessor extends AbstractConflictGraphProcess
 
   @Override
   public void process(ConflictGraph graph) {
-    graph.getNodes().forEach(node -> node.reCollectPotentiallyImpactedRegions(regionRegistry));
+    RegionIndex regionIndex = moduleInfo.getRegionIndex();
+    graph
+        .getNodes()
+        .forEach(node -> node.reCollectPotentiallyImpactedRegions(regionRegistry, regionIndex));
     // find non-conflicting groups.
     graph.findGroups();
     Collection<Set<Node>> nonConflictingGroups = graph.getGroups();
@@ -75,26 +81,37 @@ public class ParallelConflictGraphProcessor extends AbstractConflictGraphProcess
       pb.step();
       Set<Fix> fixes =
           group.stream().flatMap(node -> node.tree.stream()).collect(Collectors.toSet());
-      injector.injectFixes(fixes);
-      compilerRunner.run();
-      errorStore.saveState();
-      group.forEach(
-          node -> {
-            int localEffect = 0;
-            Set<Error> triggeredErrors = new HashSet<>();
-            for (Region region : node.regions) {
-              Result errorComparisonResult = errorStore.compareByRegion(region);
-              localEffect += errorComparisonResult.size;
-              triggeredErrors.addAll(errorComparisonResult.dif);
-            }
-            node.updateStatus(
-                localEffect,
-                fixes,
-                getTriggeredFixesFromDownstreamErrors(node),
-                triggeredErrors,
-                moduleInfo);
-          });
-      injector.removeFixes(fixes);
+      injector.begin();
+      try {
+        injector.injectFixes(fixes);
+        ImmutableSet<Path> affectedSourceFiles = getAffectedSourceFiles(group, fixes);
+        // Only errors in potentially impacted regions of the group are compared.
+        ImmutableSet<Region> regions = getRegionsOfNodes(group);
+        if (compilerRunner.runOn(affectedSourceFiles)) {
+          // Errors on source files which are not recompiled are carried over from initial state.
+          errorStore.saveStateOfRegions(regions, affectedSourceFiles);
+        } else {
+          errorStore.saveStateOfRegions(regions);
+        }
+        group.forEach(
+            node -> {
+              int localEffect = 0;
+              Set<Error> triggeredErrors = new HashSet<>();
+              for (Region region : node.getRegions()) {
+                Result errorComparisonResult = errorStore.compareByRegion(region);
+                localEffect += errorComparisonResult.size;
+                triggeredErrors.addAll(errorComparisonResult.dif);
+              }
+              node.updateStatus(
+                  localEffect,
+                  fixes,
+                  getTriggeredFixesFromDownstreamErrors(node),
+                  triggeredErrors,
+                  moduleInfo);
+            });
+      } finally {
+        injector.rollback();
+      }
     }
     pb.close();
   }
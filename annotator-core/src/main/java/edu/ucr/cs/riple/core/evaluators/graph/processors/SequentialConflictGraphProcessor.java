@@ -52,18 +52,22 @@ public class SequentialConflictGraphProcessor extends AbstractConflictGraphProce
             node -> {
               pb.step();
               Set<Fix> fixes = node.tree;
-              injector.injectFixes(fixes);
-              compilerRunner.run();
-              errorStore.saveState();
-              Result errorComparisonResult = errorStore.compare();
-              node.effect = errorComparisonResult.size;
-              node.updateStatus(
-                  errorComparisonResult.size,
-                  fixes,
-                  getTriggeredFixesFromDownstreamErrors(node),
-                  errorComparisonResult.dif,
-                  moduleInfo);
-              injector.removeFixes(fixes);
+              injector.begin();
+              try {
+                injector.injectFixes(fixes);
+                compilerRunner.run();
+                errorStore.saveState();
+                Result errorComparisonResult = errorStore.compare();
+                node.effect = errorComparisonResult.size;
+                node.updateStatus(
+                    errorComparisonResult.size,
+                    fixes,
+                    getTriggeredFixesFromDownstreamErrors(node),
+                    errorComparisonResult.dif,
+                    moduleInfo);
+              } finally {
+                injector.rollback();
+              }
             });
     pb.close();
   }
@@ -0,0 +1,178 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Nima Karimipour
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.ucr.cs.riple.core.evaluators.graph.processors;
+
+import edu.ucr.cs.riple.core.Context;
+import edu.ucr.cs.riple.injector.Injector;
+import edu.ucr.cs.riple.injector.changes.AddAnnotation;
+import edu.ucr.cs.riple.injector.offsets.FileOffsetStore;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * Copy-on-write overlay of the source files of a module. Changes are never applied on the original
+ * source files, instead, a source file is copied to the overlay directory on its first change and
+ * all changes are applied on the copy. Trial builds read modified source files from the overlay via
+ * {@link #resolve(Path)}, and reverting all changes is only dropping the overlay, without parsing
+ * and rewriting the source files to remove the injected annotations.
+ */
+public class SourceOverlay {
+
+  /** Common root directory of all source files of the module. */
+  private final Path sourceRoot;
+
+  /** Root directory of the overlay, copies are stored with their relative path to source root. */
+  private final Path overlayRoot;
+
+  /** Map of paths to original source files to their copies in the overlay. */
+  private final Map<Path, Path> overlaid;
+
+  /** Injector applying changes on the copies in the overlay. */
+  private final Injector injector;
+
+  /**
+   * Creates an empty overlay.
+   *
+   * @param context Annotator context.
+   * @param sourceRoot Common root directory of all source files of the module.
+   * @param overlayRoot Root directory of the overlay, existing contents are ignored and replaced.
+   */
+  public SourceOverlay(Context context, Path sourceRoot, Path overlayRoot) {
+    this.sourceRoot = sourceRoot;
+    this.overlayRoot = overlayRoot.toAbsolutePath().normalize();
+    this.overlaid = new HashMap<>();
+    this.injector = new Injector(context.config.languageLevel, this::copyOnWrite);
+  }
+
+  /**
+   * Injects the given annotations on the overlay.
+   *
+   * @param changes Annotations to inject.
+   * @return Offset changes of the modified source files, labeled with the paths to the original
+   *     source files.
+   */
+  public Set<FileOffsetStore> inject(Set<AddAnnotation> changes) {
+    Set<FileOffsetStore> relabeled = new HashSet<>();
+    for (FileOffsetStore store : injector.addAnnotations(changes)) {
+      Path original = sourceRoot.resolve(overlayRoot.relativize(store.getPath()));
+      FileOffsetStore relabeledStore = new FileOffsetStore(List.of(), original);
+      relabeledStore.updateStateWithNewOffsetChanges(store.getOffsetChanges());
+      relabeled.add(relabeledStore);
+    }
+    return relabeled;
+  }
+
+  /**
+   * Returns the path to read the given source file from. Returns the copy in the overlay if the
+   * source file is modified, otherwise the given path.
+   *
+   * @param source Absolute normalized path to a source file.
+   * @return Path to read the given source file from.
+   */
+  public Path resolve(Path source) {
+    return overlaid.getOrDefault(source, source);
+  }
+
+  /**
+   * Checks if the overlay has no modified source file.
+   *
+   * @return true, if no source file is modified.
+   */
+  public boolean isEmpty() {
+    return overlaid.isEmpty();
+  }
+
+  /** Drops all changes by deleting the copies in the overlay. */
+  public void drop() {
+    try {
+      for (Path copy : overlaid.values()) {
+        Files.deleteIfExists(copy);
+      }
+    } catch (IOException e) {
+      throw new RuntimeException("Could not drop source overlay at: " + overlayRoot, e);
+    }
+    overlaid.clear();
+  }
+
+  /**
+   * Rewrites the paths to copies in the overlay in the given checker output file to the paths to
+   * the original source files.
+   *
+   * @param file Path to checker output file.
+   */
+  public void restorePaths(Path file) {
+    if (overlaid.isEmpty() || !file.toFile().exists()) {
+      return;
+    }
+    try {
+      String content = Files.readString(file, Charset.defaultCharset());
+      Files.writeString(
+          file,
+          content.replace(overlayRoot.toString(), sourceRoot.toString()),
+          Charset.defaultCharset());
+    } catch (IOException e) {
+      throw new RuntimeException("Exception happened in rewriting paths at: " + file, e);
+    }
+  }
+
+  /**
+   * Copies the given source file to the overlay if not already copied, and returns the path to its
+   * copy. Source files outside the source root or not existing are not copied and changes on them
+   * are skipped.
+   *
+   * @param path Path to source file.
+   * @return Path to the copy in the overlay, or {@code null} if the source file is outside the
+   *     source root or does not exist.
+   */
+  @Nullable
+  private Path copyOnWrite(Path path) {
+    Path source = path.toAbsolutePath().normalize();
+    if (!source.startsWith(sourceRoot) || !source.toFile().exists()) {
+      return null;
+    }
+    Path copy = overlaid.get(source);
+    if (copy != null) {
+      return copy;
+    }
+    copy = overlayRoot.resolve(sourceRoot.relativize(source));
+    try {
+      Files.createDirectories(copy.getParent());
+      Files.copy(source, copy, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      throw new RuntimeException("Could not copy " + source + " to overlay at: " + copy, e);
+    }
+    overlaid.put(source, copy);
+    return copy;
+  }
+}
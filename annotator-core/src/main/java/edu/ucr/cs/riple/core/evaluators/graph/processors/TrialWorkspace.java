@@ -0,0 +1,192 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Nima Karimipour
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.ucr.cs.riple.core.evaluators.graph.processors;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import edu.ucr.cs.riple.core.Context;
+import edu.ucr.cs.riple.core.module.ModuleConfiguration;
+import edu.ucr.cs.riple.core.util.Utility;
+import edu.ucr.cs.riple.injector.changes.AddAnnotation;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An isolated workspace of the target module used to run trial builds independently of the
+ * original source tree. Each workspace holds a {@link SourceOverlay} of the target module source
+ * files, its own checker / scanner configuration and output directory and a relocated {@link
+ * CapturedCompilation} of the target module, therefore trial builds on different workspaces can
+ * run concurrently.
+ *
+ * <p>Errors reported on a workspace are serialized by the checker with paths to the original source
+ * files, and with the offsets translated to the original source files by the {@link
+ * Context.OffsetHandler} returned from {@link #inject(Set)}.
+ */
+public class TrialWorkspace {
+
+  /**
+   * Pattern of Error Prone flags passing the path to a checker / scanner configuration file (e.g.
+   * {@code -XepOpt:NullAway:FixSerializationConfigPath=<path>}), where the path is the second
+   * group.
+   */
+  private static final Pattern CONFIG_PATH_FLAG =
+      Pattern.compile("(-XepOpt:[^\\s=]+ConfigPath=)(\\S+)");
+
+  /** Annotator context. */
+  private final Context context;
+
+  /** Overlay of the target module source files, changes of trials are applied on. */
+  private final SourceOverlay overlay;
+
+  /** Configuration of this workspace, checker outputs are serialized in its directory. */
+  public final ModuleConfiguration configuration;
+
+  /** Compilation of the target module relocated to this workspace. */
+  private final CapturedCompilation compilation;
+
+  /**
+   * Creates a workspace at the given directory.
+   *
+   * @param context Annotator context.
+   * @param compilation Compilation of the target module captured from its build.
+   * @param root Root directory of the workspace.
+   */
+  private TrialWorkspace(Context context, CapturedCompilation compilation, Path root) {
+    this.context = context;
+    this.overlay = new SourceOverlay(context, compilation.getSourceRoot(), root.resolve("overlay"));
+    this.configuration =
+        new ModuleConfiguration(
+            0, root, root.resolve("checker.xml"), root.resolve("scanner.xml"));
+    ModuleConfiguration target = context.targetConfiguration;
+    ImmutableMap<Path, Path> configPaths =
+        ImmutableMap.of(
+            normalize(target.checkerConfig), configuration.checkerConfig,
+            normalize(target.scannerConfig), configuration.scannerConfig);
+    this.compilation =
+        compilation.relocate(arg -> relocateConfigPaths(arg, configPaths), root.resolve("out"));
+    Utility.setScannerCheckerActivation(context.config, configuration, false);
+  }
+
+  /**
+   * Creates the given number of workspaces for the target module under the {@code workspaces}
+   * directory of the annotator output directory. Existing workspaces from previous runs are
+   * removed.
+   *
+   * @param context Annotator context.
+   * @param count Number of workspaces to create.
+   * @return Immutable list of created workspaces.
+   */
+  public static ImmutableList<TrialWorkspace> createWorkspaces(Context context, int count) {
+    Preconditions.checkNotNull(
+        context.config.compilerArgsFile,
+        "Compiler argument file is required to create trial workspaces.");
+    CapturedCompilation compilation = new CapturedCompilation(context.config.compilerArgsFile);
+    Path workspacesRoot = context.config.globalDir.resolve("workspaces");
+    Utility.deleteDirectory(workspacesRoot);
+    ImmutableList.Builder<TrialWorkspace> builder = ImmutableList.builder();
+    for (int i = 0; i < count; i++) {
+      builder.add(
+          new TrialWorkspace(context, compilation, workspacesRoot.resolve(String.valueOf(i))));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Injects the given annotations on the overlay of this workspace.
+   *
+   * @param changes Annotations to inject.
+   * @return Offset handler to translate offsets of errors reported on this workspace to the offsets
+   *     in the original source files before any changes.
+   */
+  public Context.OffsetHandler inject(Set<AddAnnotation> changes) {
+    Context.OffsetHandler handler = new Context.OffsetHandler(context.offsetHandler);
+    handler.updateStateWithRecentChanges(overlay.inject(changes));
+    return handler;
+  }
+
+  /**
+   * Compiles the target module with the changes in this workspace. Paths to the modified source
+   * files in the checker outputs are rewritten to the paths to the original source files.
+   */
+  public void compile() {
+    context.checker.prepareConfigFilesForBuild(ImmutableSet.of(configuration));
+    long timer = context.log.startTimer();
+    Writer out =
+        context.config.redirectBuildOutputToStdErr
+            ? new PrintWriter(System.err, true)
+            : Writer.nullWriter();
+    compilation.compile(out, overlay::resolve);
+    context.log.stopTimerAndCaptureBuildTime(timer);
+    context.log.incrementBuildRequest();
+    context.checker.getOutputFileNames().stream()
+        .map(configuration.dir::resolve)
+        .forEach(overlay::restorePaths);
+  }
+
+  /** Reverts all changes made by the latest injection. */
+  public void revert() {
+    overlay.drop();
+  }
+
+  /**
+   * Rewrites values of the configuration path flags in the given compiler argument which point to
+   * one of the given configuration files. Other parts of the argument are left untouched. Please
+   * note that Error Prone flags are passed inside the single {@code -Xplugin:ErrorProne} argument.
+   *
+   * @param arg Compiler argument.
+   * @param configPaths Map of absolute normalized paths to original configuration files, to the
+   *     paths they should be replaced with.
+   * @return The argument with relocated configuration paths.
+   */
+  static String relocateConfigPaths(String arg, ImmutableMap<Path, Path> configPaths) {
+    Matcher matcher = CONFIG_PATH_FLAG.matcher(arg);
+    StringBuilder result = new StringBuilder();
+    while (matcher.find()) {
+      Path relocated = configPaths.get(normalize(Paths.get(matcher.group(2))));
+      String replacement =
+          relocated == null ? matcher.group() : matcher.group(1) + relocated.toString();
+      matcher.appendReplacement(result, Matcher.quoteReplacement(replacement));
+    }
+    matcher.appendTail(result);
+    return result.toString();
+  }
+
+  /**
+   * Returns the absolute normalized form of the given path.
+   *
+   * @param path Path to normalize.
+   * @return Absolute normalized path.
+   */
+  private static Path normalize(Path path) {
+    return path.toAbsolutePath().normalize();
+  }
+}
@@ -0,0 +1,203 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Nima Karimipour
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.ucr.cs.riple.core.evaluators.graph.processors;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import edu.ucr.cs.riple.core.Context;
+import edu.ucr.cs.riple.core.evaluators.graph.ConflictGraph;
+import edu.ucr.cs.riple.core.evaluators.graph.Node;
+import edu.ucr.cs.riple.core.evaluators.suppliers.Supplier;
+import edu.ucr.cs.riple.core.registries.index.Error;
+import edu.ucr.cs.riple.core.registries.index.Fix;
+import edu.ucr.cs.riple.core.registries.index.Index;
+import edu.ucr.cs.riple.core.registries.index.Result;
+import edu.ucr.cs.riple.core.registries.region.Region;
+import edu.ucr.cs.riple.core.registries.region.RegionIndex;
+import edu.ucr.cs.riple.core.registries.region.RegionRegistry;
+import edu.ucr.cs.riple.core.util.Utility;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import me.tongfei.progressbar.ProgressBar;
+
+/**
+ * Parallel processor which dispatches non-conflicting groups of nodes to a pool of {@link
+ * TrialWorkspace}s. Similar to {@link ParallelConflictGraphProcessor}, non-conflicting nodes are
+ * processed simultaneously in one build, and in addition, builds of different groups run
+ * concurrently on isolated copies of the target module. Injections and collection of the results
+ * are performed on the calling thread, only the builds run on the worker threads.
+ */
+public class WorkerPoolConflictGraphProcessor extends AbstractConflictGraphProcessor {
+
+  /**
+   * Region registry instance to check conflicts in potentially impacted regions by changes in fix
+   * trees.
+   */
+  private final RegionRegistry regionRegistry;
+
+  /** Workspaces to run trial builds on, each workspace is used by at most one build at a time. */
+  private final ImmutableList<TrialWorkspace> workspaces;
+
+  public WorkerPoolConflictGraphProcessor(
+      Context context,
+      CompilerRunner runner,
+      Supplier supplier,
+      ImmutableList<TrialWorkspace> workspaces) {
+    super(context, runner, supplier);
+    this.regionRegistry = supplier.getModuleInfo().getRegionRegistry();
+    this.workspaces = workspaces;
+  }
+
+  @Override
+  public void process(ConflictGraph graph) {
+    RegionIndex regionIndex = moduleInfo.getRegionIndex();
+    graph
+        .getNodes()
+        .forEach(node -> node.reCollectPotentiallyImpactedRegions(regionRegistry, regionIndex));
+    // find non-conflicting groups.
+    graph.findGroups();
+    Collection<Set<Node>> nonConflictingGroups = graph.getGroups();
+    System.out.println(
+        "Scheduling for: "
+            + nonConflictingGroups.size()
+            + " builds for: "
+            + graph.getNodes().count()
+            + " fixes on: "
+            + workspaces.size()
+            + " workers");
+    ProgressBar pb = Utility.createProgressBar("Processing", nonConflictingGroups.size());
+    ExecutorService executor = Executors.newFixedThreadPool(workspaces.size());
+    CompletionService<Trial> completionService = new ExecutorCompletionService<>(executor);
+    Deque<TrialWorkspace> idle = new ArrayDeque<>(workspaces);
+    int pending = 0;
+    try {
+      for (Set<Node> group : nonConflictingGroups) {
+        if (idle.isEmpty()) {
+          idle.add(collect(completionService));
+          pending--;
+          pb.step();
+        }
+        Trial trial = new Trial(group, idle.poll());
+        completionService.submit(
+            () -> {
+              trial.workspace.compile();
+              return trial;
+            });
+        pending++;
+      }
+      for (; pending > 0; pending--) {
+        collect(completionService);
+        pb.step();
+      }
+    } finally {
+      executor.shutdownNow();
+      pb.close();
+    }
+  }
+
+  /**
+   * Waits for the next finished trial build, updates the status of the nodes in the trial group
+   * and reverts the changes in the workspace of the trial.
+   *
+   * @param completionService Completion service of trial builds.
+   * @return The workspace of the collected trial which is ready to be reused.
+   */
+  private TrialWorkspace collect(CompletionService<Trial> completionService) {
+    Trial trial;
+    try {
+      trial = completionService.take().get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while waiting for trial builds", e);
+    } catch (ExecutionException e) {
+      throw new RuntimeException("Exception happened in trial build", e.getCause());
+    }
+    Index state =
+        new Index(
+            context,
+            moduleInfo.withConfigurations(
+                ImmutableSet.of(trial.workspace.configuration), trial.offsetHandler));
+    // Only errors in potentially impacted regions of the group are compared.
+    state.index(getRegionsOfNodes(trial.group));
+    trial.group.forEach(
+        node -> {
+          int localEffect = 0;
+          Set<Error> triggeredErrors = new HashSet<>();
+          for (Region region : node.getRegions()) {
+            Result errorComparisonResult = errorStore.compareByRegion(state, region);
+            localEffect += errorComparisonResult.size;
+            triggeredErrors.addAll(errorComparisonResult.dif);
+          }
+          node.updateStatus(
+              localEffect,
+              trial.fixes,
+              getTriggeredFixesFromDownstreamErrors(node),
+              triggeredErrors,
+              moduleInfo);
+        });
+    trial.workspace.revert();
+    return trial.workspace;
+  }
+
+  /** A trial build of a non-conflicting group of nodes on a workspace. */
+  private static class Trial {
+
+    /** Nodes of the group. */
+    private final Set<Node> group;
+
+    /** Fixes of all nodes in the group. */
+    private final Set<Fix> fixes;
+
+    /** Workspace the fixes are injected on. */
+    private final TrialWorkspace workspace;
+
+    /** Handler to translate offsets of errors reported on the workspace. */
+    private final Context.OffsetHandler offsetHandler;
+
+    /**
+     * Creates a trial for the given group and injects fixes of the group on the given workspace.
+     *
+     * @param group Nodes of the group.
+     * @param workspace Workspace to inject the fixes on.
+     */
+    private Trial(Set<Node> group, TrialWorkspace workspace) {
+      this.group = group;
+      this.workspace = workspace;
+      this.fixes = group.stream().flatMap(node -> node.tree.stream()).collect(Collectors.toSet());
+      this.offsetHandler =
+          workspace.inject(
+              fixes.stream().flatMap(fix -> fix.changes.stream()).collect(Collectors.toSet()));
+    }
+  }
+}
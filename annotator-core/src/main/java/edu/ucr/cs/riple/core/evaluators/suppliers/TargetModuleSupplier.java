@@ -29,18 +29,21 @@ import edu.ucr.cs.riple.core.cache.TargetModuleCache;
 import edu.ucr.cs.riple.core.cache.downstream.DownstreamImpactCache;
 import edu.ucr.cs.riple.core.evaluators.graph.processors.CompilerRunner;
 import edu.ucr.cs.riple.core.evaluators.graph.processors.ConflictGraphProcessor;
+import edu.ucr.cs.riple.core.evaluators.graph.processors.GroupTestingConflictGraphProcessor;
 import edu.ucr.cs.riple.core.evaluators.graph.processors.ParallelConflictGraphProcessor;
 import edu.ucr.cs.riple.core.evaluators.graph.processors.SequentialConflictGraphProcessor;
+import edu.ucr.cs.riple.core.evaluators.graph.processors.WorkerPoolConflictGraphProcessor;
 import edu.ucr.cs.riple.core.injectors.AnnotationInjector;
+import edu.ucr.cs.riple.core.injectors.OverlayInjector;
 import edu.ucr.cs.riple.core.injectors.PhysicalInjector;
 import edu.ucr.cs.riple.core.module.ModuleInfo;
-import edu.ucr.cs.riple.core.util.Utility;
 
 /**
  * Supplier for target module analysis. It has the following characteristics:
  *
  * <ul>
- *   <li>Annotations are physically injected on target module.
+ *   <li>Annotations are physically injected on target module, or on its source overlay if
+ *       activated.
  *   <li>Analysis is performed to depth set in context.
  *   <li>Depending on the context, global impact of annotations can be considered.
  * </ul>
@@ -68,6 +71,9 @@ public class TargetModuleSupplier extends AbstractSupplier {
 
   @Override
   protected AnnotationInjector initializeInjector() {
+    if (context.targetSourceOverlay != null) {
+      return new OverlayInjector(context, context.targetSourceOverlay);
+    }
     return new PhysicalInjector(context);
   }
 
@@ -83,7 +89,13 @@ public class TargetModuleSupplier extends AbstractSupplier {
 
   @Override
   public ConflictGraphProcessor getGraphProcessor() {
-    CompilerRunner runner = () -> Utility.buildTarget(context);
+    CompilerRunner runner = context.targetCompilerRunner;
+    if (context.config.useGroupTesting) {
+      return new GroupTestingConflictGraphProcessor(context, runner, this);
+    }
+    if (context.config.useParallelGraphProcessor && !context.trialWorkspaces.isEmpty()) {
+      return new WorkerPoolConflictGraphProcessor(context, runner, this, context.trialWorkspaces);
+    }
     if (context.config.useParallelGraphProcessor) {
       return new ParallelConflictGraphProcessor(context, runner, this);
     }
@@ -24,22 +24,57 @@
 
 package edu.ucr.cs.riple.core.injectors;
 
+import com.google.common.base.Preconditions;
 import edu.ucr.cs.riple.core.Context;
 import edu.ucr.cs.riple.core.registries.index.Fix;
 import edu.ucr.cs.riple.injector.changes.AddAnnotation;
 import edu.ucr.cs.riple.injector.changes.RemoveAnnotation;
+import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 
 /** Wrapper tool used to inject annotations to the source code. */
 public abstract class AnnotationInjector {
   /** Core context. */
   protected final Context context;
 
+  /** Fixes injected since the current transaction began, null if no transaction is active. */
+  @Nullable private Set<Fix> transaction;
+
   public AnnotationInjector(Context context) {
     this.context = context;
   }
 
+  /**
+   * Begins a transaction, all fixes injected until {@link #rollback()} is called are reverted at
+   * once by the rollback. Transactions cannot be nested.
+   */
+  public void begin() {
+    Preconditions.checkState(transaction == null, "A transaction is already active.");
+    transaction = new HashSet<>();
+  }
+
+  /**
+   * Reverts all fixes injected since the current transaction began and ends the transaction. By
+   * default, injected fixes are removed from the source code.
+   */
+  public void rollback() {
+    removeFixes(endTransaction());
+  }
+
+  /**
+   * Ends the current transaction without reverting the injected fixes.
+   *
+   * @return Fixes injected since the transaction began.
+   */
+  protected Set<Fix> endTransaction() {
+    Preconditions.checkState(transaction != null, "No transaction is active.");
+    Set<Fix> injected = transaction;
+    transaction = null;
+    return injected;
+  }
+
   /**
    * Removes fixes from source code.
    *
@@ -65,6 +100,9 @@ public abstract class AnnotationInjector {
     if (fixes == null || fixes.size() == 0) {
       return;
     }
+    if (transaction != null) {
+      transaction.addAll(fixes);
+    }
     injectAnnotations(
         fixes.stream().flatMap(fix -> fix.changes.stream()).collect(Collectors.toSet()));
   }
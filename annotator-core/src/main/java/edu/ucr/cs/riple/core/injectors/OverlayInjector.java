@@ -0,0 +1,66 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Nima Karimipour
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.ucr.cs.riple.core.injectors;
+
+import edu.ucr.cs.riple.core.Context;
+import edu.ucr.cs.riple.core.evaluators.graph.processors.SourceOverlay;
+import edu.ucr.cs.riple.injector.changes.AddAnnotation;
+import edu.ucr.cs.riple.injector.changes.RemoveAnnotation;
+import java.util.Set;
+
+/**
+ * Wrapper tool used to inject annotations on a {@link SourceOverlay} of the source code for trial
+ * builds. The original source files are never modified. Removing annotations drops the overlay,
+ * which reverts all injected annotations since the last removal, therefore this injector must only
+ * be used for trials where all injected annotations are removed together.
+ */
+public class OverlayInjector extends AnnotationInjector {
+
+  /** Overlay of the source files which annotations are injected on. */
+  private final SourceOverlay overlay;
+
+  /**
+   * Creates a new OverlayInjector instance.
+   *
+   * @param context Annotator context, required to keep record of the transient changes made to the
+   *     overlay to compute the original offsets of reported errors.
+   * @param overlay Overlay of the source files which annotations are injected on.
+   */
+  public OverlayInjector(Context context, SourceOverlay overlay) {
+    super(context);
+    this.overlay = overlay;
+  }
+
+  @Override
+  public void removeAnnotations(Set<RemoveAnnotation> changes) {
+    overlay.drop();
+    context.offsetHandler.dropTransientChanges();
+  }
+
+  @Override
+  public void injectAnnotations(Set<AddAnnotation> changes) {
+    context.offsetHandler.updateStateWithTransientChanges(overlay.inject(changes));
+  }
+}
@@ -26,15 +26,32 @@ package edu.ucr.cs.riple.core.injectors;
 
 import edu.ucr.cs.riple.core.Context;
 import edu.ucr.cs.riple.injector.Injector;
+import edu.ucr.cs.riple.injector.changes.ASTChange;
 import edu.ucr.cs.riple.injector.changes.AddAnnotation;
 import edu.ucr.cs.riple.injector.changes.RemoveAnnotation;
 import edu.ucr.cs.riple.injector.offsets.FileOffsetStore;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
+import javax.annotation.Nullable;
 
-/** Wrapper tool used to inject annotations Physically to the source code. */
+/**
+ * Wrapper tool used to inject annotations Physically to the source code. Changes made in a
+ * transaction are reverted by restoring the original content of modified source files, instead of
+ * removing the injected annotations.
+ */
 public class PhysicalInjector extends AnnotationInjector {
   private final Injector injector;
 
+  /**
+   * Original content of source files modified in the current transaction, null if no transaction is
+   * active. Source files which did not exist are mapped to null.
+   */
+  @Nullable private Map<Path, byte[]> snapshot;
+
   /**
    * Creates a new PhysicalInjector instance.
    *
@@ -47,15 +64,81 @@ public class PhysicalInjector extends AnnotationInjector {
     this.injector = new Injector(context.config.languageLevel);
   }
 
+  @Override
+  public void begin() {
+    super.begin();
+    snapshot = new HashMap<>();
+  }
+
+  /**
+   * Restores the original content of all source files modified in the current transaction and
+   * resets the offset handler to its state before the transaction began.
+   */
+  @Override
+  public void rollback() {
+    // Injected fixes are reverted by restoring the source files, not by removing them.
+    endTransaction();
+    snapshot.forEach(
+        (path, content) -> {
+          if (content == null) {
+            return;
+          }
+          try {
+            Files.write(path, content);
+          } catch (IOException e) {
+            throw new RuntimeException("Error happened while restoring: " + path, e);
+          }
+        });
+    snapshot = null;
+    context.offsetHandler.dropTransientChanges();
+  }
+
   @Override
   public void removeAnnotations(Set<RemoveAnnotation> changes) {
-    Set<FileOffsetStore> offsetStores = injector.removeAnnotations(changes);
-    context.offsetHandler.updateStateWithRecentChanges(offsetStores);
+    record(changes);
+    update(injector.removeAnnotations(changes));
   }
 
   @Override
   public void injectAnnotations(Set<AddAnnotation> changes) {
-    Set<FileOffsetStore> offsetStores = injector.addAnnotations(changes);
-    context.offsetHandler.updateStateWithRecentChanges(offsetStores);
+    record(changes);
+    update(injector.addAnnotations(changes));
+  }
+
+  /**
+   * Records the original content of source files which are modified by the given changes, if a
+   * transaction is active and the content is not recorded yet.
+   *
+   * @param changes Changes to be applied.
+   */
+  private void record(Set<? extends ASTChange> changes) {
+    if (snapshot == null) {
+      return;
+    }
+    for (ASTChange change : changes) {
+      Path path = change.getLocation().path;
+      if (path == null || snapshot.containsKey(path)) {
+        continue;
+      }
+      try {
+        snapshot.put(path, Files.exists(path) ? Files.readAllBytes(path) : null);
+      } catch (IOException e) {
+        throw new RuntimeException("Error happened while reading: " + path, e);
+      }
+    }
+  }
+
+  /**
+   * Updates the offset handler with the given offset changes. Changes made in a transaction are
+   * kept as transient changes, so they can be dropped at once on rollback.
+   *
+   * @param offsetStores Offset changes of modified source files.
+   */
+  private void update(Set<FileOffsetStore> offsetStores) {
+    if (snapshot == null) {
+      context.offsetHandler.updateStateWithRecentChanges(offsetStores);
+    } else {
+      context.offsetHandler.updateStateWithTransientChanges(offsetStores);
+    }
   }
 }
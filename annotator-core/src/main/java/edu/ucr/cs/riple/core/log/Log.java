@@ -27,7 +27,9 @@ package edu.ucr.cs.riple.core.log;
 import edu.ucr.cs.riple.core.evaluators.graph.ConflictGraph;
 import edu.ucr.cs.riple.injector.changes.AddAnnotation;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /** Log information for Annotator. */
@@ -45,6 +47,16 @@ public class Log {
   /** Total time spent in building targets. */
   private long buildTime = 0;
 
+  /**
+   * Time spent on loading each registry of modules at startup, keyed by the name of the registry.
+   * Registries are loaded concurrently, therefore the sum of these times can exceed the time spent
+   * on loading all of them.
+   */
+  private final Map<String, Long> loadingTimes = new LinkedHashMap<>();
+
+  /** Number of hits and misses of each cache, keyed by the name of the cache. */
+  private final Map<String, long[]> cacheStatistics = new LinkedHashMap<>();
+
   /**
    * Set of approved and injected annotations. These annotations are evaluated and approved and will
    * not get removed from the source code.
@@ -61,11 +73,29 @@ public class Log {
     this.requested = 0;
     this.totalTime = 0;
     this.buildTime = 0;
+    this.loadingTimes.clear();
+    this.cacheStatistics.clear();
     this.injectedAnnotations.clear();
   }
 
   @Override
-  public String toString() {
+  public synchronized String toString() {
+    StringBuilder loading = new StringBuilder();
+    loadingTimes.forEach(
+        (name, time) ->
+            loading.append("\nTotal time spent on loading ").append(name).append("=").append(time));
+    StringBuilder caches = new StringBuilder();
+    cacheStatistics.forEach(
+        (name, statistics) ->
+            caches
+                .append("\nTotal number of ")
+                .append(name)
+                .append(" cache hits=")
+                .append(statistics[0])
+                .append("\nTotal number of ")
+                .append(name)
+                .append(" cache misses=")
+                .append(statistics[1]));
     return "Total number of nodes="
         + nodes
         + "\nTotal number of Requested builds="
@@ -73,7 +103,9 @@ public class Log {
         + "\nTotal time="
         + totalTime
         + "\nTotal time spent on builds="
-        + buildTime;
+        + buildTime
+        + loading
+        + caches;
   }
 
   /**
@@ -101,12 +133,34 @@ public class Log {
    *
    * @param timer The return result of calling {@link Log#startTimer()}.
    */
-  public void stopTimerAndCaptureBuildTime(long timer) {
+  public synchronized void stopTimerAndCaptureBuildTime(long timer) {
     this.buildTime += System.currentTimeMillis() - timer;
   }
 
+  /**
+   * Calculates the difference between the passed time and current time and adds it to time spent in
+   * loading the registry with the given name.
+   *
+   * @param name Name of the loaded registry.
+   * @param timer The return result of calling {@link Log#startTimer()}.
+   */
+  public synchronized void stopTimerAndCaptureLoadingTime(String name, long timer) {
+    this.loadingTimes.merge(name, System.currentTimeMillis() - timer, Long::sum);
+  }
+
+  /**
+   * Updates the number of hits and misses of the cache with the given name.
+   *
+   * @param name Name of the cache.
+   * @param hits Number of cache hits.
+   * @param misses Number of cache misses.
+   */
+  public synchronized void updateCacheStatistics(String name, long hits, long misses) {
+    this.cacheStatistics.put(name, new long[] {hits, misses});
+  }
+
   /** Increments the number of build requests. */
-  public void incrementBuildRequest() {
+  public synchronized void incrementBuildRequest() {
     this.requested += 1;
   }
 
@@ -26,11 +26,13 @@ package edu.ucr.cs.riple.core.module;
 
 import com.google.common.collect.ImmutableSet;
 import edu.ucr.cs.riple.core.Context;
+import edu.ucr.cs.riple.core.cache.ModuleSnapshot;
 import edu.ucr.cs.riple.core.registries.field.FieldRegistry;
 import edu.ucr.cs.riple.core.registries.index.Fix;
 import edu.ucr.cs.riple.core.registries.index.NonnullStore;
 import edu.ucr.cs.riple.core.registries.method.MethodRegistry;
 import edu.ucr.cs.riple.core.registries.region.CompoundRegionRegistry;
+import edu.ucr.cs.riple.core.registries.region.RegionIndex;
 import edu.ucr.cs.riple.core.registries.region.RegionRegistry;
 import edu.ucr.cs.riple.core.registries.region.generatedcode.AnnotationProcessorHandler;
 import edu.ucr.cs.riple.core.registries.region.generatedcode.LombokHandler;
@@ -40,6 +42,11 @@ import edu.ucr.cs.riple.injector.location.OnClass;
 import edu.ucr.cs.riple.scanner.Serializer;
 import edu.ucr.cs.riple.scanner.generatedcode.SourceType;
 import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 
 /** This class is used to store the code structural information about the module. */
 public class ModuleInfo {
@@ -62,6 +69,9 @@ public class ModuleInfo {
    */
   private final CompoundRegionRegistry regionRegistry;
 
+  /** Index assigning dense integer ids to regions of this module. */
+  private final RegionIndex regionIndex;
+
   /**
    * The set of annotation processor handlers that are used to process the generated code in this
    * module.
@@ -70,6 +80,12 @@ public class ModuleInfo {
 
   private final Context context;
 
+  /** Maximum number of registries loaded concurrently. */
+  private static final int REGISTRY_LOADING_THREADS = 4;
+
+  /** Handler for computing the original offset of errors reported on this module. */
+  private final Context.OffsetHandler offsetHandler;
+
   /**
    * This constructor is used to create a moduleInfo for a single module.
    *
@@ -92,14 +108,43 @@ public class ModuleInfo {
       Context context, ImmutableSet<ModuleConfiguration> configurations, String buildCommand) {
     this.context = context;
     this.configurations = configurations;
-    // Build with scanner checker activated to generate required files to create the moduleInfo.
+    this.offsetHandler = context.offsetHandler;
     context.checker.prepareConfigFilesForBuild(configurations);
-    Utility.runScannerChecker(context, configurations, buildCommand);
+    // Build with scanner checker activated to generate required files to create the moduleInfo,
+    // unless the files are restored from a valid snapshot of a previous run.
+    ModuleSnapshot snapshot =
+        context.config.moduleSnapshotDir == null
+            ? null
+            : new ModuleSnapshot(
+                context, configurations, buildCommand, context.config.moduleSnapshotDir);
+    if (snapshot == null || !snapshot.restore()) {
+      Utility.runScannerChecker(context, configurations, buildCommand);
+      if (snapshot != null) {
+        snapshot.store();
+      }
+    }
     checkScannerConfiguration();
-    this.nonnullStore = new NonnullStore(configurations, context);
-    this.fieldRegistry = new FieldRegistry(configurations, context);
-    this.methodRegistry = new MethodRegistry(context);
-    this.regionRegistry = new CompoundRegionRegistry(this, context);
+    // Registries are independent of each other and are loaded concurrently.
+    long timer = context.log.startTimer();
+    ExecutorService executor = Executors.newFixedThreadPool(REGISTRY_LOADING_THREADS);
+    try {
+      Future<NonnullStore> nonnullStore =
+          load(executor, "NonnullStore", () -> new NonnullStore(configurations, context));
+      Future<FieldRegistry> fieldRegistry =
+          load(executor, "FieldRegistry", () -> new FieldRegistry(configurations, context));
+      Future<MethodRegistry> methodRegistry =
+          load(executor, "MethodRegistry", () -> new MethodRegistry(context));
+      Future<CompoundRegionRegistry> regionRegistry =
+          load(executor, "RegionRegistry", () -> new CompoundRegionRegistry(this, context));
+      this.nonnullStore = getLoaded(nonnullStore);
+      this.fieldRegistry = getLoaded(fieldRegistry);
+      this.methodRegistry = getLoaded(methodRegistry);
+      this.regionRegistry = getLoaded(regionRegistry);
+    } finally {
+      executor.shutdownNow();
+    }
+    context.log.stopTimerAndCaptureLoadingTime("ModuleInfo", timer);
+    this.regionIndex = new RegionIndex();
     ImmutableSet.Builder<AnnotationProcessorHandler> builder = new ImmutableSet.Builder<>();
     if (context.config.generatedCodeDetectors.contains(SourceType.LOMBOK)) {
       builder.add(new LombokHandler(this));
@@ -107,6 +152,86 @@ public class ModuleInfo {
     this.annotationProcessorHandlers = builder.build();
   }
 
+  /**
+   * Submits loading of a registry to the given executor and captures the time spent on loading it.
+   *
+   * @param executor Executor to load the registry.
+   * @param name Name of the registry reported in log.
+   * @param loader Supplier which creates the registry.
+   * @param <T> Type of the registry.
+   * @return Future of the loaded registry.
+   */
+  private <T> Future<T> load(ExecutorService executor, String name, Supplier<T> loader) {
+    return executor.submit(
+        () -> {
+          long timer = context.log.startTimer();
+          T registry = loader.get();
+          context.log.stopTimerAndCaptureLoadingTime(name, timer);
+          return registry;
+        });
+  }
+
+  /**
+   * Waits for the given registry to be loaded and returns it. Exceptions thrown while loading the
+   * registry are rethrown.
+   *
+   * @param future Future of the registry.
+   * @param <T> Type of the registry.
+   * @return The loaded registry.
+   */
+  private static <T> T getLoaded(Future<T> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while loading module registries", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new RuntimeException(
+          "Exception happened while loading module registries", e.getCause());
+    }
+  }
+
+  /**
+   * This constructor is used to create a view of an existing moduleInfo where checker outputs are
+   * collected from a different set of module configurations and with a different offset handler.
+   * All code structural information are shared with the given moduleInfo.
+   *
+   * @param base The moduleInfo to share code structural information with.
+   * @param configurations The set of module configurations to collect checker outputs from.
+   * @param offsetHandler The handler to compute the original offset of reported errors.
+   */
+  private ModuleInfo(
+      ModuleInfo base,
+      ImmutableSet<ModuleConfiguration> configurations,
+      Context.OffsetHandler offsetHandler) {
+    this.context = base.context;
+    this.configurations = configurations;
+    this.offsetHandler = offsetHandler;
+    this.nonnullStore = base.nonnullStore;
+    this.fieldRegistry = base.fieldRegistry;
+    this.methodRegistry = base.methodRegistry;
+    this.regionRegistry = base.regionRegistry;
+    this.regionIndex = base.regionIndex;
+    this.annotationProcessorHandlers = base.annotationProcessorHandlers;
+  }
+
+  /**
+   * Creates a view of this moduleInfo where checker outputs are collected from the given module
+   * configurations and reported offsets are translated with the given offset handler. Used to
+   * collect outputs of builds on copies of the module.
+   *
+   * @param configurations The set of module configurations to collect checker outputs from.
+   * @param offsetHandler The handler to compute the original offset of reported errors.
+   * @return A view of this moduleInfo.
+   */
+  public ModuleInfo withConfigurations(
+      ImmutableSet<ModuleConfiguration> configurations, Context.OffsetHandler offsetHandler) {
+    return new ModuleInfo(this, configurations, offsetHandler);
+  }
+
   /**
    * Getter for the created {@link FieldRegistry} instance.
    *
@@ -152,6 +277,15 @@ public class ModuleInfo {
     return context;
   }
 
+  /**
+   * Getter for the handler computing the original offset of errors reported on this module.
+   *
+   * @return The handler computing the original offset of errors reported on this module.
+   */
+  public Context.OffsetHandler getOffsetHandler() {
+    return offsetHandler;
+  }
+
   /**
    * Getter for the set of module configurations this moduleInfo is created for.
    *
@@ -212,6 +346,15 @@ public class ModuleInfo {
     return regionRegistry;
   }
 
+  /**
+   * Getter for the {@link RegionIndex} instance of this module.
+   *
+   * @return The {@link RegionIndex} instance.
+   */
+  public RegionIndex getRegionIndex() {
+    return regionIndex;
+  }
+
   /**
    * Getter for the set of annotation processor handlers that are used to process the generated
    * code.
@@ -24,25 +24,39 @@
 
 package edu.ucr.cs.riple.core.registries;
 
+import com.google.common.collect.HashBasedTable;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ImmutableMultimap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableTable;
+import com.google.common.collect.Multimaps;
+import com.google.common.collect.Table;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import edu.ucr.cs.riple.core.Context;
-import java.io.BufferedReader;
+import edu.ucr.cs.riple.core.util.TSVReader;
 import java.io.IOException;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
-import javax.annotation.Nullable;
 
 /**
- * Container class which loads its content from a file in TSV format. For faster retrieval, it
- * stores its content in a {@link com.google.common.collect.ImmutableMultimap} where the key is the
- * hash of the item and the value is the item itself. For faster retrieval, if the anticipated hash
- * is known, {@link Registry#findRecordsWithHashHint} can be used, otherwise use {@link
- * Registry#findRecords}. If subclasses need to initialize some data before loading the file, they
- * must call {@link Registry#setup()}. Please note that this class anticipates that the file exits
+ * Container class which loads its content from a file in TSV format. It stores its content in a
+ * {@link com.google.common.collect.ImmutableMultimap} where the key is the hash of the item and the
+ * value is the item itself. For faster retrieval, subclasses declare their own keyed indexes over
+ * the contents with {@link Registry#index(Function)} and {@link Registry#index(Function,
+ * Function)} once the contents are loaded, so lookups are single hash probes. {@link
+ * Registry#findRecords} scans all contents and should only be used for one-off queries. If
+ * subclasses need to initialize some data before loading the file, they must call {@link
+ * Registry#setup()}. Please note that this class anticipates that the file exits
  * at the given paths and does not attempt to create it. Before creating an instance, please make
  * sure that the file exists.
  */
@@ -55,8 +69,20 @@ public abstract class Registry<T> {
    */
   protected final ImmutableMultimap<Integer, T> contents;
 
+  /** Contents in the order they are loaded. */
+  private final ImmutableList<T> records;
+
   protected final Context context;
 
+  /**
+   * Pool of threads shared by all registries to load their files concurrently. Threads are daemons,
+   * so the pool does not prevent the JVM from exiting.
+   */
+  private static final ExecutorService LOADER =
+      Executors.newFixedThreadPool(
+          Runtime.getRuntime().availableProcessors(),
+          new ThreadFactoryBuilder().setNameFormat("registry-loader-%d").setDaemon(true).build());
+
   /**
    * Constructor for this container. Once this constructor is invoked, all data will be loaded from
    * the file.
@@ -64,7 +90,7 @@ public abstract class Registry<T> {
    * @param path Path to the file containing the data.
    */
   public Registry(Path path, Context context) {
-    ImmutableMultimap.Builder<Integer, T> builder = ImmutableMultimap.builder();
+    ImmutableList.Builder<T> builder = ImmutableList.builder();
     this.context = context;
     setup();
     try {
@@ -72,7 +98,8 @@ public abstract class Registry<T> {
     } catch (IOException e) {
       throw new RuntimeException("Error happened while loading content of file: " + path, e);
     }
-    this.contents = builder.build();
+    this.records = builder.build();
+    this.contents = Multimaps.index(records, Object::hashCode);
   }
 
   /**
@@ -82,18 +109,62 @@ public abstract class Registry<T> {
    * @param paths Paths to all files containing data.
    */
   public Registry(ImmutableSet<Path> paths, Context context) {
-    ImmutableMultimap.Builder<Integer, T> builder = ImmutableMultimap.builder();
+    ImmutableList.Builder<T> builder = ImmutableList.builder();
     this.context = context;
     setup();
+    if (paths.size() > 1 && isConcurrentLoadingSupported()) {
+      populateContentConcurrently(paths, builder);
+    } else {
+      paths.forEach(
+          path -> {
+            try {
+              populateContent(path, builder);
+            } catch (IOException e) {
+              throw new RuntimeException(
+                  "Error happened while loading content of file: " + path, e);
+            }
+          });
+    }
+    this.records = builder.build();
+    this.contents = Multimaps.index(records, Object::hashCode);
+  }
+
+  /**
+   * Loads data existing in the given paths concurrently. Each file is loaded into its own chunk and
+   * chunks are merged into the given builder in the order of the paths, therefore the contents are
+   * identical to loading the files one after another.
+   *
+   * @param paths Paths to all files containing data.
+   * @param builder Builder to merge the loaded chunks into.
+   */
+  private void populateContentConcurrently(
+      ImmutableSet<Path> paths, ImmutableList.Builder<T> builder) {
+    List<Future<ImmutableList<T>>> chunks = new ArrayList<>(paths.size());
     paths.forEach(
-        path -> {
-          try {
-            populateContent(path, builder);
-          } catch (IOException e) {
-            throw new RuntimeException("Error happened while loading content of file: " + path, e);
-          }
-        });
-    this.contents = builder.build();
+        path ->
+            chunks.add(
+                LOADER.submit(
+                    () -> {
+                      ImmutableList.Builder<T> chunk = ImmutableList.builder();
+                      populateContent(path, chunk);
+                      return chunk.build();
+                    })));
+    Iterator<Path> iterator = paths.iterator();
+    for (Future<ImmutableList<T>> chunk : chunks) {
+      Path path = iterator.next();
+      try {
+        builder.addAll(chunk.get());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException("Interrupted while loading content of file: " + path, e);
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        throw new RuntimeException(
+            "Error happened while loading content of file: " + path, e.getCause());
+      }
+    }
   }
 
   /**
@@ -102,30 +173,35 @@ public abstract class Registry<T> {
    */
   protected void setup() {}
 
+  /**
+   * Returns true if files of this registry can be loaded concurrently. Subclasses can override this
+   * method if their {@link Builder} does not keep any state across rows, i.e. each row can be
+   * built independently of rows in other files. Defaults to false.
+   *
+   * @return true, if files of this registry can be loaded concurrently.
+   */
+  protected boolean isConcurrentLoadingSupported() {
+    return false;
+  }
+
   /**
    * Loads data existing in the given path, to the given builder.
    *
    * @param path Path to the file containing data.
    * @throws IOException if file not is found.
    */
-  protected void populateContent(Path path, ImmutableMultimap.Builder<Integer, T> builder)
-      throws IOException {
-    try (BufferedReader reader =
-        Files.newBufferedReader(path.toFile().toPath(), Charset.defaultCharset())) {
-      Builder<T> recordBuilder = getBuilder();
-      String line = reader.readLine();
-      if (line != null) {
-        // Skip header
-        line = reader.readLine();
-      }
-      while (line != null) {
-        T record = recordBuilder.build(line.split("\t"));
-        if (record != null) {
-          builder.put(record.hashCode(), record);
-        }
-        line = reader.readLine();
-      }
-    }
+  protected void populateContent(Path path, ImmutableList.Builder<T> builder) throws IOException {
+    Builder<T> recordBuilder = getBuilder();
+    // Skip header
+    TSVReader.read(
+        path,
+        true,
+        row -> {
+          T record = recordBuilder.build(row.toArray());
+          if (record != null) {
+            builder.add(record);
+          }
+        });
   }
 
   /**
@@ -137,42 +213,59 @@ public abstract class Registry<T> {
   protected abstract Builder<T> getBuilder();
 
   /**
-   * Retrieves record which holds the passed predicate. It uses the given hash for faster retrieval.
+   * Builds an index over the contents by the given key. Records with identical keys are kept in the
+   * order they are loaded.
    *
-   * @param c Predicate.
-   * @param hash Expected hash
-   * @return Corresponding {@code T}.
+   * @param key Function computing the key of a record.
+   * @param <K> Type of the key.
+   * @return Index of records by their keys.
    */
-  @Nullable
-  protected T findRecordWithHashHint(Predicate<T> c, int hash) {
-    return findRecordsWithHashHint(c, hash).findFirst().orElse(null);
+  protected <K> ImmutableListMultimap<K, T> index(Function<? super T, ? extends K> key) {
+    return Multimaps.index(records, key::apply);
   }
 
   /**
-   * Retrieves stream of records which holds the passed predicate. It uses the given hash for faster
-   * retrieval.
+   * Builds an index over the contents by a key of two parts. Records with identical keys are kept
+   * in the order they are loaded.
    *
-   * @param c Predicate.
-   * @param hash Expected hash
-   * @return Corresponding stream of {@code T}.
+   * @param row Function computing the first part of the key of a record.
+   * @param column Function computing the second part of the key of a record.
+   * @param <R> Type of the first part of the key.
+   * @param <C> Type of the second part of the key.
+   * @return Index of records by their keys.
    */
-  protected Stream<T> findRecordsWithHashHint(Predicate<T> c, int hash) {
-    if (!contents.containsKey(hash)) {
-      return Stream.of();
-    }
-    return contents.get(hash).stream().filter(c);
+  protected <R, C> ImmutableTable<R, C, ImmutableList<T>> index(
+      Function<? super T, ? extends R> row, Function<? super T, ? extends C> column) {
+    Table<R, C, ImmutableList.Builder<T>> builders = HashBasedTable.create();
+    records.forEach(
+        record -> {
+          R r = row.apply(record);
+          C c = column.apply(record);
+          ImmutableList.Builder<T> builder = builders.get(r, c);
+          if (builder == null) {
+            builder = ImmutableList.builder();
+            builders.put(r, c, builder);
+          }
+          builder.add(record);
+        });
+    ImmutableTable.Builder<R, C, ImmutableList<T>> builder = ImmutableTable.builder();
+    builders
+        .cellSet()
+        .forEach(
+            cell -> builder.put(cell.getRowKey(), cell.getColumnKey(), cell.getValue().build()));
+    return builder.build();
   }
 
   /**
-   * Retrieves stream of records which holds the passed predicate. This method is expected to be
-   * significantly slower than {@link Registry#findRecordsWithHashHint}, if the anticipated hash is
-   * known, please use {@link Registry#findRecordsWithHashHint}.
+   * Retrieves stream of records which holds the passed predicate. This method scans all contents,
+   * if the records are looked up by a known key, please declare an index with {@link
+   * Registry#index(Function)} instead.
    *
    * @param c Predicate.
    * @return Corresponding stream of {@code T}.
    */
   protected Stream<T> findRecords(Predicate<T> c) {
-    return contents.values().stream().filter(c);
+    return records.stream().filter(c);
   }
 
   /**
@@ -24,9 +24,6 @@
 
 package edu.ucr.cs.riple.core.registries.field;
 
-import com.github.javaparser.ast.body.FieldDeclaration;
-import com.github.javaparser.ast.nodeTypes.NodeWithSimpleName;
-import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableSet;
 import java.nio.file.Path;
 import java.util.HashSet;
@@ -93,8 +90,8 @@ public class ClassFieldRecord {
    *
    * @param fieldDeclaration Field declaration to add.
    */
-  public void addFieldDeclaration(FieldDeclaration fieldDeclaration) {
-    this.fields.add(new FieldDeclarationRecord(fieldDeclaration));
+  public void addFieldDeclaration(FieldDeclarationRecord fieldDeclaration) {
+    this.fields.add(fieldDeclaration);
   }
 
   /**
@@ -128,15 +125,11 @@ public class ClassFieldRecord {
     /** True if the field declaration is public, false otherwise. */
     public final boolean isPublic;
 
-    public FieldDeclarationRecord(FieldDeclaration fieldDeclaration) {
-      this.names =
-          fieldDeclaration.getVariables().stream()
-              .map(NodeWithSimpleName::getNameAsString)
-              .collect(ImmutableSet.toImmutableSet());
-      Preconditions.checkArgument(fieldDeclaration.getVariables().getFirst().isPresent());
-      this.isPrimitiveType =
-          fieldDeclaration.getVariables().getFirst().get().getType().isPrimitiveType();
-      this.isPublic = fieldDeclaration.isPublic();
+    public FieldDeclarationRecord(
+        ImmutableSet<String> names, boolean isPrimitiveType, boolean isPublic) {
+      this.names = names;
+      this.isPrimitiveType = isPrimitiveType;
+      this.isPublic = isPublic;
     }
 
     /**
@@ -147,5 +140,24 @@ public class ClassFieldRecord {
     public boolean isPublicFieldWithNonPrimitiveType() {
       return isPublic && !isPrimitiveType;
     }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof FieldDeclarationRecord)) {
+        return false;
+      }
+      FieldDeclarationRecord other = (FieldDeclarationRecord) o;
+      return names.equals(other.names)
+          && isPrimitiveType == other.isPrimitiveType
+          && isPublic == other.isPublic;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(names, isPrimitiveType, isPublic);
+    }
   }
 }
@@ -24,26 +24,23 @@
 
 package edu.ucr.cs.riple.core.registries.field;
 
-import com.github.javaparser.ast.CompilationUnit;
-import com.github.javaparser.ast.NodeList;
-import com.github.javaparser.ast.body.BodyDeclaration;
-import com.github.javaparser.ast.body.VariableDeclarator;
-import com.github.javaparser.utils.Pair;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Multimap;
-import com.google.common.collect.MultimapBuilder;
+import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.collect.Sets;
 import edu.ucr.cs.riple.core.Context;
 import edu.ucr.cs.riple.core.module.ModuleConfiguration;
 import edu.ucr.cs.riple.core.registries.Registry;
-import edu.ucr.cs.riple.injector.Injector;
+import edu.ucr.cs.riple.core.util.TSVReader;
 import edu.ucr.cs.riple.injector.Printer;
-import edu.ucr.cs.riple.injector.exceptions.TargetClassNotFound;
 import edu.ucr.cs.riple.injector.location.Location;
 import edu.ucr.cs.riple.injector.location.OnClass;
 import edu.ucr.cs.riple.injector.location.OnField;
-import edu.ucr.cs.riple.injector.util.ASTUtils;
 import edu.ucr.cs.riple.scanner.Serializer;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collections;
 import java.util.Optional;
@@ -64,7 +61,10 @@ public class FieldRegistry extends Registry<ClassFieldRecord> {
    * A map from class flat name to a set of field names that are declared in that class but not
    * initialized at declaration.
    */
-  private Multimap<String, String> uninitializedFields;
+  private final ImmutableSetMultimap<String, String> uninitializedFields;
+
+  /** Index of class records by the flat name of the class. */
+  private final ImmutableListMultimap<String, ClassFieldRecord> classes;
 
   /**
    * Constructor for {@link FieldRegistry}.
@@ -86,77 +86,80 @@ public class FieldRegistry extends Registry<ClassFieldRecord> {
             .map(info -> info.dir.resolve(Serializer.CLASS_RECORD_FILE_NAME))
             .collect(ImmutableSet.toImmutableSet()),
         context);
+    this.classes = index(record -> record.clazz);
+    // Field declarations are serialized by Scanner, source files are not parsed.
+    ImmutableSetMultimap.Builder<String, String> uninitializedFields =
+        ImmutableSetMultimap.builder();
+    modules.forEach(
+        info ->
+            loadFieldDeclarations(
+                info.dir.resolve(Serializer.FIELD_DECLARATION_RECORD_FILE_NAME),
+                uninitializedFields));
+    this.uninitializedFields = uninitializedFields.build();
   }
 
   @Override
-  protected void setup() {
-    super.setup();
-    this.uninitializedFields = MultimapBuilder.hashKeys().hashSetValues().build();
+  protected boolean isConcurrentLoadingSupported() {
+    return true;
   }
 
   @Override
   protected Builder<ClassFieldRecord> getBuilder() {
-    return new Builder<>() {
-      Pair<Path, CompilationUnit> lastParsedSourceFile = new Pair<>(null, null);
-
-      @Override
-      public ClassFieldRecord build(String[] values) {
-        // This method is called with values in format of: [class flat name, path to source file].
-        // To avoid parsing a source file multiple times, we keep the last parsed
-        // source file in a reference.
-        // This optimization is according to the assumption that Scanner
-        // visits all classes within a single compilation unit tree consecutively.
-        // Path to class.
-        Path path = Printer.deserializePath(values[1]);
-        CompilationUnit tree;
-        if (lastParsedSourceFile.a != null && lastParsedSourceFile.a.equals(path)) {
-          // Already visited.
-          tree = lastParsedSourceFile.b;
-        } else {
-          // Not visited yet, parse the source file.
-          tree = Injector.parse(path, context.config.languageLevel);
-          lastParsedSourceFile = new Pair<>(path, tree);
-        }
-        if (tree == null) {
-          return null;
-        }
-        NodeList<BodyDeclaration<?>> members;
-        // Class flat name.
-        String clazz = values[0];
-        try {
-          members = ASTUtils.getTypeDeclarationMembersByFlatName(tree, clazz);
-        } catch (TargetClassNotFound notFound) {
-          System.err.println(notFound.getMessage());
-          return null;
-        }
-        ClassFieldRecord record = new ClassFieldRecord(path, clazz);
-        members.forEach(
-            bodyDeclaration ->
-                bodyDeclaration.ifFieldDeclaration(
-                    fieldDeclaration -> {
-                      NodeList<VariableDeclarator> vars = fieldDeclaration.getVariables();
-                      if (vars.getFirst().isEmpty()) {
-                        // unexpected but just in case.
-                        return;
-                      }
-                      record.addFieldDeclaration(fieldDeclaration);
-                      // Collect uninitialized fields at declaration.
-                      vars.forEach(
-                          variableDeclarator -> {
-                            String fieldName = variableDeclarator.getNameAsString();
-                            if (variableDeclarator.getInitializer().isEmpty()) {
-                              uninitializedFields.put(clazz, fieldName);
-                            }
-                          });
-                    }));
-        // We still want to keep the information about the class even if it has no field
-        // declarations, so we can retrieve tha path to the file from the given class flat name.
-        // This information is used in adding suppression annotations on class level.
-        return record;
+    return values -> {
+      // This method is called with values in format of: [class flat name, path to source file].
+      Path path = Printer.deserializePath(values[1]);
+      if (!Files.exists(path)) {
+        // Class is not declared in a source file of the module.
+        return null;
       }
+      // We still want to keep the information about the class even if it has no field
+      // declarations, so we can retrieve tha path to the file from the given class flat name.
+      // This information is used in adding suppression annotations on class level.
+      return new ClassFieldRecord(path, values[0]);
     };
   }
 
+  /**
+   * Loads field declaration statements serialized by Scanner at the given path and adds them to
+   * records of their enclosing classes.
+   *
+   * @param path Path to the file containing field declaration statements.
+   * @param uninitializedFields Builder to collect fields which are not initialized at declaration.
+   */
+  private void loadFieldDeclarations(
+      Path path, ImmutableSetMultimap.Builder<String, String> uninitializedFields) {
+    try {
+      TSVReader.read(
+          path,
+          true,
+          row -> {
+            // Format: [class flat name, fields, uninitialized fields, visibility, non-primitive].
+            String[] values = row.toArray();
+            Preconditions.checkArgument(
+                values.length == 5,
+                "Expected 5 values to create field declaration record in this version of Annotator but found: "
+                    + values.length);
+            String clazz = values[0];
+            ImmutableList<ClassFieldRecord> records = classes.get(clazz);
+            if (records.isEmpty()) {
+              return;
+            }
+            ClassFieldRecord.FieldDeclarationRecord declaration =
+                new ClassFieldRecord.FieldDeclarationRecord(
+                    ImmutableSet.copyOf(values[1].split(",")),
+                    !Boolean.parseBoolean(values[4]),
+                    values[3].equals("public"));
+            records.forEach(record -> record.addFieldDeclaration(declaration));
+            // Collect uninitialized fields at declaration.
+            if (!values[2].isEmpty()) {
+              uninitializedFields.putAll(clazz, values[2].split(","));
+            }
+          });
+    } catch (IOException e) {
+      throw new RuntimeException("Error happened while loading content of file: " + path, e);
+    }
+  }
+
   /**
    * Returns all field names declared within the same declaration statement for any field given in
    * the parameter.
@@ -167,8 +170,7 @@ public class FieldRegistry extends Registry<ClassFieldRecord> {
    */
   public ImmutableSet<String> getInLineMultipleFieldDeclarationsOnField(
       String clazz, Set<String> fields) {
-    ClassFieldRecord candidate =
-        findRecordWithHashHint(node -> node.clazz.equals(clazz), ClassFieldRecord.hash(clazz));
+    ClassFieldRecord candidate = findClassRecord(clazz);
     if (candidate == null) {
       // No inline multiple field declarations.
       return ImmutableSet.copyOf(fields);
@@ -205,8 +207,7 @@ public class FieldRegistry extends Registry<ClassFieldRecord> {
    * @return {@link OnField} instance targeting the passed field and class.
    */
   public OnField getLocationOnField(String clazz, String field) {
-    ClassFieldRecord candidate =
-        findRecordWithHashHint(node -> node.clazz.equals(clazz), ClassFieldRecord.hash(clazz));
+    ClassFieldRecord candidate = findClassRecord(clazz);
     Set<String> fieldNames = Sets.newHashSet(field);
     if (candidate == null) {
       // field is on byte code.
@@ -222,8 +223,7 @@ public class FieldRegistry extends Registry<ClassFieldRecord> {
    * @return {@link OnClass} instance targeting the passed classes flat name.
    */
   public OnClass getLocationOnClass(String clazz) {
-    ClassFieldRecord candidate =
-        findRecordWithHashHint(node -> node.clazz.equals(clazz), ClassFieldRecord.hash(clazz));
+    ClassFieldRecord candidate = findClassRecord(clazz);
     if (candidate == null) {
       // class not observed in source code.
       return null;
@@ -231,6 +231,17 @@ public class FieldRegistry extends Registry<ClassFieldRecord> {
     return new OnClass(candidate.pathToSourceFile, candidate.clazz);
   }
 
+  /**
+   * Returns paths to all source files containing the classes observed in the module.
+   *
+   * @return ImmutableSet of paths to source files.
+   */
+  public ImmutableSet<Path> getSourceFiles() {
+    return contents.values().stream()
+        .map(record -> record.pathToSourceFile)
+        .collect(ImmutableSet.toImmutableSet());
+  }
+
   /**
    * Returns fields with public visibility and a non-primitive return type.
    *
@@ -271,11 +282,23 @@ public class FieldRegistry extends Registry<ClassFieldRecord> {
       return false;
     }
     OnField onField = location.toField();
-    return findRecordWithHashHint(
-            node ->
-                node.clazz.equals(location.clazz)
-                    && node.hasExactFieldDeclarationWithNames(onField.variables),
-            ClassFieldRecord.hash(location.clazz))
-        != null;
+    for (ClassFieldRecord record : classes.get(location.clazz)) {
+      if (record.hasExactFieldDeclarationWithNames(onField.variables)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the record of the class with the given flat name.
+   *
+   * @param clazz Flat name of the class.
+   * @return Record of the class, or null if the class is not observed in source code.
+   */
+  @Nullable
+  private ClassFieldRecord findClassRecord(String clazz) {
+    ImmutableList<ClassFieldRecord> records = classes.get(clazz);
+    return records.isEmpty() ? null : records.get(0);
   }
 }
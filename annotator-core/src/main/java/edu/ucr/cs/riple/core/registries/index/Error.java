@@ -54,6 +54,12 @@ public abstract class Error {
   /** Containing region. */
   protected final Region region;
 
+  /**
+   * Cached hash code, errors are immutable and are hashed repeatedly when states are compared in
+   * {@link ErrorStore}.
+   */
+  private final int hash;
+
   /** Error type for method initialization errors from NullAway in {@code String}. */
   public Error(
       String messageType,
@@ -66,6 +72,7 @@ public abstract class Error {
     this.message = message;
     this.offset = offset;
     this.resolvingFixes = computeFixesFromAnnotations(annotations);
+    this.hash = Objects.hash(messageType, message, region, resolvingFixes, offset);
   }
 
   /**
@@ -165,7 +172,8 @@ public abstract class Error {
       return false;
     }
     Error other = (Error) o;
-    return messageType.equals(other.messageType)
+    return hash == other.hash
+        && messageType.equals(other.messageType)
         && region.equals(other.region)
         && message.equals(other.message)
         && resolvingFixes.equals(other.resolvingFixes)
@@ -185,7 +193,7 @@ public abstract class Error {
 
   @Override
   public int hashCode() {
-    return Objects.hash(messageType, message, region, resolvingFixes, offset);
+    return hash;
   }
 
   @Override
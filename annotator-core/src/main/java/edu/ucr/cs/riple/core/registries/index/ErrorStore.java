@@ -24,12 +24,17 @@
 
 package edu.ucr.cs.riple.core.registries.index;
 
+import com.google.common.collect.ImmutableSet;
 import edu.ucr.cs.riple.core.Context;
 import edu.ucr.cs.riple.core.module.ModuleInfo;
 import edu.ucr.cs.riple.core.registries.region.Region;
+import edu.ucr.cs.riple.injector.location.OnClass;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
 
@@ -65,16 +70,84 @@ public class ErrorStore {
   }
 
   /**
-   * Computes the difference between two collections (A - B).
+   * Overwrites the current state with the new generated output of an incremental run on the given
+   * source files. Errors reported on all other source files are carried over unchanged from the
+   * initial state.
+   *
+   * @param sources Paths to source files the incremental run was performed on.
+   */
+  public void saveState(ImmutableSet<Path> sources) {
+    saveState();
+    carryOverFromRoot(root.values(), sources);
+  }
+
+  /**
+   * Overwrites the current state with errors of the new generated output which are enclosed by the
+   * given regions. Errors enclosed by other regions are not read, therefore until the next state is
+   * saved, only the given regions can be compared with {@link #compareByRegion(Region)}.
+   *
+   * @param regions Regions of interest.
+   */
+  public void saveStateOfRegions(ImmutableSet<Region> regions) {
+    current = new Index(context, moduleInfo);
+    current.index(regions);
+  }
+
+  /**
+   * Overwrites the current state with errors of the new generated output of an incremental run on
+   * the given source files which are enclosed by the given regions. Errors reported on all other
+   * source files are carried over unchanged from the initial state. Until the next state is saved,
+   * only the given regions can be compared with {@link #compareByRegion(Region)}.
+   *
+   * @param regions Regions of interest.
+   * @param sources Paths to source files the incremental run was performed on.
+   */
+  public void saveStateOfRegions(ImmutableSet<Region> regions, ImmutableSet<Path> sources) {
+    saveStateOfRegions(regions);
+    regions.forEach(region -> carryOverFromRoot(root.get(region), sources));
+  }
+
+  /**
+   * Adds the given errors of the initial state to the current state, if they are not reported on
+   * the given source files.
+   *
+   * @param errors Errors of the initial state.
+   * @param sources Paths to source files which errors are not carried over.
+   */
+  private void carryOverFromRoot(Collection<Error> errors, ImmutableSet<Path> sources) {
+    errors.stream()
+        .filter(
+            error -> {
+              OnClass onClass = moduleInfo.getLocationOnClass(error.getRegion().clazz);
+              return onClass == null || !sources.contains(onClass.path);
+            })
+        .forEach(current::add);
+  }
+
+  /**
+   * Computes the difference between two collections (A - B). Collections are treated as multisets,
+   * each item in B cancels out at most one equal item in A. Items remaining in A keep their
+   * original order.
    *
    * @param previousItems B.
    * @param currentItems A.
    * @return Corresponding {@link Result} instance storing result of (A - B).
    */
-  private Result compareByList(Collection<Error> previousItems, Collection<Error> currentItems) {
+  static Result compareByList(Collection<Error> previousItems, Collection<Error> currentItems) {
     int size = currentItems.size() - previousItems.size();
-    List<Error> temp = new ArrayList<>(currentItems);
-    previousItems.forEach(temp::remove);
+    Map<Error, Integer> counts = new HashMap<>();
+    previousItems.forEach(error -> counts.merge(error, 1, Integer::sum));
+    List<Error> temp = new ArrayList<>();
+    for (Error error : currentItems) {
+      Integer count = counts.get(error);
+      if (count == null) {
+        temp.add(error);
+      } else if (count == 1) {
+        counts.remove(error);
+      } else {
+        counts.put(error, count - 1);
+      }
+    }
     return new Result(size, temp);
   }
 
@@ -89,6 +162,19 @@ public class ErrorStore {
     return compareByList(root.get(region), current.get(region));
   }
 
+  /**
+   * Computes the difference in items enclosed by the given enclosing class and member in the given
+   * state and root state. Used to compare states which are collected independently of the current
+   * state of this store (e.g. outputs of builds on copies of the module).
+   *
+   * @param state State to compare with the root state.
+   * @param region Enclosing region
+   * @return Corresponding {@link Result}.
+   */
+  public Result compareByRegion(Index state, Region region) {
+    return compareByList(root.get(region), state.get(region));
+  }
+
   /**
    * Computes the difference in current state and root state.
    *
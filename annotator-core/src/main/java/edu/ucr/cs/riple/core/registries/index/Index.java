@@ -24,6 +24,7 @@
 
 package edu.ucr.cs.riple.core.registries.index;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.MultimapBuilder;
 import edu.ucr.cs.riple.core.Context;
@@ -64,6 +65,27 @@ public class Index {
         .forEach(error -> items.put(error.getRegion(), error));
   }
 
+  /**
+   * Starts the reading and index process, only errors enclosed by the given regions are read and
+   * indexed.
+   *
+   * @param regions Regions of interest.
+   */
+  public void index(ImmutableSet<Region> regions) {
+    items.clear();
+    Utility.readErrorsFromOutputDirectory(context, moduleInfo, Error.class, regions)
+        .forEach(error -> items.put(error.getRegion(), error));
+  }
+
+  /**
+   * Adds the given error to the index.
+   *
+   * @param error Error to add.
+   */
+  public void add(Error error) {
+    items.put(error.getRegion(), error);
+  }
+
   /**
    * Returns all contents which are enclosed by the given region.
    *
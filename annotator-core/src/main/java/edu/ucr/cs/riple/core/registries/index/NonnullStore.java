@@ -38,12 +38,21 @@ import edu.ucr.cs.riple.scanner.Serializer;
  */
 public class NonnullStore extends Registry<Location> {
 
+  /** Locations of elements with explicit {@code @Nonnull} annotations. */
+  private final ImmutableSet<Location> locations;
+
   public NonnullStore(ImmutableSet<ModuleConfiguration> modules, Context context) {
     super(
         modules.stream()
             .map(moduleInfo -> moduleInfo.dir.resolve(Serializer.NON_NULL_ELEMENTS_FILE_NAME))
             .collect(ImmutableSet.toImmutableSet()),
         context);
+    this.locations = ImmutableSet.copyOf(contents.values());
+  }
+
+  @Override
+  protected boolean isConcurrentLoadingSupported() {
+    return true;
   }
 
   @Override
@@ -58,6 +67,6 @@ public class NonnullStore extends Registry<Location> {
    * @return true, if the element at the given location has an explicit {@code @Nonnull} annotation.
    */
   public boolean hasExplicitNonnullAnnotation(Location target) {
-    return findRecordWithHashHint(location -> location.equals(target), target.hashCode()) != null;
+    return locations.contains(target);
   }
 }
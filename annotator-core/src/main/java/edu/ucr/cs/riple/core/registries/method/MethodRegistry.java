@@ -26,7 +26,9 @@ package edu.ucr.cs.riple.core.registries.method;
 
 import static edu.ucr.cs.riple.scanner.out.MethodRecord.ANNOTATION_DELIMITER;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableTable;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.MultimapBuilder;
 import edu.ucr.cs.riple.core.Context;
@@ -58,6 +60,15 @@ public class MethodRegistry extends Registry<MethodRecord> {
   /** Set of all classes flat name declared in module. */
   private Set<String> declaredClasses;
 
+  /** Index of methods by their enclosing class flat name and signature. */
+  private final ImmutableTable<String, String, ImmutableList<MethodRecord>> methods;
+
+  /**
+   * Public methods with non-primitive return type, computed on the first request. Null if it is not
+   * computed yet.
+   */
+  @Nullable private ImmutableSet<MethodRecord> publicMethodsWithNonPrimitivesReturn;
+
   public MethodRegistry(Context context) {
     this(ImmutableSet.of(context.targetConfiguration), context);
   }
@@ -68,6 +79,7 @@ public class MethodRegistry extends Registry<MethodRecord> {
             .map(moduleInfo -> moduleInfo.dir.resolve(Serializer.METHOD_RECORD_FILE_NAME))
             .collect(ImmutableSet.toImmutableSet()),
         context);
+    this.methods = index(record -> record.location.clazz, record -> record.location.method);
   }
 
   @Override
@@ -169,10 +181,8 @@ public class MethodRegistry extends Registry<MethodRecord> {
    * @return Corresponding method.
    */
   public MethodRecord findMethodByName(String encClass, String method) {
-    return findRecordWithHashHint(
-        candidate ->
-            candidate.location.clazz.equals(encClass) && candidate.location.method.equals(method),
-        MethodRecord.hash(method, encClass));
+    ImmutableList<MethodRecord> candidates = methods.get(encClass, method);
+    return candidates == null ? null : candidates.get(0);
   }
 
   /**
@@ -181,8 +191,12 @@ public class MethodRegistry extends Registry<MethodRecord> {
    * @return ImmutableSet of method nodes.
    */
   public ImmutableSet<MethodRecord> getPublicMethodsWithNonPrimitivesReturn() {
-    return findRecords(MethodRecord::isPublicMethodWithNonPrimitiveReturnType)
-        .collect(ImmutableSet.toImmutableSet());
+    if (publicMethodsWithNonPrimitivesReturn == null) {
+      publicMethodsWithNonPrimitivesReturn =
+          findRecords(MethodRecord::isPublicMethodWithNonPrimitiveReturnType)
+              .collect(ImmutableSet.toImmutableSet());
+    }
+    return publicMethodsWithNonPrimitivesReturn;
   }
 
   /**
@@ -24,18 +24,30 @@
 
 package edu.ucr.cs.riple.core.registries.region;
 
+import com.google.common.base.Throwables;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import edu.ucr.cs.riple.core.Context;
 import edu.ucr.cs.riple.core.module.ModuleInfo;
 import edu.ucr.cs.riple.core.registries.region.generatedcode.AnnotationProcessorHandler;
 import edu.ucr.cs.riple.injector.location.Location;
+import java.util.Objects;
+import java.util.Set;
+import javax.annotation.Nullable;
 
 /**
  * Container class for all region registries. This region registry can identify impacted regions for
- * all fix types.
+ * all fix types. Impacted regions of locations are memoized, all registries are immutable after
+ * construction, therefore memoized regions are never invalidated.
  */
 public class CompoundRegionRegistry implements RegionRegistry {
 
+  /** Maximum number of locations with memoized impacted regions. */
+  private static final long MAXIMUM_CACHE_SIZE = 1 << 16;
+
   /** List of all region registries. */
   private final ImmutableSet<RegionRegistry> registries;
 
@@ -49,6 +61,9 @@ public class CompoundRegionRegistry implements RegionRegistry {
    */
   private final MethodRegionRegistry methodRegionRegistry;
 
+  /** Memoized impacted regions of locations, safe for concurrent use. */
+  private final LoadingCache<Key, ImmutableSet<Region>> impactedRegions;
+
   public CompoundRegionRegistry(ModuleInfo moduleInfo, Context context) {
     this.moduleInfo = moduleInfo;
     this.methodRegionRegistry = new MethodRegionRegistry(moduleInfo, context);
@@ -57,10 +72,32 @@ public class CompoundRegionRegistry implements RegionRegistry {
             new FieldRegionRegistry(moduleInfo, context),
             methodRegionRegistry,
             new ParameterRegionRegistry(moduleInfo, methodRegionRegistry));
+    this.impactedRegions =
+        CacheBuilder.newBuilder()
+            .maximumSize(MAXIMUM_CACHE_SIZE)
+            .recordStats()
+            .build(CacheLoader.from(key -> computeImpactedRegions(key.location)));
   }
 
   @Override
   public ImmutableSet<Region> getImpactedRegions(Location location) {
+    try {
+      return impactedRegions.getUnchecked(new Key(location));
+    } catch (UncheckedExecutionException e) {
+      // Rethrow the original exception thrown by the registries.
+      Throwables.throwIfUnchecked(e.getCause());
+      throw e;
+    }
+  }
+
+  /**
+   * Computes the impacted regions of the given location from all registries, extended with
+   * regions generated by annotation processors.
+   *
+   * @param location Location of the change.
+   * @return Impacted regions of the location.
+   */
+  private ImmutableSet<Region> computeImpactedRegions(Location location) {
     ImmutableSet.Builder<Region> fromRegistriesBuilder = ImmutableSet.builder();
     this.registries.forEach(
         registry -> fromRegistriesBuilder.addAll(registry.getImpactedRegions(location)));
@@ -92,4 +129,58 @@ public class CompoundRegionRegistry implements RegionRegistry {
   public MethodRegionRegistry getMethodRegionRegistry() {
     return methodRegionRegistry;
   }
+
+  /**
+   * Returns the number of impacted region lookups served from memoized regions.
+   *
+   * @return Number of cache hits.
+   */
+  public long getHits() {
+    return impactedRegions.stats().hitCount();
+  }
+
+  /**
+   * Returns the number of impacted region lookups which required computing the regions.
+   *
+   * @return Number of cache misses.
+   */
+  public long getMisses() {
+    return impactedRegions.stats().missCount();
+  }
+
+  /**
+   * Key of memoized impacted regions. Locations on fields are equal if they share any field, keys
+   * of fields are only equal if they target exactly the same set of fields, since impacted regions
+   * depend on all fields.
+   */
+  private static class Key {
+
+    /** Location of the change. */
+    private final Location location;
+
+    /** Fields targeted by the location if it is on a field, otherwise null. */
+    @Nullable private final Set<String> fields;
+
+    private Key(Location location) {
+      this.location = location;
+      this.fields = location.isOnField() ? location.toField().variables : null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return location.equals(other.location) && Objects.equals(fields, other.fields);
+    }
+
+    @Override
+    public int hashCode() {
+      return location.hashCode();
+    }
+  }
 }
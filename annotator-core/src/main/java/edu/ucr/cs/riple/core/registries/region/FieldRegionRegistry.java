@@ -25,6 +25,8 @@
 package edu.ucr.cs.riple.core.registries.region;
 
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableTable;
+import com.google.common.collect.Tables;
 import edu.ucr.cs.riple.core.Context;
 import edu.ucr.cs.riple.core.module.ModuleInfo;
 import edu.ucr.cs.riple.core.registries.Registry;
@@ -43,6 +45,12 @@ public class FieldRegionRegistry extends Registry<RegionRecord> implements Regio
   /** ModuleInfo of the module which usages of fields are stored. */
   private final ModuleInfo moduleInfo;
 
+  /**
+   * Regions where fields are used, indexed by the flat name of the enclosing class and the used
+   * member.
+   */
+  private final ImmutableTable<String, String, ImmutableSet<Region>> regionsByUse;
+
   public FieldRegionRegistry(ModuleInfo moduleInfo, Context context) {
     super(
         moduleInfo.getModuleConfigurations().stream()
@@ -52,6 +60,19 @@ public class FieldRegionRegistry extends Registry<RegionRecord> implements Regio
             .collect(ImmutableSet.toImmutableSet()),
         context);
     this.moduleInfo = moduleInfo;
+    this.regionsByUse =
+        ImmutableTable.copyOf(
+            Tables.transformValues(
+                index(record -> record.encClass, record -> record.member),
+                records ->
+                    records.stream()
+                        .map(record -> record.region)
+                        .collect(ImmutableSet.toImmutableSet())));
+  }
+
+  @Override
+  protected boolean isConcurrentLoadingSupported() {
+    return true;
   }
 
   @Override
@@ -90,11 +111,18 @@ public class FieldRegionRegistry extends Registry<RegionRecord> implements Regio
       return ImmutableSet.of();
     }
     OnField field = location.toField();
-    return findRecordsWithHashHint(
-            candidate ->
-                candidate.encClass.equals(field.clazz) && field.isOnFieldWithName(candidate.member),
-            RegionRecord.hash(field.clazz))
-        .map(regionRecord -> regionRecord.region)
-        .collect(ImmutableSet.toImmutableSet());
+    if (field.variables.size() == 1) {
+      ImmutableSet<Region> regions =
+          regionsByUse.get(field.clazz, field.variables.iterator().next());
+      return regions == null ? ImmutableSet.of() : regions;
+    }
+    ImmutableSet.Builder<Region> builder = ImmutableSet.builder();
+    for (String variable : field.variables) {
+      ImmutableSet<Region> regions = regionsByUse.get(field.clazz, variable);
+      if (regions != null) {
+        builder.addAll(regions);
+      }
+    }
+    return builder.build();
   }
 }
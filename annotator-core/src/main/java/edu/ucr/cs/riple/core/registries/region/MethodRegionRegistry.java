@@ -25,6 +25,8 @@
 package edu.ucr.cs.riple.core.registries.region;
 
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableTable;
+import com.google.common.collect.Tables;
 import edu.ucr.cs.riple.core.Context;
 import edu.ucr.cs.riple.core.module.ModuleInfo;
 import edu.ucr.cs.riple.core.registries.Registry;
@@ -43,6 +45,12 @@ public class MethodRegionRegistry extends Registry<RegionRecord> implements Regi
   /** ModuleInfo of the module which usage of methods are stored. */
   private final ModuleInfo moduleInfo;
 
+  /**
+   * Regions where methods are used, indexed by the flat name of the enclosing class and the used
+   * member.
+   */
+  private final ImmutableTable<String, String, ImmutableSet<Region>> regionsByUse;
+
   public MethodRegionRegistry(ModuleInfo moduleInfo, Context context) {
     super(
         moduleInfo.getModuleConfigurations().stream()
@@ -50,6 +58,19 @@ public class MethodRegionRegistry extends Registry<RegionRecord> implements Regi
             .collect(ImmutableSet.toImmutableSet()),
         context);
     this.moduleInfo = moduleInfo;
+    this.regionsByUse =
+        ImmutableTable.copyOf(
+            Tables.transformValues(
+                index(record -> record.encClass, record -> record.member),
+                records ->
+                    records.stream()
+                        .map(record -> record.region)
+                        .collect(ImmutableSet.toImmutableSet())));
+  }
+
+  @Override
+  protected boolean isConcurrentLoadingSupported() {
+    return true;
   }
 
   @Override
@@ -83,12 +104,7 @@ public class MethodRegionRegistry extends Registry<RegionRecord> implements Regi
     }
     OnMethod onMethod = location.toMethod();
     // Add callers of method.
-    return findRecordsWithHashHint(
-            candidate ->
-                candidate.encClass.equals(onMethod.clazz)
-                    && candidate.member.equals(onMethod.method),
-            RegionRecord.hash(onMethod.clazz))
-        .map(node -> node.region)
-        .collect(ImmutableSet.toImmutableSet());
+    ImmutableSet<Region> regions = regionsByUse.get(onMethod.clazz, onMethod.method);
+    return regions == null ? ImmutableSet.of() : regions;
   }
 }
@@ -51,6 +51,9 @@ public class Region {
 
   public final Type type;
 
+  /** Cached hash code, regions are used heavily as hash keys. */
+  private final int hash;
+
   /** Different types of code segments for a region. */
   public enum Type {
     METHOD,
@@ -64,6 +67,7 @@ public class Region {
     this.member = encMember == null ? "null" : encMember;
     this.type = getType(encClass, member);
     this.sourceType = sourceType;
+    this.hash = Objects.hash(member, clazz);
   }
 
   public Region(String encClass, String encMember) {
@@ -157,7 +161,7 @@ public class Region {
 
   @Override
   public int hashCode() {
-    return Objects.hash(member, clazz);
+    return hash;
   }
 
   @Override
@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Nima Karimipour
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.ucr.cs.riple.core.registries.region;
+
+import com.google.common.collect.ImmutableSet;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns dense integer ids to regions of a module. Ids are assigned on first request and stay
+ * stable for the lifetime of the module, which allows sets of regions to be stored as {@link
+ * BitSet}s and compared with word-wise operations.
+ */
+public class RegionIndex {
+
+  /** Ids of regions indexed so far. */
+  private final Map<Region, Integer> ids;
+
+  /** Indexed regions, the region with id i is stored at index i. */
+  private final List<Region> regions;
+
+  public RegionIndex() {
+    this.ids = new HashMap<>();
+    this.regions = new ArrayList<>();
+  }
+
+  /**
+   * Returns the id of the given region. If the region is not indexed yet, a new id is assigned to
+   * it.
+   *
+   * @param region Region to get its id.
+   * @return Id of the region.
+   */
+  public int getId(Region region) {
+    Integer id = ids.get(region);
+    if (id == null) {
+      id = regions.size();
+      ids.put(region, id);
+      regions.add(region);
+    }
+    return id;
+  }
+
+  /**
+   * Returns the region with the given id.
+   *
+   * @param id Id of the region.
+   * @return Region with the given id.
+   */
+  public Region getRegion(int id) {
+    return regions.get(id);
+  }
+
+  /**
+   * Adds the ids of the given regions to the given set.
+   *
+   * @param set Set of region ids.
+   * @param regions Regions to add.
+   */
+  public void addAll(BitSet set, Iterable<Region> regions) {
+    for (Region region : regions) {
+      set.set(getId(region));
+    }
+  }
+
+  /**
+   * Returns the regions whose ids are in the given set.
+   *
+   * @param set Set of region ids.
+   * @return Immutable set of regions.
+   */
+  public ImmutableSet<Region> getRegions(BitSet set) {
+    ImmutableSet.Builder<Region> builder = ImmutableSet.builderWithExpectedSize(set.cardinality());
+    set.stream().forEach(id -> builder.add(regions.get(id)));
+    return builder.build();
+  }
+}
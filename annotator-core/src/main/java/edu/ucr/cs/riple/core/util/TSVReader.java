@@ -0,0 +1,364 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Nima Karimipour
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.ucr.cs.riple.core.util;
+
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Reader for files in TSV format. The file content is scanned for tab and line separator bytes
+ * directly, without decoding lines into strings and splitting them. Large files are memory-mapped,
+ * smaller files (e.g. checker outputs which are rewritten on every build) are read into memory to
+ * avoid holding a mapping on a file which is going to be overwritten. Fields of each row are
+ * exposed as {@link CharSequence} slices of the file content.
+ */
+public class TSVReader {
+
+  /** Files larger than this size in bytes are memory-mapped. */
+  private static final long MAPPING_THRESHOLD = 1 << 22;
+
+  /** Maximum size of a single mapped region of a file in bytes. */
+  private static final long MAPPING_WINDOW = 1 << 30;
+
+  /** Charset used to decode rows containing non-ASCII bytes. */
+  private static final Charset CHARSET = Charset.defaultCharset();
+
+  private TSVReader() {}
+
+  /**
+   * Reads rows of the file at the given path and passes each row to the given consumer. The passed
+   * {@link Row} instance is reused for all rows and is only valid during the call to the consumer.
+   *
+   * @param path Path to the file.
+   * @param skipHeader If true, the first line of the file is skipped.
+   * @param consumer Consumer of rows.
+   * @throws IOException if the file cannot be read.
+   */
+  public static void read(Path path, boolean skipHeader, Consumer<Row> consumer)
+      throws IOException {
+    Row row = new Row();
+    boolean skip = skipHeader;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size <= MAPPING_THRESHOLD) {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        readBuffer(buffer, true, skip, row, consumer);
+        return;
+      }
+      long position = 0;
+      while (position < size) {
+        long length = Math.min(MAPPING_WINDOW, size - position);
+        boolean last = position + length == size;
+        ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        int consumed = readBuffer(buffer, last, skip, row, consumer);
+        if (consumed == 0 && !last) {
+          throw new IOException(
+              "Line at offset " + position + " exceeds the maximum supported length in: " + path);
+        }
+        if (consumed > 0) {
+          skip = false;
+        }
+        position += consumed;
+      }
+    }
+  }
+
+  /**
+   * Reads complete lines of the given buffer and passes them to the given consumer.
+   *
+   * @param buffer Buffer containing file content.
+   * @param last If true, the buffer contains the end of the file and the last line does not need
+   *     to be terminated by a line separator.
+   * @param skipFirst If true, the first line is skipped.
+   * @param row Row instance to reuse.
+   * @param consumer Consumer of rows.
+   * @return Number of bytes consumed from the buffer, bytes after the last complete line are not
+   *     consumed unless the buffer is the last one.
+   */
+  private static int readBuffer(
+      ByteBuffer buffer, boolean last, boolean skipFirst, Row row, Consumer<Row> consumer) {
+    int limit = buffer.limit();
+    int lineStart = 0;
+    boolean skip = skipFirst;
+    int i = 0;
+    while (i < limit) {
+      byte b = buffer.get(i);
+      if (b != '\n') {
+        i++;
+        continue;
+      }
+      if (!skip) {
+        row.reset(buffer, lineStart, i);
+        consumer.accept(row);
+      }
+      skip = false;
+      i++;
+      lineStart = i;
+    }
+    if (last && lineStart < limit) {
+      if (!skip) {
+        row.reset(buffer, lineStart, limit);
+        consumer.accept(row);
+      }
+      return limit;
+    }
+    return lineStart;
+  }
+
+  /**
+   * A row of a TSV file. Fields follow the semantics of {@link String#split(String)} with a tab
+   * separator, trailing empty fields are not included.
+   */
+  public static class Row {
+
+    /** Buffer containing the row, only used if the row contains only ASCII bytes. */
+    private ByteBuffer buffer;
+
+    /** Decoded row, only used if the row contains non-ASCII bytes. */
+    private String decoded;
+
+    /** Start offsets of fields, in the buffer or in the decoded row. */
+    private int[] starts = new int[16];
+
+    /** End offsets (exclusive) of fields, in the buffer or in the decoded row. */
+    private int[] ends = new int[16];
+
+    /** Number of fields in the row. */
+    private int size;
+
+    /**
+     * Points this row to a new line.
+     *
+     * @param buffer Buffer containing the line.
+     * @param begin Start offset of the line in the buffer.
+     * @param end End offset (exclusive) of the line in the buffer, excluding the line feed.
+     */
+    private void reset(ByteBuffer buffer, int begin, int end) {
+      if (end > begin && buffer.get(end - 1) == '\r') {
+        end--;
+      }
+      boolean ascii = true;
+      for (int i = begin; i < end; i++) {
+        if (buffer.get(i) < 0) {
+          ascii = false;
+          break;
+        }
+      }
+      size = 0;
+      if (ascii) {
+        this.buffer = buffer;
+        this.decoded = null;
+        int start = begin;
+        for (int i = begin; i < end; i++) {
+          if (buffer.get(i) == '\t') {
+            addField(start, i);
+            start = i + 1;
+          }
+        }
+        addField(start, end);
+      } else {
+        this.buffer = null;
+        this.decoded = new String(copy(buffer, begin, end), CHARSET);
+        int start = 0;
+        int tab;
+        while ((tab = decoded.indexOf('\t', start)) != -1) {
+          addField(start, tab);
+          start = tab + 1;
+        }
+        addField(start, decoded.length());
+      }
+      // Match String#split: an empty line has a single empty field, otherwise trailing empty fields
+      // are removed.
+      if (size == 1) {
+        return;
+      }
+      while (size > 0 && starts[size - 1] == ends[size - 1]) {
+        size--;
+      }
+    }
+
+    /**
+     * Appends a field to this row.
+     *
+     * @param start Start offset of the field.
+     * @param end End offset (exclusive) of the field.
+     */
+    private void addField(int start, int end) {
+      if (size == starts.length) {
+        starts = Arrays.copyOf(starts, size * 2);
+        ends = Arrays.copyOf(ends, size * 2);
+      }
+      starts[size] = start;
+      ends[size] = end;
+      size++;
+    }
+
+    /**
+     * Returns the number of fields in this row.
+     *
+     * @return Number of fields.
+     */
+    public int size() {
+      return size;
+    }
+
+    /**
+     * Returns the field at the given index as a view over the file content. The returned value is
+     * only valid during the call to the consumer of this row.
+     *
+     * @param index Index of the field.
+     * @return Field at the given index.
+     */
+    public CharSequence get(int index) {
+      checkIndex(index);
+      if (decoded != null) {
+        return decoded.subSequence(starts[index], ends[index]);
+      }
+      return new Slice(buffer, starts[index], ends[index]);
+    }
+
+    /**
+     * Returns the field at the given index as a string.
+     *
+     * @param index Index of the field.
+     * @return Field at the given index.
+     */
+    public String getString(int index) {
+      checkIndex(index);
+      if (decoded != null) {
+        return decoded.substring(starts[index], ends[index]);
+      }
+      return Slice.toString(buffer, starts[index], ends[index]);
+    }
+
+    /**
+     * Returns all fields of this row as strings.
+     *
+     * @return Fields of this row.
+     */
+    public String[] toArray() {
+      String[] values = new String[size];
+      for (int i = 0; i < size; i++) {
+        values[i] = getString(i);
+      }
+      return values;
+    }
+
+    /**
+     * Checks if the given index is a valid field index.
+     *
+     * @param index Index of the field.
+     */
+    private void checkIndex(int index) {
+      if (index < 0 || index >= size) {
+        throw new IndexOutOfBoundsException(
+            "Index " + index + " out of bounds for row with " + size + " fields");
+      }
+    }
+
+    @Override
+    public String toString() {
+      return String.join("\t", toArray());
+    }
+  }
+
+  /** View over a range of ASCII bytes of a buffer. */
+  private static class Slice implements CharSequence {
+
+    /** Buffer containing the bytes. */
+    private final ByteBuffer buffer;
+
+    /** Start offset of the range. */
+    private final int start;
+
+    /** End offset (exclusive) of the range. */
+    private final int end;
+
+    private Slice(ByteBuffer buffer, int start, int end) {
+      this.buffer = buffer;
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override
+    public int length() {
+      return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+      Preconditions.checkElementIndex(index, length());
+      return (char) buffer.get(start + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int begin, int end) {
+      Preconditions.checkPositionIndexes(begin, end, length());
+      return new Slice(buffer, start + begin, start + end);
+    }
+
+    @Override
+    public String toString() {
+      return toString(buffer, start, end);
+    }
+
+    /**
+     * Creates a string from a range of ASCII bytes of the given buffer.
+     *
+     * @param buffer Buffer containing the bytes.
+     * @param start Start offset of the range.
+     * @param end End offset (exclusive) of the range.
+     * @return The created string.
+     */
+    private static String toString(ByteBuffer buffer, int start, int end) {
+      return new String(copy(buffer, start, end), StandardCharsets.ISO_8859_1);
+    }
+  }
+
+  /**
+   * Copies a range of bytes of the given buffer.
+   *
+   * @param buffer Buffer containing the bytes.
+   * @param start Start offset of the range.
+   * @param end End offset (exclusive) of the range.
+   * @return Copy of the bytes in the range.
+   */
+  private static byte[] copy(ByteBuffer buffer, int start, int end) {
+    byte[] bytes = new byte[end - start];
+    ByteBuffer view = buffer.duplicate();
+    view.position(start);
+    view.get(bytes);
+    return bytes;
+  }
+}
@@ -46,6 +46,7 @@ import java.nio.file.Path;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -151,6 +152,22 @@ public class Utility {
         .collect(Collectors.toSet());
   }
 
+  /**
+   * Reads serialized errors of passed module in the output directory which are enclosed by the
+   * given regions. Errors enclosed by other regions are skipped before being fully deserialized.
+   *
+   * @param context Annotation context. Required to fetch the deserializer.
+   * @param moduleInfo ModuleInfo of the module which errors are created for.
+   * @param regions Regions of interest.
+   * @return Set of serialized errors enclosed by the given regions.
+   */
+  public static <T extends Error> Set<T> readErrorsFromOutputDirectory(
+      Context context, ModuleInfo moduleInfo, Class<T> klass, ImmutableSet<Region> regions) {
+    return context.checker.deserializeErrors(moduleInfo, regions).stream()
+        .map(klass::cast)
+        .collect(Collectors.toSet());
+  }
+
   /**
    * Activates/Deactivates {@link AnnotatorScanner} features by updating the {@link
    * edu.ucr.cs.riple.scanner.Config} in {@code XML} format for the given module.
@@ -230,7 +247,11 @@ public class Utility {
    */
   public static void buildTarget(Context context) {
     context.checker.prepareConfigFilesForBuild(context.targetModuleInfo.getModuleConfigurations());
-    build(context, context.config.buildCommand);
+    if (context.targetBuildResultCache != null) {
+      context.targetBuildResultCache.runFull(() -> build(context, context.config.buildCommand));
+    } else {
+      build(context, context.config.buildCommand);
+    }
   }
 
   /**
@@ -250,6 +271,24 @@ public class Utility {
     }
   }
 
+  /**
+   * Deletes the given directory and all its contents if exists.
+   *
+   * @param directory Directory to delete.
+   */
+  public static void deleteDirectory(Path directory) {
+    if (!directory.toFile().exists()) {
+      return;
+    }
+    try (Stream<Path> paths = Files.walk(directory)) {
+      for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+        Files.delete(path);
+      }
+    } catch (IOException e) {
+      throw new RuntimeException("Could not delete directory: " + directory, e);
+    }
+  }
+
   /**
    * Returns a progress bar with the given task name.
    *
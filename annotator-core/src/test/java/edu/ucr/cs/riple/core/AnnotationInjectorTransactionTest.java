@@ -0,0 +1,215 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Nima Karimipour
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.ucr.cs.riple.core;
+
+import edu.ucr.cs.riple.core.evaluators.graph.processors.SourceOverlay;
+import edu.ucr.cs.riple.core.injectors.AnnotationInjector;
+import edu.ucr.cs.riple.core.injectors.OverlayInjector;
+import edu.ucr.cs.riple.core.injectors.PhysicalInjector;
+import edu.ucr.cs.riple.core.registries.index.Fix;
+import edu.ucr.cs.riple.core.tools.CoreTestHelper;
+import edu.ucr.cs.riple.core.tools.Utility;
+import edu.ucr.cs.riple.injector.changes.AddMarkerAnnotation;
+import edu.ucr.cs.riple.injector.location.OnMethod;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class AnnotationInjectorTransactionTest {
+
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  /** Root of source files. */
+  private Path sourceRoot;
+
+  /** Source file declaring {@code test.A}, with {@code \n} line terminators. */
+  private Path sourceA;
+
+  /** Source file declaring {@code test.B}, with {@code \r\n} line terminators. */
+  private Path sourceB;
+
+  private Context context;
+  private AnnotationInjector injector;
+
+  @Before
+  public void init() throws IOException {
+    Path root = temporaryFolder.getRoot().toPath();
+    CoreTestHelper helper = new CoreTestHelper(root, root).onEmptyProject();
+    Path configPath = root.resolve("context.json");
+    helper.makeAnnotatorConfigFile(configPath);
+    Utility.runTestWithMockedBuild(root, () -> context = new Context(new Config(configPath)));
+    sourceRoot = root.resolve("inputs").resolve("src");
+    Files.createDirectories(sourceRoot.resolve("test"));
+    sourceA = sourceRoot.resolve("test").resolve("A.java").toAbsolutePath().normalize();
+    sourceB = sourceRoot.resolve("test").resolve("B.java").toAbsolutePath().normalize();
+    Utility.createAFileWithContent(
+        sourceA,
+        "package test;\n\npublic class A {\n  Object foo() {\n    return null;\n  }\n\n"
+            + "  Object bar() {\n    return null;\n  }\n}\n");
+    Utility.createAFileWithContent(
+        sourceB,
+        "package test;\r\n\r\npublic class B {\r\n  Object baz() {\r\n"
+            + "    return null;\r\n  }\r\n}\r\n");
+    injector = new PhysicalInjector(context);
+  }
+
+  @Test
+  public void rollbackRestoresOriginalContent() throws IOException {
+    byte[] contentA = Files.readAllBytes(sourceA);
+    byte[] contentB = Files.readAllBytes(sourceB);
+    injector.begin();
+    injector.injectFixes(
+        Set.of(fix(sourceA, "test.A", "foo()"), fix(sourceA, "test.A", "bar()")));
+    injector.injectFixes(Set.of(fix(sourceB, "test.B", "baz()")));
+    Assert.assertFalse(contentEquals(contentA, sourceA));
+    Assert.assertFalse(contentEquals(contentB, sourceB));
+    injector.rollback();
+    Assert.assertArrayEquals(contentA, Files.readAllBytes(sourceA));
+    Assert.assertArrayEquals(contentB, Files.readAllBytes(sourceB));
+    assertNoOffsetChanges(sourceA, contentA.length);
+    assertNoOffsetChanges(sourceB, contentB.length);
+  }
+
+  @Test
+  public void rollbackAfterExceptionRestoresOriginalContent() throws IOException {
+    byte[] contentA = Files.readAllBytes(sourceA);
+    RuntimeException failure =
+        Assert.assertThrows(
+            RuntimeException.class,
+            () -> {
+              injector.begin();
+              try {
+                injector.injectFixes(Set.of(fix(sourceA, "test.A", "foo()")));
+                throw new RuntimeException("build failed");
+              } finally {
+                injector.rollback();
+              }
+            });
+    Assert.assertEquals("build failed", failure.getMessage());
+    Assert.assertArrayEquals(contentA, Files.readAllBytes(sourceA));
+    assertNoOffsetChanges(sourceA, contentA.length);
+    // Transaction is ended by the rollback, a new one can begin.
+    injector.begin();
+    injector.rollback();
+  }
+
+  @Test
+  public void rollbackKeepsChangesMadeBeforeTransaction() throws IOException {
+    injector.injectFixes(Set.of(fix(sourceA, "test.A", "foo()")));
+    byte[] committed = Files.readAllBytes(sourceA);
+    int[] offsets = originalOffsets(sourceA, committed.length);
+    injector.begin();
+    injector.injectFixes(Set.of(fix(sourceA, "test.A", "bar()")));
+    injector.rollback();
+    Assert.assertArrayEquals(committed, Files.readAllBytes(sourceA));
+    Assert.assertArrayEquals(offsets, originalOffsets(sourceA, committed.length));
+  }
+
+  @Test
+  public void transactionsCannotBeNested() {
+    injector.begin();
+    Assert.assertThrows(IllegalStateException.class, injector::begin);
+    injector.rollback();
+    Assert.assertThrows(IllegalStateException.class, injector::rollback);
+  }
+
+  @Test
+  public void overlayRollbackDropsOverlay() throws IOException {
+    byte[] contentA = Files.readAllBytes(sourceA);
+    SourceOverlay overlay =
+        new SourceOverlay(context, sourceRoot, sourceRoot.resolveSibling("overlay"));
+    injector = new OverlayInjector(context, overlay);
+    injector.begin();
+    injector.injectFixes(Set.of(fix(sourceA, "test.A", "foo()")));
+    Path copy = overlay.resolve(sourceA);
+    Assert.assertTrue(Files.exists(copy));
+    injector.rollback();
+    Assert.assertTrue(overlay.isEmpty());
+    Assert.assertFalse(Files.exists(copy));
+    Assert.assertArrayEquals(contentA, Files.readAllBytes(sourceA));
+    assertNoOffsetChanges(sourceA, contentA.length);
+  }
+
+  /**
+   * Creates a fix adding {@code @javax.annotation.Nullable} on the given method.
+   *
+   * @param path Path to the source file.
+   * @param clazz Enclosing class of the method.
+   * @param method Signature of the method.
+   * @return The fix.
+   */
+  private static Fix fix(Path path, String clazz, String method) {
+    return new Fix(
+        new AddMarkerAnnotation(new OnMethod(path, clazz, method), "javax.annotation.Nullable"));
+  }
+
+  /**
+   * Checks if the content of the given file is equal to the given bytes.
+   *
+   * @param content Expected content.
+   * @param path Path to the file.
+   * @return true, if the contents are equal.
+   */
+  private static boolean contentEquals(byte[] content, Path path) throws IOException {
+    return Arrays.equals(content, Files.readAllBytes(path));
+  }
+
+  /**
+   * Returns the original offsets of all offsets in the given file.
+   *
+   * @param path Path to the file.
+   * @param length Length of the file.
+   * @return Original offsets indexed by offset.
+   */
+  private int[] originalOffsets(Path path, int length) {
+    int[] offsets = new int[length + 1];
+    for (int offset = 0; offset <= length; offset++) {
+      offsets[offset] = context.offsetHandler.getOriginalOffset(path, offset);
+    }
+    return offsets;
+  }
+
+  /**
+   * Asserts that no offset change is recorded for the given file.
+   *
+   * @param path Path to the file.
+   * @param length Length of the file.
+   */
+  private void assertNoOffsetChanges(Path path, int length) {
+    for (int offset = 0; offset <= length; offset++) {
+      Assert.assertEquals(offset, context.offsetHandler.getOriginalOffset(path, offset));
+    }
+  }
+}
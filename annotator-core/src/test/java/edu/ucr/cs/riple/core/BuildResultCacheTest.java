@@ -0,0 +1,165 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Nima Karimipour
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.ucr.cs.riple.core;
+
+import edu.ucr.cs.riple.core.cache.BuildResultCache;
+import edu.ucr.cs.riple.core.tools.CoreTestHelper;
+import edu.ucr.cs.riple.core.tools.Utility;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.BooleanSupplier;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class BuildResultCacheTest {
+
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  /** Root of tests. */
+  private Path root;
+
+  /** Path to the errors serialized by the checker for the target module. */
+  private Path errors;
+
+  private Context context;
+  private BuildResultCache cache;
+
+  @Before
+  public void init() {
+    root = temporaryFolder.getRoot().toPath();
+    CoreTestHelper helper = new CoreTestHelper(root, root).onEmptyProject();
+    Path configPath = root.resolve("context.json");
+    helper.makeAnnotatorConfigFile(configPath);
+    Utility.runTestWithMockedBuild(root, () -> context = new Context(new Config(configPath)));
+    errors = context.targetConfiguration.dir.resolve("errors.tsv");
+    cache = new BuildResultCache(context, context.targetModuleInfo, root.resolve("cache"), 2);
+  }
+
+  @Test
+  public void restoresOutputsOfCachedBuild() {
+    Assert.assertTrue(cache.run("a", build("A", true)));
+    Utility.createAFileWithContent(errors, "B");
+    // Result of the cached build is returned without running the build.
+    Assert.assertTrue(cache.run("a", this::failIfBuilt));
+    Assert.assertEquals("A", readErrors());
+    Assert.assertEquals(1, cache.getHits());
+    Assert.assertEquals(1, cache.getMisses());
+  }
+
+  @Test
+  public void restoresMissingOutputs() {
+    Assert.assertFalse(cache.run("a", () -> false));
+    Utility.createAFileWithContent(errors, "B");
+    Assert.assertFalse(cache.run("a", this::failIfBuilt));
+    Assert.assertFalse(Files.exists(errors));
+  }
+
+  @Test
+  public void separatesVariants() {
+    cache.run("a", build("A", false));
+    cache.run("b", build("B", false));
+    cache.run("a", this::failIfBuilt);
+    Assert.assertEquals("A", readErrors());
+    cache.run("b", this::failIfBuilt);
+    Assert.assertEquals("B", readErrors());
+  }
+
+  @Test
+  public void evictsLeastRecentlyUsedEntry() {
+    cache.run("a", build("A", false));
+    cache.run("b", build("B", false));
+    // Access "a", so that "b" is the least recently used entry.
+    cache.run("a", this::failIfBuilt);
+    cache.run("c", build("C", false));
+    Assert.assertEquals(2, root.resolve("cache").toFile().list().length);
+    cache.run("a", this::failIfBuilt);
+    cache.run("c", this::failIfBuilt);
+    Assert.assertEquals(3, cache.getMisses());
+    // "b" is evicted and is built again.
+    cache.run("b", build("B", false));
+    Assert.assertEquals(4, cache.getMisses());
+    Assert.assertEquals(3, cache.getHits());
+  }
+
+  @Test
+  public void rebuildsOnChangedConfiguration() {
+    edu.ucr.cs.riple.core.util.Utility.setScannerCheckerActivation(
+        context.config, context.targetConfiguration, false);
+    cache.run("a", build("A", false));
+    // Rewriting the same configuration does not invalidate the entry.
+    edu.ucr.cs.riple.core.util.Utility.setScannerCheckerActivation(
+        context.config, context.targetConfiguration, false);
+    cache.run("a", this::failIfBuilt);
+    edu.ucr.cs.riple.core.util.Utility.setScannerCheckerActivation(
+        context.config, context.targetConfiguration, true);
+    cache.run("a", build("A", false));
+    Assert.assertEquals(1, cache.getHits());
+    Assert.assertEquals(2, cache.getMisses());
+  }
+
+  /**
+   * Returns a build which serializes the given errors content.
+   *
+   * @param content Content of the serialized errors.
+   * @param result Value returned by the build.
+   * @return The build.
+   */
+  private BooleanSupplier build(String content, boolean result) {
+    return () -> {
+      Utility.createAFileWithContent(errors, content);
+      return result;
+    };
+  }
+
+  /**
+   * Build which must not run, since its result is expected to be restored from the cache.
+   *
+   * @return Never returns.
+   */
+  private boolean failIfBuilt() {
+    throw new AssertionError("Build is expected to be restored from the cache.");
+  }
+
+  /**
+   * Reads the serialized errors of the target module.
+   *
+   * @return Content of the serialized errors.
+   */
+  private String readErrors() {
+    try {
+      return Files.readString(errors, Charset.defaultCharset());
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
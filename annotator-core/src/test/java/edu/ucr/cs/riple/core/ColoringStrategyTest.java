@@ -0,0 +1,205 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Nima Karimipour
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.ucr.cs.riple.core;
+
+import edu.ucr.cs.riple.core.evaluators.graph.ColoringStrategy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class ColoringStrategyTest {
+
+  @Test
+  public void validColoringOnRandomGraphs() {
+    Random random = new Random(2024);
+    for (int trial = 0; trial < 200; trial++) {
+      int size = 1 + random.nextInt(40);
+      double density = random.nextDouble();
+      int[][] adj = randomGraph(size, density, random);
+      int best = Integer.MAX_VALUE;
+      for (ColoringStrategy strategy : ColoringStrategy.values()) {
+        int[] colors = strategy.color(adj);
+        verifyColoring(strategy, adj, colors);
+        if (strategy != ColoringStrategy.BEST) {
+          best = Math.min(best, numberOfColors(colors));
+        }
+      }
+      Assert.assertEquals(best, numberOfColors(ColoringStrategy.BEST.color(adj)));
+    }
+  }
+
+  @Test
+  public void graphWithoutEdges() {
+    int[][] adj = new int[5][0];
+    for (ColoringStrategy strategy : ColoringStrategy.values()) {
+      int[] colors = strategy.color(adj);
+      Assert.assertArrayEquals(new int[5], colors);
+    }
+  }
+
+  @Test
+  public void emptyGraph() {
+    for (ColoringStrategy strategy : ColoringStrategy.values()) {
+      Assert.assertEquals(0, strategy.color(new int[0][]).length);
+    }
+  }
+
+  @Test
+  public void completeGraph() {
+    int size = 6;
+    int[][] adj = new int[size][];
+    for (int u = 0; u < size; u++) {
+      List<Integer> neighbours = new ArrayList<>();
+      for (int v = 0; v < size; v++) {
+        if (u != v) {
+          neighbours.add(v);
+        }
+      }
+      adj[u] = neighbours.stream().mapToInt(Integer::intValue).toArray();
+    }
+    for (ColoringStrategy strategy : ColoringStrategy.values()) {
+      int[] colors = strategy.color(adj);
+      verifyColoring(strategy, adj, colors);
+      Assert.assertEquals(size, numberOfColors(colors));
+    }
+  }
+
+  @Test
+  public void crownGraph() {
+    // Crown graph on 2n nodes, node 2i is connected to every node 2j + 1 where i != j. Greedy
+    // coloring in node order uses n colors, while the graph is bipartite.
+    int n = 5;
+    int[][] adj = new int[2 * n][];
+    for (int i = 0; i < n; i++) {
+      int[] left = new int[n - 1];
+      int[] right = new int[n - 1];
+      int index = 0;
+      for (int j = 0; j < n; j++) {
+        if (i != j) {
+          left[index] = 2 * j + 1;
+          right[index++] = 2 * j;
+        }
+      }
+      adj[2 * i] = left;
+      adj[2 * i + 1] = right;
+    }
+    Assert.assertEquals(n, numberOfColors(ColoringStrategy.GREEDY.color(adj)));
+    Assert.assertEquals(n, numberOfColors(ColoringStrategy.LARGEST_FIRST.color(adj)));
+    Assert.assertEquals(2, numberOfColors(ColoringStrategy.DSATUR.color(adj)));
+    Assert.assertEquals(2, numberOfColors(ColoringStrategy.BEST.color(adj)));
+  }
+
+  @Test
+  public void starGraph() {
+    // Center of the star is the last node, greedy coloring in node order uses two colors as well.
+    int leaves = 6;
+    int[][] adj = new int[leaves + 1][];
+    int[] center = new int[leaves];
+    for (int i = 0; i < leaves; i++) {
+      adj[i] = new int[] {leaves};
+      center[i] = i;
+    }
+    adj[leaves] = center;
+    int[] colors = ColoringStrategy.LARGEST_FIRST.color(adj);
+    verifyColoring(ColoringStrategy.LARGEST_FIRST, adj, colors);
+    Assert.assertEquals(0, colors[leaves]);
+    Assert.assertEquals(2, numberOfColors(colors));
+  }
+
+  @Test
+  public void parseStrategy() {
+    Assert.assertEquals(ColoringStrategy.GREEDY, ColoringStrategy.parseStrategy("greedy"));
+    Assert.assertEquals(
+        ColoringStrategy.LARGEST_FIRST, ColoringStrategy.parseStrategy("LARGEST_FIRST"));
+    Assert.assertEquals(ColoringStrategy.DSATUR, ColoringStrategy.parseStrategy("DSatur"));
+    Assert.assertEquals(ColoringStrategy.BEST, ColoringStrategy.parseStrategy("best"));
+    Assert.assertThrows(
+        IllegalArgumentException.class, () -> ColoringStrategy.parseStrategy("random"));
+  }
+
+  /**
+   * Creates a random undirected graph.
+   *
+   * @param size Number of nodes.
+   * @param density Probability of an edge between two nodes.
+   * @param random Source of randomness.
+   * @return Adjacency lists of the graph.
+   */
+  private static int[][] randomGraph(int size, double density, Random random) {
+    List<List<Integer>> neighbours = new ArrayList<>();
+    for (int u = 0; u < size; u++) {
+      neighbours.add(new ArrayList<>());
+    }
+    for (int u = 0; u < size; u++) {
+      for (int v = u + 1; v < size; v++) {
+        if (random.nextDouble() < density) {
+          neighbours.get(u).add(v);
+          neighbours.get(v).add(u);
+        }
+      }
+    }
+    return neighbours.stream()
+        .map(list -> list.stream().mapToInt(Integer::intValue).toArray())
+        .toArray(int[][]::new);
+  }
+
+  /**
+   * Verifies that no two adjacent nodes have the same color and colors are consecutive integers
+   * starting from zero.
+   *
+   * @param strategy Strategy which produced the coloring.
+   * @param adj Adjacency lists of the graph.
+   * @param colors Colors of nodes.
+   */
+  private static void verifyColoring(ColoringStrategy strategy, int[][] adj, int[] colors) {
+    Assert.assertEquals(adj.length, colors.length);
+    for (int u = 0; u < adj.length; u++) {
+      for (int v : adj[u]) {
+        Assert.assertNotEquals(strategy + " colored adjacent nodes equally", colors[u], colors[v]);
+      }
+    }
+    boolean[] used = new boolean[numberOfColors(colors)];
+    Arrays.stream(colors).forEach(color -> used[color] = true);
+    for (boolean isUsed : used) {
+      Assert.assertTrue(strategy + " skipped a color", isUsed);
+    }
+  }
+
+  /**
+   * Returns the number of distinct colors in the given coloring.
+   *
+   * @param colors Colors of nodes.
+   * @return Number of colors.
+   */
+  private static int numberOfColors(int[] colors) {
+    return Arrays.stream(colors).max().orElse(-1) + 1;
+  }
+}
@@ -0,0 +1,245 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Nima Karimipour
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.ucr.cs.riple.core;
+
+import com.google.common.collect.ImmutableSet;
+import edu.ucr.cs.riple.core.cache.ModuleSnapshot;
+import edu.ucr.cs.riple.core.tools.CoreTestHelper;
+import edu.ucr.cs.riple.core.tools.Utility;
+import edu.ucr.cs.riple.scanner.Serializer;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class ModuleSnapshotTest {
+
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  /** Root of tests. */
+  private Path root;
+
+  /** Source file listed in the argument file. */
+  private Path source;
+
+  /** Source file only observed by Scanner. */
+  private Path observedSource;
+
+  /** Jar listed in the classpath of the argument file. */
+  private Path jar;
+
+  /** Class directory listed in the classpath of the argument file. */
+  private Path classes;
+
+  /** Javac argument file of the target module. */
+  private Path argsFile;
+
+  /** Path to the class records serialized by Scanner for the target module. */
+  private Path classRecords;
+
+  private Context context;
+
+  @Before
+  public void init() {
+    root = temporaryFolder.getRoot().toPath();
+    Path inputs = root.resolve("inputs");
+    source = inputs.resolve("src").resolve("test").resolve("A.java");
+    observedSource = inputs.resolve("gen").resolve("test").resolve("B.java");
+    jar = inputs.resolve("lib").resolve("dep.jar");
+    classes = inputs.resolve("classes");
+    argsFile = inputs.resolve("javac.args");
+    write(source, "package test; class A {}");
+    write(observedSource, "package test; class B {}");
+    write(jar, "jar");
+    write(classes.resolve("test").resolve("C.class"), "class");
+    write(
+        argsFile,
+        String.join(
+            "\n", "-cp", jar + File.pathSeparator + classes, "-d", "out", source.toString()));
+    context = createContext(root, argsFile);
+    classRecords = context.targetConfiguration.dir.resolve(Serializer.CLASS_RECORD_FILE_NAME);
+    write(
+        classRecords, "HEADER\ntest.A\t" + source + "\ntest.B\t" + observedSource + "\n");
+  }
+
+  @Test
+  public void restoresOutputsOfUnchangedInputs() {
+    snapshot().store();
+    Utility.createAFileWithContent(classRecords, "HEADER\n");
+    Assert.assertTrue(snapshot().restore());
+    Assert.assertTrue(readClassRecords().contains("test.B"));
+  }
+
+  @Test
+  public void missingSnapshotIsNotRestored() {
+    Assert.assertFalse(snapshot().restore());
+  }
+
+  @Test
+  public void invalidatedOnChangedSourceOfArgsFile() {
+    snapshot().store();
+    write(source, "package test; class A { int f; }");
+    Assert.assertFalse(snapshot().restore());
+  }
+
+  @Test
+  public void invalidatedOnChangedObservedSource() {
+    snapshot().store();
+    write(observedSource, "package test; class B { int f; }");
+    Assert.assertFalse(snapshot().restore());
+  }
+
+  @Test
+  public void invalidatedOnAddedSource() {
+    snapshot().store();
+    write(source.resolveSibling("D.java"), "package test; class D {}");
+    Assert.assertFalse(snapshot().restore());
+  }
+
+  @Test
+  public void invalidatedOnChangedJarContent() {
+    snapshot().store();
+    // Same size, only the digest tells the contents apart.
+    write(jar, "JAR");
+    Assert.assertTrue(jar.toFile().setLastModified(jar.toFile().lastModified() + 10_000));
+    Assert.assertFalse(snapshot().restore());
+  }
+
+  @Test
+  public void validOnTouchedJarWithSameContent() {
+    snapshot().store();
+    Assert.assertTrue(jar.toFile().setLastModified(jar.toFile().lastModified() + 10_000));
+    Assert.assertTrue(snapshot().restore());
+  }
+
+  @Test
+  public void invalidatedOnChangedClassDirectory() {
+    snapshot().store();
+    write(classes.resolve("test").resolve("D.class"), "class");
+    Assert.assertFalse(snapshot().restore());
+  }
+
+  @Test
+  public void invalidatedOnChangedArgsFile() {
+    snapshot().store();
+    Utility.appendToFile(argsFile, "\n-g");
+    Assert.assertFalse(snapshot().restore());
+  }
+
+  @Test
+  public void invalidatedOnAddedJarInWildcardDirectory() {
+    write(
+        argsFile,
+        String.join(
+            "\n",
+            "-cp",
+            jar.getParent().resolve("*").toString(),
+            "-d",
+            "out",
+            source.toString()));
+    snapshot().store();
+    Assert.assertTrue(snapshot().restore());
+    write(jar.resolveSibling("other.jar"), "other");
+    Assert.assertFalse(snapshot().restore());
+  }
+
+  @Test
+  public void disabledWithoutArgsFile() {
+    context = createContext(root.resolve("without-args-file"), null);
+    Utility.createAFileWithContent(
+        context.targetConfiguration.dir.resolve(Serializer.CLASS_RECORD_FILE_NAME), "HEADER\n");
+    snapshot().store();
+    Assert.assertFalse(Files.exists(root.resolve("snapshots")));
+    Assert.assertFalse(snapshot().restore());
+  }
+
+  /**
+   * Creates a context for an empty project in the given directory with the given javac argument
+   * file.
+   *
+   * @param dir Directory of the project.
+   * @param argsFile Path to the javac argument file, or null.
+   * @return The context.
+   */
+  private Context createContext(Path dir, Path argsFile) {
+    CoreTestHelper helper =
+        new CoreTestHelper(dir, dir).onEmptyProject().withCompilerArgsFile(argsFile);
+    Path configPath = dir.resolve("context.json");
+    helper.makeAnnotatorConfigFile(configPath);
+    Context[] created = new Context[1];
+    Utility.runTestWithMockedBuild(dir, () -> created[0] = new Context(new Config(configPath)));
+    return created[0];
+  }
+
+  /**
+   * Returns a snapshot of the target module in the test root.
+   *
+   * @return The snapshot.
+   */
+  private ModuleSnapshot snapshot() {
+    return new ModuleSnapshot(
+        context,
+        ImmutableSet.of(context.targetConfiguration),
+        "build",
+        root.resolve("snapshots"));
+  }
+
+  /**
+   * Writes the given content to the given file, creating its parent directories.
+   *
+   * @param path Path to file.
+   * @param content Content of file.
+   */
+  private static void write(Path path, String content) {
+    try {
+      Files.createDirectories(path.getParent());
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    Utility.createAFileWithContent(path, content);
+  }
+
+  /**
+   * Reads the class records serialized for the target module.
+   *
+   * @return Contents of the class records.
+   */
+  private String readClassRecords() {
+    try {
+      return Files.readString(classRecords, Charset.defaultCharset());
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
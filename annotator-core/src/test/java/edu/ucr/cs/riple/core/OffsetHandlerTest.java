@@ -0,0 +1,99 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Nima Karimipour
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.ucr.cs.riple.core;
+
+import com.google.common.collect.ImmutableSortedSet;
+import edu.ucr.cs.riple.injector.offsets.FileOffsetStore;
+import edu.ucr.cs.riple.injector.offsets.OffsetChange;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class OffsetHandlerTest {
+
+  /** Path to a source file modified in tests. */
+  private static final Path PATH = Paths.get("/project/src/test/A.java");
+
+  /** Path to a source file not modified in tests. */
+  private static final Path OTHER = Paths.get("/project/src/test/B.java");
+
+  @Test
+  public void childFallsBackToParent() {
+    Context.OffsetHandler parent = new Context.OffsetHandler();
+    parent.updateStateWithRecentChanges(Set.of(store(new OffsetChange(10, 5))));
+    Context.OffsetHandler child = new Context.OffsetHandler(parent);
+    Assert.assertEquals(15, parent.getOriginalOffset(PATH, 20));
+    for (int offset = 0; offset < 40; offset++) {
+      Assert.assertEquals(
+          parent.getOriginalOffset(PATH, offset), child.getOriginalOffset(PATH, offset));
+      Assert.assertEquals(offset, child.getOriginalOffset(OTHER, offset));
+    }
+  }
+
+  @Test
+  public void childChangesAreTranslatedBeforeParentChanges() {
+    Context.OffsetHandler parent = new Context.OffsetHandler();
+    FileOffsetStore parentStore = store(new OffsetChange(10, 5));
+    parent.updateStateWithRecentChanges(Set.of(parentStore));
+    Context.OffsetHandler child = new Context.OffsetHandler(parent);
+    FileOffsetStore childStore = store(new OffsetChange(2, 3));
+    child.updateStateWithRecentChanges(Set.of(childStore));
+    Assert.assertEquals(15, child.getOriginalOffset(PATH, 23));
+    for (int offset = 0; offset < 40; offset++) {
+      Assert.assertEquals(
+          parentStore.getOriginalOffset(childStore.getOriginalOffset(offset)),
+          child.getOriginalOffset(PATH, offset));
+    }
+    // Changes of the child are not visible to the parent.
+    Assert.assertEquals(18, parent.getOriginalOffset(PATH, 23));
+  }
+
+  @Test
+  public void transientChangesAreDropped() {
+    Context.OffsetHandler handler = new Context.OffsetHandler();
+    handler.updateStateWithRecentChanges(Set.of(store(new OffsetChange(10, 5))));
+    handler.updateStateWithTransientChanges(Set.of(store(new OffsetChange(2, 3))));
+    Assert.assertEquals(15, handler.getOriginalOffset(PATH, 23));
+    handler.dropTransientChanges();
+    Assert.assertEquals(18, handler.getOriginalOffset(PATH, 23));
+  }
+
+  /**
+   * Creates an offset store of {@link #PATH} with the given offset change.
+   *
+   * @param change Offset change.
+   * @return The offset store.
+   */
+  private static FileOffsetStore store(OffsetChange change) {
+    FileOffsetStore store = new FileOffsetStore(new int[] {0, 1000}, PATH);
+    store.updateStateWithNewOffsetChanges(ImmutableSortedSet.of(change));
+    return store;
+  }
+}
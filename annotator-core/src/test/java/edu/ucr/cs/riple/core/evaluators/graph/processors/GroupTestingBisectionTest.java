@@ -0,0 +1,166 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Nima Karimipour
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.ucr.cs.riple.core.evaluators.graph.processors;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class GroupTestingBisectionTest {
+
+  @Test
+  public void noConflictsResolvedInOneBatch() {
+    Batches batches = new Batches(Map.of());
+    Assert.assertEquals(1, GroupTestingConflictGraphProcessor.bisect(range(100), batches));
+    Assert.assertEquals(range(100), batches.resolvedInOrder());
+  }
+
+  @Test
+  public void emptyItems() {
+    Batches batches = new Batches(Map.of());
+    Assert.assertEquals(0, GroupTestingConflictGraphProcessor.bisect(List.of(), batches));
+  }
+
+  @Test
+  public void conflictingPairIsSeparated() {
+    Batches batches = new Batches(Map.of(0, Set.of(1), 1, Set.of(0)));
+    int processed = GroupTestingConflictGraphProcessor.bisect(range(2), batches);
+    // Both items are unresolved in the first batch and each is resolved on its own.
+    Assert.assertEquals(3, processed);
+    Assert.assertEquals(Set.of(0, 1), new HashSet<>(batches.resolvedInOrder()));
+  }
+
+  @Test
+  public void singleUnresolvedItemIsNotPaddedWithEmptyBatch() {
+    // Item 0 is unresolved in any batch with more than one item.
+    Map<Integer, Set<Integer>> conflicts = new HashMap<>();
+    conflicts.put(0, Set.of(1, 2, 3));
+    Batches batches = new Batches(conflicts);
+    int processed = GroupTestingConflictGraphProcessor.bisect(range(4), batches);
+    Assert.assertEquals(2, processed);
+    Assert.assertTrue(batches.sizes.stream().allMatch(size -> size > 0));
+  }
+
+  @Test
+  public void randomConflictsResolvedOnceWithFewBatches() {
+    Random random = new Random(2024);
+    for (int trial = 0; trial < 50; trial++) {
+      int size = 1 + random.nextInt(1024);
+      int pairs = random.nextInt(8);
+      Map<Integer, Set<Integer>> conflicts = new HashMap<>();
+      for (int i = 0; i < pairs; i++) {
+        int first = random.nextInt(size);
+        int second = random.nextInt(size);
+        if (first != second) {
+          conflicts.computeIfAbsent(first, k -> new HashSet<>()).add(second);
+          conflicts.computeIfAbsent(second, k -> new HashSet<>()).add(first);
+        }
+      }
+      Batches batches = new Batches(conflicts);
+      int processed = GroupTestingConflictGraphProcessor.bisect(range(size), batches);
+      List<Integer> resolved = batches.resolvedInOrder();
+      // Every item is resolved exactly once.
+      Assert.assertEquals(size, resolved.size());
+      Assert.assertEquals(size, new HashSet<>(resolved).size());
+      // Each batch with unresolved items spawns at most two batches on each level.
+      int levels = 32 - Integer.numberOfLeadingZeros(size);
+      Assert.assertTrue(processed <= 1 + 2 * conflicts.size() * levels);
+    }
+  }
+
+  @Test
+  public void unresolvedSingleItemIsRejected() {
+    Assert.assertThrows(
+        IllegalStateException.class,
+        () -> GroupTestingConflictGraphProcessor.bisect(List.of(0), batch -> batch));
+  }
+
+  /**
+   * Returns the list of integers from zero to the given size.
+   *
+   * @param size Size of the list.
+   * @return List of integers.
+   */
+  private static List<Integer> range(int size) {
+    return IntStream.range(0, size).boxed().collect(Collectors.toList());
+  }
+
+  /**
+   * Batch processor where an item is unresolved if another item in its batch conflicts with it,
+   * similar to nodes sharing a region where errors changed.
+   */
+  private static class Batches implements UnaryOperator<List<Integer>> {
+
+    /** Items conflicting with each item. */
+    private final Map<Integer, Set<Integer>> conflicts;
+
+    /** Resolved items of each processed batch. */
+    private final List<List<Integer>> resolved = new ArrayList<>();
+
+    /** Sizes of processed batches. */
+    private final List<Integer> sizes = new ArrayList<>();
+
+    private Batches(Map<Integer, Set<Integer>> conflicts) {
+      this.conflicts = conflicts;
+    }
+
+    @Override
+    public List<Integer> apply(List<Integer> batch) {
+      sizes.add(batch.size());
+      Set<Integer> members = new HashSet<>(batch);
+      List<Integer> unresolved = new ArrayList<>();
+      List<Integer> done = new ArrayList<>();
+      for (int item : batch) {
+        boolean conflicting =
+            conflicts.getOrDefault(item, Set.of()).stream()
+                .anyMatch(other -> other != item && members.contains(other));
+        (conflicting ? unresolved : done).add(item);
+      }
+      resolved.add(done);
+      return unresolved;
+    }
+
+    /**
+     * Returns all resolved items in the order they were resolved.
+     *
+     * @return Resolved items.
+     */
+    private List<Integer> resolvedInOrder() {
+      return resolved.stream().flatMap(List::stream).collect(Collectors.toList());
+    }
+  }
+}
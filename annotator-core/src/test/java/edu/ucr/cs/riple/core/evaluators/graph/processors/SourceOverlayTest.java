@@ -0,0 +1,225 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Nima Karimipour
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.ucr.cs.riple.core.evaluators.graph.processors;
+
+import edu.ucr.cs.riple.core.Config;
+import edu.ucr.cs.riple.core.Context;
+import edu.ucr.cs.riple.core.tools.CoreTestHelper;
+import edu.ucr.cs.riple.core.tools.Utility;
+import edu.ucr.cs.riple.injector.changes.AddAnnotation;
+import edu.ucr.cs.riple.injector.changes.AddMarkerAnnotation;
+import edu.ucr.cs.riple.injector.location.OnMethod;
+import edu.ucr.cs.riple.injector.offsets.FileOffsetStore;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class SourceOverlayTest {
+
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  /** Common root directory of source files of the overlay. */
+  private Path sourceRoot;
+
+  /** Root directory of the overlay. */
+  private Path overlayRoot;
+
+  /** Source file declaring {@code test.A}. */
+  private Path sourceA;
+
+  /** Source file declaring {@code test.B}. */
+  private Path sourceB;
+
+  private Context context;
+  private SourceOverlay overlay;
+
+  @Before
+  public void init() throws IOException {
+    Path root = temporaryFolder.getRoot().toPath();
+    CoreTestHelper helper = new CoreTestHelper(root, root).onEmptyProject();
+    Path configPath = root.resolve("context.json");
+    helper.makeAnnotatorConfigFile(configPath);
+    Utility.runTestWithMockedBuild(root, () -> context = new Context(new Config(configPath)));
+    sourceRoot = root.resolve("inputs").resolve("src");
+    overlayRoot = root.resolve("inputs").resolve("overlay");
+    sourceA = createSource(sourceRoot, "A", "foo");
+    sourceB = createSource(sourceRoot, "B", "bar");
+    overlay = new SourceOverlay(context, sourceRoot, overlayRoot);
+  }
+
+  @Test
+  public void injectsOnCopyAndKeepsOriginal() throws IOException {
+    byte[] original = Files.readAllBytes(sourceA);
+    Assert.assertTrue(overlay.isEmpty());
+    Set<FileOffsetStore> offsets = overlay.inject(Set.of(annotation(sourceA, "test.A", "foo()")));
+    Assert.assertArrayEquals(original, Files.readAllBytes(sourceA));
+    Path copy = overlay.resolve(sourceA);
+    Assert.assertNotEquals(sourceA, copy);
+    Assert.assertTrue(copy.startsWith(overlayRoot));
+    Assert.assertTrue(read(copy).contains("@Nullable"));
+    Assert.assertFalse(overlay.isEmpty());
+    // Offsets are reported for the original source file.
+    Assert.assertEquals(
+        Set.of(sourceA),
+        offsets.stream().map(FileOffsetStore::getPath).collect(Collectors.toSet()));
+    // Unmodified source files are read from their original path.
+    Assert.assertEquals(sourceB, overlay.resolve(sourceB));
+  }
+
+  @Test
+  public void laterChangesAreAppliedOnTheSameCopy() {
+    overlay.inject(Set.of(annotation(sourceA, "test.A", "foo()")));
+    Path copy = overlay.resolve(sourceA);
+    overlay.inject(Set.of(annotation(sourceA, "test.A", "baz()")));
+    Assert.assertEquals(copy, overlay.resolve(sourceA));
+    String content = read(copy);
+    Assert.assertEquals(2, content.split("@Nullable", -1).length - 1);
+  }
+
+  @Test
+  public void dropRemovesEveryCopy() throws IOException {
+    byte[] originalA = Files.readAllBytes(sourceA);
+    byte[] originalB = Files.readAllBytes(sourceB);
+    overlay.inject(
+        Set.of(annotation(sourceA, "test.A", "foo()"), annotation(sourceB, "test.B", "bar()")));
+    Path copyA = overlay.resolve(sourceA);
+    Path copyB = overlay.resolve(sourceB);
+    Assert.assertTrue(Files.exists(copyA));
+    Assert.assertTrue(Files.exists(copyB));
+    overlay.drop();
+    Assert.assertFalse(Files.exists(copyA));
+    Assert.assertFalse(Files.exists(copyB));
+    Assert.assertTrue(overlay.isEmpty());
+    Assert.assertEquals(sourceA, overlay.resolve(sourceA));
+    Assert.assertEquals(sourceB, overlay.resolve(sourceB));
+    Assert.assertArrayEquals(originalA, Files.readAllBytes(sourceA));
+    Assert.assertArrayEquals(originalB, Files.readAllBytes(sourceB));
+  }
+
+  @Test
+  public void injectsOnManySourceFilesConcurrently() throws IOException {
+    Map<Path, byte[]> originals = new HashMap<>();
+    Set<AddAnnotation> changes = new HashSet<>();
+    for (int i = 0; i < 32; i++) {
+      Path source = createSource(sourceRoot, "C" + i, "foo");
+      originals.put(source, Files.readAllBytes(source));
+      changes.add(annotation(source, "test.C" + i, "foo()"));
+    }
+    Assert.assertEquals(originals.size(), overlay.inject(changes).size());
+    // Every source file is copied to the overlay and no change is applied on the original.
+    for (Map.Entry<Path, byte[]> entry : originals.entrySet()) {
+      Path copy = overlay.resolve(entry.getKey());
+      Assert.assertTrue(copy.startsWith(overlayRoot));
+      Assert.assertTrue(read(copy).contains("@Nullable"));
+      Assert.assertArrayEquals(entry.getValue(), Files.readAllBytes(entry.getKey()));
+    }
+    overlay.drop();
+    try (Stream<Path> paths = Files.walk(overlayRoot)) {
+      Assert.assertTrue(paths.noneMatch(Files::isRegularFile));
+    }
+  }
+
+  @Test
+  public void skipsSourcesOutsideSourceRoot() throws IOException {
+    Path outside = createSource(temporaryFolder.getRoot().toPath().resolve("other"), "C", "qux");
+    byte[] original = Files.readAllBytes(outside);
+    Assert.assertTrue(overlay.inject(Set.of(annotation(outside, "test.C", "qux()"))).isEmpty());
+    Assert.assertTrue(overlay.isEmpty());
+    Assert.assertEquals(outside, overlay.resolve(outside));
+    Assert.assertArrayEquals(original, Files.readAllBytes(outside));
+  }
+
+  @Test
+  public void restoresPathsToOriginalSourceFiles() {
+    overlay.inject(Set.of(annotation(sourceA, "test.A", "foo()")));
+    Path output = temporaryFolder.getRoot().toPath().resolve("errors.tsv");
+    Utility.createAFileWithContent(output, "HEADER\n" + overlay.resolve(sourceA) + "\n");
+    overlay.restorePaths(output);
+    Assert.assertEquals("HEADER\n" + sourceA + "\n", read(output));
+  }
+
+  /**
+   * Creates a source file of class {@code test.<name>} with the given method and method {@code
+   * baz()} under the given root.
+   *
+   * @param root Root directory of the source file.
+   * @param name Simple name of the class.
+   * @param method Name of the method.
+   * @return Absolute normalized path to the created source file.
+   */
+  private static Path createSource(Path root, String name, String method) throws IOException {
+    Path path = root.resolve("test").resolve(name + ".java").toAbsolutePath().normalize();
+    Files.createDirectories(path.getParent());
+    Utility.createAFileWithContent(
+        path,
+        String.format(
+            "package test;\n\npublic class %s {\n  Object %s() {\n    return null;\n  }\n\n"
+                + "  Object baz() {\n    return null;\n  }\n}\n",
+            name, method));
+    return path;
+  }
+
+  /**
+   * Creates an annotation of {@code @javax.annotation.Nullable} on the given method.
+   *
+   * @param path Path to the source file.
+   * @param clazz Enclosing class of the method.
+   * @param method Signature of the method.
+   * @return The annotation.
+   */
+  private static AddAnnotation annotation(Path path, String clazz, String method) {
+    return new AddMarkerAnnotation(
+        new OnMethod(path, clazz, method), "javax.annotation.Nullable");
+  }
+
+  /**
+   * Reads the content of the given file.
+   *
+   * @param path Path to the file.
+   * @return Content of the file.
+   */
+  private static String read(Path path) {
+    try {
+      return Files.readString(path, Charset.defaultCharset());
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Nima Karimipour
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.ucr.cs.riple.core.evaluators.graph.processors;
+
+import com.google.common.collect.ImmutableMap;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class TrialWorkspaceTest {
+
+  /** Original checker configuration of the target module. */
+  private static final Path CHECKER = Paths.get("/project/annotator/0/checker.xml");
+
+  /** Original scanner configuration of the target module. */
+  private static final Path SCANNER = Paths.get("/project/annotator/0/scanner.xml");
+
+  /** Configuration paths of the target module mapped to the paths in a workspace. */
+  private static final ImmutableMap<Path, Path> CONFIG_PATHS =
+      ImmutableMap.of(
+          CHECKER, Paths.get("/project/annotator/workspaces/1/checker.xml"),
+          SCANNER, Paths.get("/project/annotator/workspaces/1/scanner.xml"));
+
+  @Test
+  public void relocatesCheckerAndScannerConfigPaths() {
+    String arg =
+        "-Xplugin:ErrorProne -XepDisableAllChecks"
+            + " -XepOpt:NullAway:FixSerializationConfigPath=/project/annotator/0/checker.xml"
+            + " -XepOpt:AnnotatorScanner:ConfigPath=/project/annotator/0/scanner.xml"
+            + " -Xep:NullAway:ERROR";
+    Assert.assertEquals(
+        "-Xplugin:ErrorProne -XepDisableAllChecks"
+            + " -XepOpt:NullAway:FixSerializationConfigPath="
+            + "/project/annotator/workspaces/1/checker.xml"
+            + " -XepOpt:AnnotatorScanner:ConfigPath=/project/annotator/workspaces/1/scanner.xml"
+            + " -Xep:NullAway:ERROR",
+        TrialWorkspace.relocateConfigPaths(arg, CONFIG_PATHS));
+  }
+
+  @Test
+  public void relocatesNonNormalizedConfigPath() {
+    Assert.assertEquals(
+        "-XepOpt:AnnotatorScanner:ConfigPath=/project/annotator/workspaces/1/scanner.xml",
+        TrialWorkspace.relocateConfigPaths(
+            "-XepOpt:AnnotatorScanner:ConfigPath=/project/annotator/1/../0/./scanner.xml",
+            CONFIG_PATHS));
+  }
+
+  @Test
+  public void keepsOtherErrorProneOptions() {
+    String arg =
+        "-Xplugin:ErrorProne -XepOpt:NullAway:AnnotatedPackages=test"
+            + " -XepOpt:NullAway:SerializeFixMetadata=true -XepExcludedPaths=.*/generated/.*";
+    Assert.assertEquals(arg, TrialWorkspace.relocateConfigPaths(arg, CONFIG_PATHS));
+    Assert.assertEquals(
+        "-classpath", TrialWorkspace.relocateConfigPaths("-classpath", CONFIG_PATHS));
+  }
+
+  @Test
+  public void keepsConfigPathsOfOtherFiles() {
+    String arg =
+        "-Xplugin:ErrorProne"
+            + " -XepOpt:NullAway:FixSerializationConfigPath=/project/annotator/1/checker.xml";
+    Assert.assertEquals(arg, TrialWorkspace.relocateConfigPaths(arg, CONFIG_PATHS));
+  }
+
+  @Test
+  public void relocatesPathContainingEquals() {
+    Path checker = Paths.get("/project/a=b/checker.xml");
+    Path relocated = Paths.get("/project/workspaces/c=d/checker.xml");
+    Assert.assertEquals(
+        "-Xplugin:ErrorProne -XepOpt:NullAway:FixSerializationConfigPath="
+            + "/project/workspaces/c=d/checker.xml -XepOpt:NullAway:AnnotatedPackages=test",
+        TrialWorkspace.relocateConfigPaths(
+            "-Xplugin:ErrorProne -XepOpt:NullAway:FixSerializationConfigPath="
+                + "/project/a=b/checker.xml -XepOpt:NullAway:AnnotatedPackages=test",
+            ImmutableMap.of(checker, relocated)));
+  }
+
+  @Test
+  public void replacementIsNotInterpretedAsGroupReference() {
+    Path relocated = Paths.get("/project/workspaces/$1/checker.xml");
+    Assert.assertEquals(
+        "-XepOpt:NullAway:FixSerializationConfigPath=/project/workspaces/$1/checker.xml",
+        TrialWorkspace.relocateConfigPaths(
+            "-XepOpt:NullAway:FixSerializationConfigPath=/project/annotator/0/checker.xml",
+            ImmutableMap.of(CHECKER, relocated)));
+  }
+}
@@ -0,0 +1,169 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Nima Karimipour
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.ucr.cs.riple.core.evaluators.graph.processors;
+
+import com.google.common.collect.ImmutableList;
+import edu.ucr.cs.riple.core.Config;
+import edu.ucr.cs.riple.core.Context;
+import edu.ucr.cs.riple.core.cache.TargetModuleCache;
+import edu.ucr.cs.riple.core.cache.downstream.VoidDownstreamImpactCache;
+import edu.ucr.cs.riple.core.checkers.nullaway.NullAway;
+import edu.ucr.cs.riple.core.evaluators.graph.ColoringStrategy;
+import edu.ucr.cs.riple.core.evaluators.graph.ConflictGraph;
+import edu.ucr.cs.riple.core.evaluators.graph.Node;
+import edu.ucr.cs.riple.core.evaluators.suppliers.TargetModuleSupplier;
+import edu.ucr.cs.riple.core.registries.index.Fix;
+import edu.ucr.cs.riple.core.tools.CoreTestHelper;
+import edu.ucr.cs.riple.core.tools.Utility;
+import edu.ucr.cs.riple.injector.changes.AddMarkerAnnotation;
+import edu.ucr.cs.riple.injector.location.OnMethod;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class WorkerPoolConflictGraphProcessorTest {
+
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  /** Root of tests. */
+  private Path root;
+
+  /** Source file of the target module, declaring {@code test.A}. */
+  private Path sourceA;
+
+  /** Source file of the target module, declaring {@code test.B}. */
+  private Path sourceB;
+
+  private Context context;
+  private ImmutableList<TrialWorkspace> workspaces;
+
+  @Before
+  public void init() throws IOException {
+    root = temporaryFolder.getRoot().toPath();
+    Path sources = root.resolve("inputs").resolve("src").resolve("test");
+    Files.createDirectories(sources);
+    sourceA = sources.resolve("A.java");
+    sourceB = sources.resolve("B.java");
+    Path nullable = sources.resolve("Nullable.java");
+    Utility.createAFileWithContent(
+        sourceA, "package test;\n\npublic class A {\n  Object foo() {\n    return null;\n  }\n}\n");
+    Utility.createAFileWithContent(
+        sourceB, "package test;\n\npublic class B {\n  Object bar() {\n    return null;\n  }\n}\n");
+    Utility.createAFileWithContent(nullable, "package test;\n\npublic @interface Nullable {}\n");
+    Path argsFile = root.resolve("inputs").resolve("javac.args");
+    Utility.createAFileWithContent(
+        argsFile,
+        String.join(
+            "\n",
+            "-d",
+            root.resolve("inputs").resolve("out").toString(),
+            sourceA.toString(),
+            sourceB.toString(),
+            nullable.toString()));
+    CoreTestHelper helper =
+        new CoreTestHelper(root, root).onEmptyProject().withCompilerArgsFile(argsFile);
+    Path configPath = root.resolve("context.json");
+    helper.makeAnnotatorConfigFile(configPath);
+    Utility.runTestWithMockedBuild(root, () -> context = new Context(new Config(configPath)));
+    workspaces = TrialWorkspace.createWorkspaces(context, 2);
+    // No checker runs in trial builds, all builds report no errors.
+    Utility.createAFileWithContent(
+        context.targetConfiguration.dir.resolve(NullAway.ERRORS_FILE_NAME), "HEADER\n");
+    workspaces.forEach(
+        workspace ->
+            Utility.createAFileWithContent(
+                workspace.configuration.dir.resolve(NullAway.ERRORS_FILE_NAME), "HEADER\n"));
+  }
+
+  @Test
+  public void runsTrialOnWorkspace() throws IOException {
+    byte[] contentA = Files.readAllBytes(sourceA);
+    byte[] contentB = Files.readAllBytes(sourceB);
+    ConflictGraph graph = new ConflictGraph(ColoringStrategy.GREEDY);
+    Node nodeA = graph.addNodeToVertices(fix(sourceA, "test.A", "foo()"));
+    Node nodeB = graph.addNodeToVertices(fix(sourceB, "test.B", "bar()"));
+    nodeA.effect = -1;
+    nodeB.effect = -1;
+    TargetModuleSupplier supplier =
+        new TargetModuleSupplier(
+            context, new TargetModuleCache(), new VoidDownstreamImpactCache());
+    new WorkerPoolConflictGraphProcessor(
+            context, context.targetCompilerRunner, supplier, workspaces)
+        .process(graph);
+    // Status of both nodes is updated from the output of the trial build.
+    Assert.assertEquals(0, nodeA.effect);
+    Assert.assertEquals(0, nodeB.effect);
+    // Fixes are compiled in the workspace.
+    List<Path> classes = compiledClasses("A.class");
+    Assert.assertEquals(1, classes.size());
+    Assert.assertTrue(
+        new String(Files.readAllBytes(classes.get(0)), StandardCharsets.ISO_8859_1)
+            .contains("Ltest/Nullable;"));
+    // Original source files are untouched and the overlays are dropped.
+    Assert.assertArrayEquals(contentA, Files.readAllBytes(sourceA));
+    Assert.assertArrayEquals(contentB, Files.readAllBytes(sourceB));
+    Assert.assertTrue(compiledClasses("A.java").isEmpty());
+    Assert.assertFalse(Files.exists(root.resolve("inputs").resolve("out")));
+  }
+
+  /**
+   * Creates a fix adding {@code @test.Nullable} on the given method.
+   *
+   * @param path Path to the source file.
+   * @param clazz Enclosing class of the method.
+   * @param method Signature of the method.
+   * @return The fix.
+   */
+  private static Fix fix(Path path, String clazz, String method) {
+    return new Fix(new AddMarkerAnnotation(new OnMethod(path, clazz, method), "test.Nullable"));
+  }
+
+  /**
+   * Returns files with the given name in the workspaces.
+   *
+   * @param name Name of the file.
+   * @return Paths to the files.
+   */
+  private List<Path> compiledClasses(String name) throws IOException {
+    try (Stream<Path> paths = Files.walk(context.config.globalDir.resolve("workspaces"))) {
+      return paths
+          .filter(path -> path.getFileName().toString().equals(name))
+          .collect(Collectors.toList());
+    }
+  }
+}
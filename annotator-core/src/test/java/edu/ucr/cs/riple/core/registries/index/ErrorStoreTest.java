@@ -0,0 +1,117 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Nima Karimipour
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.ucr.cs.riple.core.registries.index;
+
+import edu.ucr.cs.riple.core.checkers.nullaway.NullAwayError;
+import edu.ucr.cs.riple.core.registries.region.Region;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class ErrorStoreTest {
+
+  @Test
+  public void duplicatesCancelOneToOne() {
+    Error a = error("a", 0);
+    Error b = error("b", 1);
+    Result result = ErrorStore.compareByList(List.of(a, b), List.of(a, a, b, a));
+    Assert.assertEquals(2, result.size);
+    Assert.assertEquals(List.of(a, a), new ArrayList<>(result.dif));
+  }
+
+  @Test
+  public void removedItemsAreNotReported() {
+    Error a = error("a", 0);
+    Error b = error("b", 1);
+    Result result = ErrorStore.compareByList(List.of(a, b, b), List.of(b));
+    Assert.assertEquals(-2, result.size);
+    Assert.assertTrue(result.dif.isEmpty());
+  }
+
+  @Test
+  public void randomListsMatchListDifference() {
+    Random random = new Random(2024);
+    for (int trial = 0; trial < 500; trial++) {
+      int kinds = 1 + random.nextInt(6);
+      List<Error> previous = randomErrors(random, kinds);
+      List<Error> current = randomErrors(random, kinds);
+      Result result = ErrorStore.compareByList(previous, current);
+      Assert.assertEquals(current.size() - previous.size(), result.size);
+      Assert.assertEquals(listDifference(previous, current), new ArrayList<>(result.dif));
+    }
+  }
+
+  /**
+   * Computes (A - B) by removing the first occurrence of each item of B from A, which is the
+   * quadratic list difference the multiset difference replaced.
+   *
+   * @param previousItems B.
+   * @param currentItems A.
+   * @return Items remaining in A.
+   */
+  private static List<Error> listDifference(
+      Collection<Error> previousItems, Collection<Error> currentItems) {
+    List<Error> temp = new ArrayList<>(currentItems);
+    previousItems.forEach(temp::remove);
+    return temp;
+  }
+
+  /**
+   * Creates a random list of errors drawn from the given number of distinct errors. Equal errors
+   * are created as separate instances.
+   *
+   * @param random Random generator.
+   * @param kinds Number of distinct errors.
+   * @return List of errors.
+   */
+  private static List<Error> randomErrors(Random random, int kinds) {
+    int size = random.nextInt(20);
+    List<Error> errors = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      int kind = random.nextInt(kinds);
+      errors.add(error("message " + kind, kind));
+    }
+    return errors;
+  }
+
+  /**
+   * Creates an error with the given message and offset without any resolving fix.
+   *
+   * @param message Error message.
+   * @param offset Error offset.
+   * @return Created error.
+   */
+  private static Error error(String message, int offset) {
+    return new NullAwayError(
+        "DEREFERENCE_NULLABLE", message, new Region("com.test.A", "foo()"), offset, Set.of());
+  }
+}
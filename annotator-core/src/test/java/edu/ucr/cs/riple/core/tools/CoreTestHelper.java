@@ -115,6 +115,9 @@ public class CoreTestHelper {
    */
   private boolean jSpecifyModeEnabled;
 
+  /** Javac argument file of the target module. If null, in process compilation is disabled. */
+  private Path compilerArgsFile;
+
   public CoreTestHelper(Path projectPath, Path outDirPath) {
     this.projectPath = projectPath;
     this.outDirPath = outDirPath;
@@ -248,6 +251,17 @@ public class CoreTestHelper {
     return this;
   }
 
+  /**
+   * Sets the javac argument file of the target module.
+   *
+   * @param compilerArgsFile Path to the javac argument file.
+   * @return This instance of {@link CoreTestHelper}.
+   */
+  public CoreTestHelper withCompilerArgsFile(Path compilerArgsFile) {
+    this.compilerArgsFile = compilerArgsFile;
+    return this;
+  }
+
   /**
    * Enables JSpecify mode.
    *
@@ -467,6 +481,7 @@ public class CoreTestHelper {
     builder.sourceTypes.add(SourceType.LOMBOK);
     builder.cache = true;
     builder.languageLevel = languageLevel;
+    builder.compilerArgsFile = compilerArgsFile;
     builder.useCacheImpact = !getEnvironmentVariable("ANNOTATOR_TEST_DISABLE_CACHING");
     builder.useParallelProcessor =
         !getEnvironmentVariable("ANNOTATOR_TEST_DISABLE_PARALLEL_PROCESSING");
@@ -153,6 +153,7 @@ public class Utility {
                 Stream.of(
                         Serializer.NON_NULL_ELEMENTS_FILE_NAME,
                         Serializer.CLASS_RECORD_FILE_NAME,
+                        Serializer.FIELD_DECLARATION_RECORD_FILE_NAME,
                         Serializer.METHOD_IMPACTED_REGION_FILE_NAME,
                         Serializer.FIELD_IMPACTED_REGION_FILE_NAME,
                         Serializer.METHOD_RECORD_FILE_NAME)
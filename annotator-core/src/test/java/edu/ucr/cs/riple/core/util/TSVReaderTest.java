@@ -0,0 +1,173 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Nima Karimipour
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.ucr.cs.riple.core.util;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class TSVReaderTest {
+
+  /** Size in bytes above which files are memory-mapped by the reader. */
+  private static final int MAPPING_THRESHOLD = 1 << 22;
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void trailingEmptyFieldsAreRemoved() throws IOException {
+    String content = "a\tb\t\t\nc\t\td\n\n\t\t\n\tx\n";
+    Assert.assertEquals(split(content, false), read(content, false));
+    Assert.assertEquals(
+        List.of(
+            List.of("a", "b"), List.of("c", "", "d"), List.of(""), List.of(), List.of("", "x")),
+        read(content, false));
+  }
+
+  @Test
+  public void carriageReturnsAreStripped() throws IOException {
+    String content = "header\r\na\tb\r\nc\t\r\nd";
+    Assert.assertEquals(
+        List.of(List.of("a", "b"), List.of("c"), List.of("d")), read(content, true));
+    Assert.assertEquals(split(content, true), read(content, true));
+  }
+
+  @Test
+  public void missingFinalLineFeed() throws IOException {
+    Assert.assertEquals(List.of(List.of("a"), List.of("b", "c")), read("a\nb\tc", false));
+    Assert.assertEquals(List.of(), read("", false));
+    Assert.assertEquals(List.of(), read("header", true));
+  }
+
+  @Test
+  public void nonAsciiRowsAreDecoded() throws IOException {
+    String content = "caf\u00e9\t\u00fcber\t\nascii\tonly\n\u00e9\r\n";
+    Assert.assertEquals(split(content, false), read(content, false));
+  }
+
+  @Test
+  public void mappedAndReadFilesMatch() throws IOException {
+    StringBuilder row = new StringBuilder();
+    row.append("a\tbb\t\tccc\t\t\n").append("d\u00e9\t\u00e9\r\n").append("\n").append("x\ty\r\n");
+    StringBuilder content = new StringBuilder("header\n");
+    while (content.length() <= MAPPING_THRESHOLD) {
+      content.append(row);
+    }
+    content.append("last\tline");
+    Assert.assertEquals(split(content.toString(), true), read(content.toString(), true));
+  }
+
+  @Test
+  public void slicesAreBoundsChecked() throws IOException {
+    Path path = write("abc\tdefg\n");
+    TSVReader.read(
+        path,
+        false,
+        row -> {
+          CharSequence field = row.get(1);
+          Assert.assertEquals("efg", field.subSequence(1, 4).toString());
+          Assert.assertEquals("", field.subSequence(4, 4).toString());
+          Assert.assertEquals('f', field.subSequence(1, 4).charAt(1));
+          Assert.assertThrows(IndexOutOfBoundsException.class, () -> field.subSequence(2, 5));
+          Assert.assertThrows(IndexOutOfBoundsException.class, () -> field.subSequence(-1, 2));
+          Assert.assertThrows(IndexOutOfBoundsException.class, () -> field.subSequence(3, 2));
+          Assert.assertThrows(IndexOutOfBoundsException.class, () -> field.charAt(4));
+          Assert.assertThrows(
+              IndexOutOfBoundsException.class, () -> field.subSequence(0, 2).charAt(2));
+        });
+  }
+
+  /**
+   * Reads the given content with {@link TSVReader} and collects fields of each row.
+   *
+   * @param content File content.
+   * @param skipHeader If true, the first line is skipped.
+   * @return Fields of each row.
+   */
+  private List<List<String>> read(String content, boolean skipHeader) throws IOException {
+    List<List<String>> rows = new ArrayList<>();
+    TSVReader.read(
+        write(content),
+        skipHeader,
+        row -> {
+          List<String> fields = new ArrayList<>();
+          for (int i = 0; i < row.size(); i++) {
+            Assert.assertEquals(row.getString(i), row.get(i).toString());
+            fields.add(row.getString(i));
+          }
+          rows.add(fields);
+        });
+    return rows;
+  }
+
+  /**
+   * Splits the given content into lines on line feeds and into fields with {@link
+   * String#split(String)}. The content is decoded the same way the reader decodes written files.
+   *
+   * @param content File content.
+   * @param skipHeader If true, the first line is skipped.
+   * @return Fields of each row.
+   */
+  private static List<List<String>> split(String content, boolean skipHeader) {
+    String decoded = new String(content.getBytes(StandardCharsets.UTF_8), Charset.defaultCharset());
+    List<String> lines = new ArrayList<>(Arrays.asList(decoded.split("\n", -1)));
+    if (lines.get(lines.size() - 1).isEmpty()) {
+      lines.remove(lines.size() - 1);
+    }
+    List<List<String>> rows = new ArrayList<>();
+    for (int i = skipHeader ? 1 : 0; i < lines.size(); i++) {
+      String line = lines.get(i);
+      if (line.endsWith("\r")) {
+        line = line.substring(0, line.length() - 1);
+      }
+      rows.add(Arrays.asList(line.split("\t")));
+    }
+    return rows;
+  }
+
+  /**
+   * Writes the given content to a new file in UTF-8, so that non-ASCII characters are written as
+   * non-ASCII bytes regardless of the default charset.
+   *
+   * @param content File content.
+   * @return Path to the file.
+   */
+  private Path write(String content) throws IOException {
+    Path path = temporaryFolder.newFile().toPath();
+    Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+    return path;
+  }
+}
@@ -42,10 +42,12 @@ import com.sun.source.tree.MemberSelectTree;
 import com.sun.source.tree.MethodInvocationTree;
 import com.sun.source.tree.MethodTree;
 import com.sun.source.tree.NewClassTree;
+import com.sun.source.tree.Tree;
 import com.sun.source.tree.VariableTree;
 import com.sun.tools.javac.code.Symbol;
 import com.sun.tools.javac.tree.JCTree;
 import edu.ucr.cs.riple.scanner.out.ClassRecord;
+import edu.ucr.cs.riple.scanner.out.FieldDeclarationRecord;
 import edu.ucr.cs.riple.scanner.out.ImpactedRegion;
 import edu.ucr.cs.riple.scanner.out.MethodRecord;
 import java.util.ArrayList;
@@ -90,12 +92,13 @@ public class AnnotatorScanner extends BugChecker
     if (!context.getConfig().isActive()) {
       return Description.NO_MATCH;
     }
+    Symbol.ClassSymbol classSymbol = ASTHelpers.getSymbol(classTree);
     context
         .getConfig()
         .getSerializer()
         .serializeClassRecord(
-            new ClassRecord(
-                ASTHelpers.getSymbol(classTree), visitorState.getPath().getCompilationUnit()));
+            new ClassRecord(classSymbol, visitorState.getPath().getCompilationUnit()));
+    serializeFieldDeclarations(classTree, classSymbol);
     return Description.NO_MATCH;
   }
 
@@ -238,6 +241,53 @@ public class AnnotatorScanner extends BugChecker
     }
   }
 
+  /**
+   * Serializes field declaration statements of the given class. Javac represents a statement
+   * declaring multiple fields inline (e.g. {@code Object f, i, j;}) as consecutive variable trees
+   * with the same start position, these trees are serialized as a single statement. Enum constants
+   * and fields of record components are not field declaration statements in source code and are
+   * skipped.
+   *
+   * @param classTree Given class tree.
+   * @param classSymbol Symbol of the given class.
+   */
+  private void serializeFieldDeclarations(ClassTree classTree, Symbol.ClassSymbol classSymbol) {
+    // Tree.Kind.RECORD is not available in Java 11.
+    boolean isRecord = classTree.getKind().name().equals("RECORD");
+    List<VariableTree> statement = new ArrayList<>();
+    int statementStartPosition = -1;
+    for (Tree member : classTree.getMembers()) {
+      if (!(member instanceof VariableTree)) {
+        continue;
+      }
+      VariableTree variable = (VariableTree) member;
+      Symbol symbol = ASTHelpers.getSymbol(variable);
+      if (symbol == null || symbol.getKind() != ElementKind.FIELD) {
+        continue;
+      }
+      if (isRecord && !symbol.isStatic()) {
+        // Records can only declare static fields, instance fields are record components.
+        continue;
+      }
+      int startPosition = ((JCTree) variable).getStartPosition();
+      if (!statement.isEmpty() && startPosition != statementStartPosition) {
+        context
+            .getConfig()
+            .getSerializer()
+            .serializeFieldDeclarationRecord(new FieldDeclarationRecord(classSymbol, statement));
+        statement = new ArrayList<>();
+      }
+      statement.add(variable);
+      statementStartPosition = startPosition;
+    }
+    if (!statement.isEmpty()) {
+      context
+          .getConfig()
+          .getSerializer()
+          .serializeFieldDeclarationRecord(new FieldDeclarationRecord(classSymbol, statement));
+    }
+  }
+
   /**
    * Serializes the symbol if annotated with explicit {@code @Nonnull} annotations.
    *
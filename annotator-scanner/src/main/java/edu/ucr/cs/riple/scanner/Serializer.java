@@ -31,6 +31,7 @@ import com.sun.tools.javac.code.Type;
 import com.sun.tools.javac.util.Name;
 import edu.ucr.cs.riple.scanner.location.SymbolLocation;
 import edu.ucr.cs.riple.scanner.out.ClassRecord;
+import edu.ucr.cs.riple.scanner.out.FieldDeclarationRecord;
 import edu.ucr.cs.riple.scanner.out.ImpactedRegion;
 import edu.ucr.cs.riple.scanner.out.MethodRecord;
 import java.io.FileOutputStream;
@@ -61,6 +62,9 @@ public class Serializer {
   /** Path to write class info data. */
   private final Path classRecordsPath;
 
+  /** Path to write field declaration statements of classes. */
+  private final Path fieldDeclarationRecordsPath;
+
   /** Path to write location of elements with explicit {@code @Nonnull} annotation. */
   private final Path nonnullElementsPath;
 
@@ -76,6 +80,9 @@ public class Serializer {
   /** File name where all class data has been stored. */
   public static final String CLASS_RECORD_FILE_NAME = "class_records.tsv";
 
+  /** File name where all field declaration statements of classes have been stored. */
+  public static final String FIELD_DECLARATION_RECORD_FILE_NAME = "field_declaration_records.tsv";
+
   /** File name where location of elements explicitly annotated as {@code @Nonnull}. */
   public static final String NON_NULL_ELEMENTS_FILE_NAME = "nonnull_elements.tsv";
 
@@ -85,6 +92,7 @@ public class Serializer {
     this.methodImpactedRegionPath = outputDirectory.resolve(METHOD_IMPACTED_REGION_FILE_NAME);
     this.methodRecordPath = outputDirectory.resolve(METHOD_RECORD_FILE_NAME);
     this.classRecordsPath = outputDirectory.resolve(CLASS_RECORD_FILE_NAME);
+    this.fieldDeclarationRecordsPath = outputDirectory.resolve(FIELD_DECLARATION_RECORD_FILE_NAME);
     this.nonnullElementsPath = outputDirectory.resolve(NON_NULL_ELEMENTS_FILE_NAME);
     initializeOutputFiles(config);
   }
@@ -119,6 +127,16 @@ public class Serializer {
     appendToFile(classRecord.toString(), this.classRecordsPath);
   }
 
+  /**
+   * Appends the string representation of the {@link FieldDeclarationRecord} corresponding to a
+   * field declaration statement in a class.
+   *
+   * @param fieldDeclarationRecord FieldDeclarationRecord instance.
+   */
+  public void serializeFieldDeclarationRecord(FieldDeclarationRecord fieldDeclarationRecord) {
+    appendToFile(fieldDeclarationRecord.toString(), this.fieldDeclarationRecordsPath);
+  }
+
   /**
    * Appends the string representation of the {@link MethodRecord} corresponding to a method.
    *
@@ -164,6 +182,7 @@ public class Serializer {
         initializeFile(fieldImpactedRegionPath, ImpactedRegion.header());
         initializeFile(methodRecordPath, MethodRecord.header());
         initializeFile(classRecordsPath, ClassRecord.header());
+        initializeFile(fieldDeclarationRecordsPath, FieldDeclarationRecord.header());
         initializeFile(nonnullElementsPath, SymbolLocation.header());
       }
     } catch (IOException e) {
@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Nima Karimipour
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.ucr.cs.riple.scanner.out;
+
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.VariableTree;
+import com.sun.tools.javac.code.Symbol;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.lang.model.element.Modifier;
+
+/**
+ * Container for storing a field declaration statement in a class. A statement can declare multiple
+ * fields inline (e.g. {@code Object f, i, j;}), all declared fields share the same modifiers and
+ * type.
+ */
+public class FieldDeclarationRecord {
+
+  /** Delimiter of field names in the serialized output. */
+  public static final String NAME_DELIMITER = ",";
+
+  /** Containing class symbol. */
+  public final Symbol.ClassSymbol clazz;
+
+  /** Trees of all fields declared within the statement, in declaration order. */
+  public final List<VariableTree> variables;
+
+  /**
+   * Creates a record for a field declaration statement.
+   *
+   * @param clazz Containing class symbol.
+   * @param variables Trees of all fields declared within the statement, must not be empty.
+   */
+  public FieldDeclarationRecord(Symbol.ClassSymbol clazz, List<VariableTree> variables) {
+    this.clazz = clazz;
+    this.variables = variables;
+  }
+
+  public static String header() {
+    return String.join("\t", "class", "fields", "uninitialized", "visibility", "non-primitive");
+  }
+
+  @Override
+  public String toString() {
+    VariableTree first = variables.get(0);
+    return String.join(
+        "\t",
+        clazz.flatName(),
+        variables.stream()
+            .map(variable -> variable.getName().toString())
+            .collect(Collectors.joining(NAME_DELIMITER)),
+        variables.stream()
+            .filter(variable -> variable.getInitializer() == null)
+            .map(variable -> variable.getName().toString())
+            .collect(Collectors.joining(NAME_DELIMITER)),
+        getVisibilityOfDeclaration(first),
+        String.valueOf(first.getType().getKind() != Tree.Kind.PRIMITIVE_TYPE));
+  }
+
+  /**
+   * Return string value of visibility. Only modifiers written in source code are considered, e.g.
+   * fields declared in interfaces are not public unless explicitly declared as public.
+   *
+   * @param variable Tree of a field declared within the statement.
+   * @return "public" if public, "private" if private, "protected" if protected and "package" if the
+   *     field has package visibility.
+   */
+  private static String getVisibilityOfDeclaration(VariableTree variable) {
+    Set<Modifier> modifiers = variable.getModifiers().getFlags();
+    if (modifiers.contains(Modifier.PUBLIC)) {
+      return "public";
+    }
+    if (modifiers.contains(Modifier.PRIVATE)) {
+      return "private";
+    }
+    if (modifiers.contains(Modifier.PROTECTED)) {
+      return "protected";
+    }
+    return "package";
+  }
+}
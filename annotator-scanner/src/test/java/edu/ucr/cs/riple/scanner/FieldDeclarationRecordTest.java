@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Nima Karimipour
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.ucr.cs.riple.scanner;
+
+import com.google.common.base.Preconditions;
+import edu.ucr.cs.riple.scanner.tools.DisplayFactory;
+import edu.ucr.cs.riple.scanner.tools.FieldDeclarationRecordDisplay;
+import java.util.Arrays;
+import org.junit.Test;
+
+public class FieldDeclarationRecordTest
+    extends AnnotatorScannerBaseTest<FieldDeclarationRecordDisplay> {
+
+  private static final DisplayFactory<FieldDeclarationRecordDisplay> FIELD_DISPLAY_FACTORY =
+      values -> {
+        Preconditions.checkArgument(
+            values.length == 5,
+            "Expected to find 5 values on each line, but found: "
+                + values.length
+                + ", "
+                + Arrays.toString(values));
+        return new FieldDeclarationRecordDisplay(
+            values[0], values[1], values[2], values[3], values[4]);
+      };
+  private static final String HEADER =
+      String.join("\t", "class", "fields", "uninitialized", "visibility", "non-primitive");
+  private static final String FILE_NAME = "field_declaration_records.tsv";
+
+  public FieldDeclarationRecordTest() {
+    super(FIELD_DISPLAY_FACTORY, HEADER, FILE_NAME);
+  }
+
+  @Test
+  public void basicTest() {
+    tester
+        .addSourceLines(
+            "edu/ucr/A.java",
+            "package edu.ucr;",
+            "public class A {",
+            "   public Object f;",
+            "   private int i = 0;",
+            "   protected String s = \"\";",
+            "   Object[] arr;",
+            "}")
+        .setExpectedOutputs(
+            new FieldDeclarationRecordDisplay("edu.ucr.A", "f", "f", "public", "true"),
+            new FieldDeclarationRecordDisplay("edu.ucr.A", "i", "", "private", "false"),
+            new FieldDeclarationRecordDisplay("edu.ucr.A", "s", "", "protected", "true"),
+            new FieldDeclarationRecordDisplay("edu.ucr.A", "arr", "arr", "package", "true"))
+        .doTest();
+  }
+
+  @Test
+  public void inLineMultipleFieldDeclarationsTest() {
+    tester
+        .addSourceLines(
+            "edu/ucr/A.java",
+            "package edu.ucr;",
+            "public class A {",
+            "   public Object f, g = new Object(), h;",
+            "   int i, j;",
+            "   int k;",
+            "   class Inner {",
+            "      private Object a = null, b = null;",
+            "   }",
+            "}")
+        .setExpectedOutputs(
+            new FieldDeclarationRecordDisplay("edu.ucr.A", "f,g,h", "f,h", "public", "true"),
+            new FieldDeclarationRecordDisplay("edu.ucr.A", "i,j", "i,j", "package", "false"),
+            new FieldDeclarationRecordDisplay("edu.ucr.A", "k", "k", "package", "false"),
+            new FieldDeclarationRecordDisplay("edu.ucr.A$Inner", "a,b", "", "private", "true"))
+        .doTest();
+  }
+
+  @Test
+  public void enumConstantsAndInterfaceFieldsTest() {
+    tester
+        .addSourceLines(
+            "edu/ucr/A.java",
+            "package edu.ucr;",
+            "public interface A {",
+            "   Object X = new Object(), Y = new Object();",
+            "   enum E {",
+            "      P, Q;",
+            "      Object z;",
+            "   }",
+            "}")
+        .setExpectedOutputs(
+            new FieldDeclarationRecordDisplay("edu.ucr.A", "X,Y", "", "package", "true"),
+            new FieldDeclarationRecordDisplay("edu.ucr.A$E", "z", "z", "package", "true"))
+        .doTest();
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Nima Karimipour
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.ucr.cs.riple.scanner.tools;
+
+import java.util.Objects;
+
+public class FieldDeclarationRecordDisplay implements Display {
+
+  public final String clazz;
+  public final String fields;
+  public final String uninitialized;
+  public final String visibility;
+  public final String hasNonPrimitiveType;
+
+  public FieldDeclarationRecordDisplay(
+      String clazz,
+      String fields,
+      String uninitialized,
+      String visibility,
+      String hasNonPrimitiveType) {
+    this.clazz = clazz;
+    this.fields = fields;
+    this.uninitialized = uninitialized;
+    this.visibility = visibility;
+    this.hasNonPrimitiveType = hasNonPrimitiveType;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof FieldDeclarationRecordDisplay)) {
+      return false;
+    }
+    FieldDeclarationRecordDisplay that = (FieldDeclarationRecordDisplay) o;
+    return clazz.equals(that.clazz)
+        && fields.equals(that.fields)
+        && uninitialized.equals(that.uninitialized)
+        && visibility.equals(that.visibility)
+        && hasNonPrimitiveType.equals(that.hasNonPrimitiveType);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(clazz, fields, uninitialized, visibility, hasNonPrimitiveType);
+  }
+
+  @Override
+  public String toString() {
+    return "clazz='"
+        + clazz
+        + '\''
+        + ", fields='"
+        + fields
+        + '\''
+        + ", uninitialized='"
+        + uninitialized
+        + '\''
+        + ", visibility='"
+        + visibility
+        + '\''
+        + ", hasNonPrimitiveType='"
+        + hasNonPrimitiveType
+        + '\'';
+  }
+}
@@ -25,48 +25,83 @@ package edu.ucr.cs.riple.injector;
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.mapping;
 
-import com.github.javaparser.ParseProblemException;
 import com.github.javaparser.ParserConfiguration;
-import com.github.javaparser.StaticJavaParser;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.ImportDeclaration;
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import edu.ucr.cs.riple.injector.changes.ASTChange;
 import edu.ucr.cs.riple.injector.changes.AddAnnotation;
 import edu.ucr.cs.riple.injector.changes.AnnotationChange;
 import edu.ucr.cs.riple.injector.changes.ChangeVisitor;
 import edu.ucr.cs.riple.injector.changes.RemoveAnnotation;
 import edu.ucr.cs.riple.injector.changes.TypeUseAnnotationChange;
-import edu.ucr.cs.riple.injector.exceptions.ParseException;
 import edu.ucr.cs.riple.injector.location.Location;
 import edu.ucr.cs.riple.injector.modifications.Modification;
 import edu.ucr.cs.riple.injector.offsets.FileOffsetStore;
 import edu.ucr.cs.riple.injector.util.ASTUtils;
-import java.io.IOException;
-import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 
 /** Injector main class which can add / remove annotations. */
 public class Injector {
 
+  /**
+   * Pool of threads shared by all injectors to apply changes on source files concurrently. Threads
+   * are daemons, so the pool does not prevent the JVM from exiting.
+   */
+  private static final ExecutorService EXECUTOR =
+      Executors.newFixedThreadPool(
+          Runtime.getRuntime().availableProcessors(),
+          new ThreadFactoryBuilder().setNameFormat("injector-%d").setDaemon(true).build());
+
   private final ParserConfiguration.LanguageLevel languageLevel;
 
+  /**
+   * Resolves the path of the source file a change is applied on, from the path in the location of
+   * the change. By default, changes are applied on the source file at the path of their location.
+   * Changes on paths resolved to {@code null} are skipped. The resolver is only called on the thread
+   * calling {@link #start(Set)}, therefore it is not required to be thread-safe.
+   */
+  private final UnaryOperator<Path> pathResolver;
+
   public Injector() {
     this(ParserConfiguration.LanguageLevel.JAVA_11);
   }
 
   public Injector(ParserConfiguration.LanguageLevel languageLevel) {
+    this(languageLevel, UnaryOperator.identity());
+  }
+
+  /**
+   * Creates an injector which applies changes on the source files resolved by the given resolver.
+   * Can be used to apply changes on a copy of the source files, the returned offset stores are
+   * created for the resolved paths.
+   *
+   * @param languageLevel Language level of source files.
+   * @param pathResolver Resolver of the path to the modifying source file from the path of change
+   *     location.
+   */
+  public Injector(
+      ParserConfiguration.LanguageLevel languageLevel, UnaryOperator<Path> pathResolver) {
     this.languageLevel = languageLevel;
+    this.pathResolver = pathResolver;
   }
 
   /**
-   * Starts applying the requested changes.
+   * Starts applying the requested changes. Changes on different source files are applied
+   * concurrently on a bounded pool of threads, each source file is processed by a single thread.
    *
    * @param changes Set of changes.
    * @return Offset changes of source file.
@@ -79,49 +114,101 @@ public class Injector {
     Map<Path, List<ASTChange>> map =
         changes.stream().collect(groupingBy(change -> change.getLocation().path));
     Set<FileOffsetStore> offsets = new HashSet<>();
+    if (map.size() == 1) {
+      // No need to hand over a single source file to the pool.
+      map.forEach(
+          (locationPath, changeList) -> {
+            FileOffsetStore offsetStore =
+                applyChanges(pathResolver.apply(locationPath), changeList);
+            if (offsetStore != null) {
+              offsets.add(offsetStore);
+            }
+          });
+      return offsets;
+    }
+    List<Future<FileOffsetStore>> futures = new ArrayList<>(map.size());
     map.forEach(
-        (path, changeList) -> {
-          mergeTypeArgumentIndices(changeList);
-          CompilationUnit tree = parse(path, languageLevel);
-          if (tree == null) {
-            return;
-          }
-          ChangeVisitor visitor = new ChangeVisitor(tree);
-          Set<Modification> modifications = new HashSet<>();
-          Set<ImportDeclaration> imports = new HashSet<>();
-          for (ASTChange change : changeList) {
-            try {
-              Modification modification = visitor.computeModification(change);
-              if (modification != null) {
-                modifications.add(modification);
-                if (change instanceof AddAnnotation) {
-                  String annotationFullName = ((AnnotationChange) change).annotationName.fullName;
-                  if (ASTUtils.getPackageName(annotationFullName) != null) {
-                    ImportDeclaration importDeclaration =
-                        StaticJavaParser.parseImport("import " + annotationFullName + ";");
-                    if (treeRequiresImportDeclaration(
-                        tree, importDeclaration, annotationFullName)) {
-                      imports.add(importDeclaration);
-                    }
-                  }
-                }
+        (locationPath, changeList) -> {
+          // Paths are resolved on the calling thread, resolvers are not required to be thread-safe.
+          Path path = pathResolver.apply(locationPath);
+          futures.add(EXECUTOR.submit(() -> applyChanges(path, changeList)));
+        });
+    // Offset stores are gathered after all source files are processed.
+    RuntimeException failure = null;
+    for (Future<FileOffsetStore> future : futures) {
+      try {
+        FileOffsetStore offsetStore = future.get();
+        if (offsetStore != null) {
+          offsets.add(offsetStore);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException("Interrupted while applying changes", e);
+      } catch (ExecutionException e) {
+        if (failure == null) {
+          failure =
+              e.getCause() instanceof RuntimeException
+                  ? (RuntimeException) e.getCause()
+                  : new RuntimeException(e.getCause());
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+    return offsets;
+  }
+
+  /**
+   * Applies the given changes on a single source file and writes the content back.
+   *
+   * @param path Path to the modifying source file resolved from the location of the changes, or
+   *     null if the changes are skipped.
+   * @param changeList Changes on the source file.
+   * @return Offset changes of the source file, or null if the source file could not be parsed.
+   */
+  @Nullable
+  private FileOffsetStore applyChanges(@Nullable Path path, List<ASTChange> changeList) {
+    mergeTypeArgumentIndices(changeList);
+    CompilationUnit tree = parse(path, languageLevel);
+    if (tree == null) {
+      return null;
+    }
+    ChangeVisitor visitor = new ChangeVisitor(tree);
+    Set<Modification> modifications = new HashSet<>();
+    Set<ImportDeclaration> imports = new HashSet<>();
+    for (ASTChange change : changeList) {
+      try {
+        Modification modification = visitor.computeModification(change);
+        if (modification != null) {
+          modifications.add(modification);
+          if (change instanceof AddAnnotation) {
+            String annotationFullName = ((AnnotationChange) change).annotationName.fullName;
+            if (ASTUtils.getPackageName(annotationFullName) != null) {
+              ImportDeclaration importDeclaration =
+                  ParseCache.getParser(languageLevel)
+                      .parseImport("import " + annotationFullName + ";")
+                      .getResult()
+                      .orElseThrow();
+              if (treeRequiresImportDeclaration(tree, importDeclaration, annotationFullName)) {
+                imports.add(importDeclaration);
               }
-            } catch (Exception ex) {
-              System.err.println("Encountered Exception: " + ex);
             }
           }
-          Printer printer = new Printer(path);
-          printer.applyModifications(modifications);
-          printer.addImports(tree, imports);
-          try {
-            FileOffsetStore offsetStore = printer.write();
-            offsets.add(offsetStore);
-          } catch (Exception e) {
-            System.out.println("Error happened while Printer writing content back to: " + path);
-            throw new RuntimeException(e);
-          }
-        });
-    return offsets;
+        }
+      } catch (Exception ex) {
+        System.err.println("Encountered Exception: " + ex);
+      }
+    }
+    Printer printer = new Printer(path);
+    printer.applyModifications(modifications);
+    printer.addImports(tree, imports);
+    try {
+      return printer.write();
+    } catch (Exception e) {
+      System.out.println("Error happened while Printer writing content back to: " + path);
+      throw new RuntimeException(e);
+    }
   }
 
   /**
@@ -200,7 +287,8 @@ public class Injector {
   /**
    * Parses the given file into a compilation unit tree. If the file does not exist, returns null.
    * Can happen when the file is generated by the compiler or the fix is suggested on a third party
-   * library.
+   * library. Trees are served from the shared {@link ParseCache} if the file has not changed since
+   * it was last parsed, the returned tree must not be modified.
    *
    * @param path Path to the file.
    * @return Compilation unit tree, if the file does not exist, returns null.
@@ -208,25 +296,6 @@ public class Injector {
   @Nullable
   public static CompilationUnit parse(
       @Nullable Path path, ParserConfiguration.LanguageLevel level) {
-    if (path == null) {
-      // Annotator is correctly receiving null as argument for fixes suggested on third party
-      // libraries. And NullAway is correctly serializing fixes with null paths. Please note that we
-      // should not update NullAway to avoid suggesting such fixes where the path is null. These
-      // fixes are still useful in downstream dependency analysis phase.
-      return null;
-    }
-    ParserConfiguration parserConfiguration = new ParserConfiguration();
-    parserConfiguration.setLanguageLevel(level);
-    StaticJavaParser.setConfiguration(parserConfiguration);
-    try {
-      return StaticJavaParser.parse(path);
-    } catch (ParseProblemException e) {
-      // The original exception is not useful for the user. We should provide a more informative one
-      throw new ParseException(path, e);
-    } catch (NoSuchFileException e) {
-      return null;
-    } catch (IOException e) {
-      throw new RuntimeException("Error happened on parsing file at: " + path, e);
-    }
+    return ParseCache.getInstance().parse(path, level);
   }
 }
@@ -0,0 +1,269 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Nima Karimipour
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.ucr.cs.riple.injector;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseProblemException;
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import edu.ucr.cs.riple.injector.exceptions.ParseException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import javax.annotation.Nullable;
+
+/**
+ * Cache of parsed compilation unit trees of source files. Trees are keyed by the path and the hash
+ * of the content of the source file, therefore a tree is reused only if the source file has the
+ * same content it was parsed from, and source files modified by {@link Printer} are parsed again
+ * on their next use. Multiple versions of a file can be cached, e.g. the original content of a
+ * file is served from the cache after injected annotations are removed. The cache is bounded by
+ * the total size of cached source files and least recently used trees are evicted first. Trees are
+ * also softly referenced, so they can be reclaimed under memory pressure. Cached trees are shared
+ * and must not be modified.
+ */
+public class ParseCache {
+
+  /** Default maximum total size of cached source files in bytes. */
+  public static final long DEFAULT_CAPACITY = 32L << 20;
+
+  /** Cache shared by all injectors. */
+  private static final ParseCache INSTANCE = new ParseCache(DEFAULT_CAPACITY);
+
+  /**
+   * Parsers of the current thread for each language level. Parsers are not thread-safe, each thread
+   * uses its own instances instead of the global configuration of {@code StaticJavaParser}.
+   */
+  private static final ThreadLocal<Map<ParserConfiguration.LanguageLevel, JavaParser>> PARSERS =
+      ThreadLocal.withInitial(() -> new EnumMap<>(ParserConfiguration.LanguageLevel.class));
+
+  /** Maximum total size of cached source files in bytes, zero disables caching. */
+  private final long capacity;
+
+  /** Cached trees in access order. */
+  private final LinkedHashMap<Key, Entry> entries;
+
+  /** Total size of cached source files in bytes. */
+  private long size;
+
+  /** Number of requests served from the cache. */
+  private long hits;
+
+  /** Number of requests which required parsing the source file. */
+  private long misses;
+
+  /**
+   * Creates a parse cache.
+   *
+   * @param capacity Maximum total size of cached source files in bytes, zero disables caching.
+   */
+  public ParseCache(long capacity) {
+    this.capacity = capacity;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true);
+  }
+
+  /**
+   * Returns the cache shared by all injectors.
+   *
+   * @return The shared cache.
+   */
+  public static ParseCache getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Returns the compilation unit tree of the given file, parses the file if its current content is
+   * not cached. If the file does not exist, returns null.
+   *
+   * @param path Path to the file.
+   * @param level Language level of the file.
+   * @return Compilation unit tree, if the file does not exist, returns null.
+   */
+  @Nullable
+  public CompilationUnit parse(@Nullable Path path, ParserConfiguration.LanguageLevel level) {
+    if (path == null) {
+      // Annotator is correctly receiving null as argument for fixes suggested on third party
+      // libraries. And NullAway is correctly serializing fixes with null paths. Please note that we
+      // should not update NullAway to avoid suggesting such fixes where the path is null. These
+      // fixes are still useful in downstream dependency analysis phase.
+      return null;
+    }
+    byte[] content;
+    try {
+      content = Files.readAllBytes(path);
+    } catch (NoSuchFileException e) {
+      return null;
+    } catch (IOException e) {
+      throw new RuntimeException("Error happened on parsing file at: " + path, e);
+    }
+    Key key = new Key(path, Hashing.murmur3_128().hashBytes(content), level);
+    synchronized (this) {
+      Entry entry = entries.get(key);
+      CompilationUnit tree = entry == null ? null : entry.tree.get();
+      if (tree != null) {
+        hits++;
+        return tree;
+      }
+      misses++;
+    }
+    CompilationUnit tree = parse(path, content, level);
+    put(key, new Entry(tree, content.length));
+    return tree;
+  }
+
+  /**
+   * Parses the given content of a source file.
+   *
+   * @param path Path to the file, used for error reporting.
+   * @param content Content of the file.
+   * @param level Language level of the file.
+   * @return Compilation unit tree.
+   */
+  private static CompilationUnit parse(
+      Path path, byte[] content, ParserConfiguration.LanguageLevel level) {
+    ParseResult<CompilationUnit> result = getParser(level).parse(new ByteArrayInputStream(content));
+    if (result.isSuccessful() && result.getResult().isPresent()) {
+      return result.getResult().get();
+    }
+    // The original exception is not useful for the user. We should provide a more informative one
+    throw new ParseException(path, new ParseProblemException(result.getProblems()));
+  }
+
+  /**
+   * Returns the parser of the current thread for the given language level.
+   *
+   * @param level Language level of the parsed source.
+   * @return Parser which is only used by the current thread.
+   */
+  public static JavaParser getParser(ParserConfiguration.LanguageLevel level) {
+    return PARSERS
+        .get()
+        .computeIfAbsent(
+            level, l -> new JavaParser(new ParserConfiguration().setLanguageLevel(l)));
+  }
+
+  /**
+   * Stores the given entry and evicts least recently used entries until the cache fits in its
+   * capacity.
+   *
+   * @param key Key of the entry.
+   * @param entry Entry to store.
+   */
+  private synchronized void put(Key key, Entry entry) {
+    if (entry.size > capacity) {
+      return;
+    }
+    Entry previous = entries.put(key, entry);
+    if (previous != null) {
+      size -= previous.size;
+    }
+    size += entry.size;
+    Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+    while (size > capacity && iterator.hasNext()) {
+      size -= iterator.next().getValue().size;
+      iterator.remove();
+    }
+  }
+
+  /**
+   * Returns the number of requests served from the cache.
+   *
+   * @return Number of cache hits.
+   */
+  public synchronized long getHits() {
+    return hits;
+  }
+
+  /**
+   * Returns the number of requests which required parsing the source file.
+   *
+   * @return Number of cache misses.
+   */
+  public synchronized long getMisses() {
+    return misses;
+  }
+
+  /** Key of a cached tree. */
+  private static class Key {
+
+    /** Path to the file. */
+    private final Path path;
+
+    /** Hash of the content the tree is parsed from. */
+    private final HashCode hash;
+
+    /** Language level the tree is parsed with. */
+    private final ParserConfiguration.LanguageLevel level;
+
+    private Key(Path path, HashCode hash, ParserConfiguration.LanguageLevel level) {
+      this.path = path;
+      this.hash = hash;
+      this.level = level;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) o;
+      return path.equals(key.path) && hash.equals(key.hash) && level == key.level;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(path, hash, level);
+    }
+  }
+
+  /** Cached tree of a source file. */
+  private static class Entry {
+
+    /** Parsed tree, can be reclaimed under memory pressure. */
+    private final SoftReference<CompilationUnit> tree;
+
+    /** Size of the content the tree is parsed from in bytes. */
+    private final int size;
+
+    private Entry(CompilationUnit tree, int size) {
+      this.tree = new SoftReference<>(tree);
+      this.size = size;
+    }
+  }
+}
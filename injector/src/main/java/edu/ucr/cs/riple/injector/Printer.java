@@ -35,7 +35,6 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collections;
-import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedSet;
@@ -51,8 +50,8 @@ public class Printer {
   /** Path to source file. */
   private final Path path;
 
-  /** Lines of source file. */
-  private final List<String> lines;
+  /** Buffer of source file content which modifications are applied on. */
+  private final SourceBuffer buffer;
 
   /** Offset store for recording changes in source code. */
   private final FileOffsetStore offsetStore;
@@ -60,11 +59,11 @@ public class Printer {
   public Printer(Path path) {
     this.path = path;
     try {
-      lines = Files.readAllLines(path, Charset.defaultCharset());
+      buffer = new SourceBuffer(Files.readAllBytes(path), Charset.defaultCharset());
     } catch (IOException e) {
       throw new RuntimeException("Happened at path: " + path, e);
     }
-    this.offsetStore = new FileOffsetStore(lines, path);
+    this.offsetStore = new FileOffsetStore(buffer.getLineStarts(), path);
   }
 
   /**
@@ -81,7 +80,7 @@ public class Printer {
     // current computed offsets.
     SortedSet<Modification> reversedSortedSet = new TreeSet<>(Collections.reverseOrder());
     reversedSortedSet.addAll(modifications);
-    reversedSortedSet.forEach(modification -> modification.visit(lines, offsetStore));
+    reversedSortedSet.forEach(modification -> modification.visit(buffer, offsetStore));
   }
 
   /**
@@ -98,8 +97,7 @@ public class Printer {
     imports.forEach(
         importDec -> {
           String toAdd = importDec.toString().strip();
-          offsetStore.updateOffsetWithNewLineAddition(line, toAdd.length());
-          lines.add(line, toAdd);
+          offsetStore.updateOffsetWithAddition(line, 0, buffer.insertLine(line, toAdd));
         });
   }
 
@@ -136,15 +134,15 @@ public class Printer {
       }
     }
     // No package exists, add import under copyright header if exists, otherwise on the first line.
-    for (int i = 0; i < lines.size(); i++) {
-      String line = lines.get(i).strip();
+    for (int i = 0; i < buffer.getLineCount(); i++) {
+      String line = buffer.getLine(i).strip();
       if (line.isEmpty()) {
         continue;
       }
       // For copyrights surrounded with "/* **/"
       if (line.startsWith("/*")) {
-        while (i < lines.size()) {
-          String endLine = lines.get(i);
+        while (i < buffer.getLineCount()) {
+          String endLine = buffer.getLine(i);
           if (endLine.contains("*/")) {
             return i + 1;
           }
@@ -153,7 +151,7 @@ public class Printer {
       }
       // For copyrights starting with "//" on each line.
       if (line.startsWith("//")) {
-        while (i < lines.size() && lines.get(i).startsWith("//")) {
+        while (i < buffer.getLineCount() && buffer.getLine(i).startsWith("//")) {
           i++;
         }
         return i;
@@ -166,13 +164,17 @@ public class Printer {
   }
 
   /**
-   * Writes the updated lines into the source file.
+   * Writes the updated content into the source file. Untouched content is written as is, and the
+   * source file is not rewritten if it is not modified.
    *
    * @return offset store corresponding to file changes.
    */
   public FileOffsetStore write() {
+    if (!buffer.isModified()) {
+      return offsetStore;
+    }
     try {
-      Files.write(path, lines, Charset.defaultCharset());
+      buffer.write(path);
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
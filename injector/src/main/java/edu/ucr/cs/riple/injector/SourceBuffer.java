@@ -0,0 +1,385 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Nima Karimipour
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.ucr.cs.riple.injector;
+
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * Piece table over the content of a source file. The original content is never modified, edits are
+ * recorded as spans of the original content replaced by new text, and the result is produced by
+ * interleaving untouched slices of the original content with the texts of edits. Untouched slices
+ * of ASCII only content are written from the original bytes without encoding. Positions of all
+ * edits are in the coordinates of the original content, therefore applying an edit is constant
+ * time regardless of the size of the file and the number of edits. Line terminators of untouched
+ * content are preserved, new lines use the first line terminator of the original content.
+ */
+public class SourceBuffer {
+
+  /** Original content of the file. */
+  private final byte[] bytes;
+
+  /** Original content of the file, decoded. */
+  private final String content;
+
+  /** Charset of the file. */
+  private final Charset charset;
+
+  /**
+   * True, if the original content is ASCII only, where character offsets and byte offsets are
+   * identical.
+   */
+  private final boolean ascii;
+
+  /**
+   * Character offset of the start of each line, with an extra element holding the length of the
+   * content.
+   */
+  private final int[] lineStarts;
+
+  /** Character offset of the end of each line excluding its line terminator. */
+  private final int[] lineEnds;
+
+  /** Line terminator used for new lines. */
+  private final String lineSeparator;
+
+  /** Recorded edits in the order they are applied. */
+  private final List<Edit> edits;
+
+  /**
+   * Creates a buffer over the given content. Lines are separated the same way as {@link
+   * java.nio.file.Files#readAllLines(Path, Charset)}.
+   *
+   * @param bytes Original content of the file.
+   * @param charset Charset of the file.
+   * @throws IOException if the content is not valid in the given charset.
+   */
+  public SourceBuffer(byte[] bytes, Charset charset) throws IOException {
+    this.bytes = bytes;
+    this.charset = charset;
+    this.content = charset.newDecoder().decode(ByteBuffer.wrap(bytes)).toString();
+    this.ascii = content.length() == bytes.length && isAscii(bytes);
+    this.edits = new ArrayList<>();
+    List<Integer> starts = new ArrayList<>();
+    List<Integer> ends = new ArrayList<>();
+    String separator = null;
+    int start = 0;
+    int i = 0;
+    while (i < content.length()) {
+      char c = content.charAt(i);
+      if (c != '\n' && c != '\r') {
+        i++;
+        continue;
+      }
+      boolean crlf = c == '\r' && i + 1 < content.length() && content.charAt(i + 1) == '\n';
+      int next = crlf ? i + 2 : i + 1;
+      if (separator == null) {
+        separator = content.substring(i, next);
+      }
+      starts.add(start);
+      ends.add(i);
+      start = next;
+      i = next;
+    }
+    if (start < content.length()) {
+      // Last line without a line terminator.
+      starts.add(start);
+      ends.add(content.length());
+    }
+    this.lineSeparator = separator == null ? System.lineSeparator() : separator;
+    this.lineStarts = new int[starts.size() + 1];
+    this.lineEnds = new int[ends.size()];
+    for (int l = 0; l < starts.size(); l++) {
+      lineStarts[l] = starts.get(l);
+      lineEnds[l] = ends.get(l);
+    }
+    lineStarts[starts.size()] = content.length();
+  }
+
+  /**
+   * Returns the number of lines in the original content.
+   *
+   * @return Number of lines.
+   */
+  public int getLineCount() {
+    return lineEnds.length;
+  }
+
+  /**
+   * Returns the original content of the given line, excluding its line terminator.
+   *
+   * @param line Line number, 0 indexed.
+   * @return Content of the line.
+   */
+  public String getLine(int line) {
+    return content.substring(lineStarts[line], lineEnds[line]);
+  }
+
+  /**
+   * Returns the character offset of the start of each line in the original content, with an extra
+   * element holding the length of the content.
+   *
+   * @return Character offsets of line starts.
+   */
+  public int[] getLineStarts() {
+    return lineStarts.clone();
+  }
+
+  /**
+   * Returns the line terminator used for new lines.
+   *
+   * @return Line terminator.
+   */
+  public String getLineSeparator() {
+    return lineSeparator;
+  }
+
+  /**
+   * Inserts the given text at the given position of the original content.
+   *
+   * @param line Line number, 0 indexed.
+   * @param column Column number, 0 indexed.
+   * @param text Text to insert.
+   */
+  public void insert(int line, int column, String text) {
+    int offset = offsetOf(line, column);
+    edits.add(new Edit(offset, offset, text, edits.size()));
+  }
+
+  /**
+   * Deletes the content between the given columns of a line of the original content.
+   *
+   * @param line Line number, 0 indexed.
+   * @param startColumn Start column of the deleted content, inclusive.
+   * @param endColumn End column of the deleted content, exclusive.
+   */
+  public void delete(int line, int startColumn, int endColumn) {
+    replace(line, startColumn, line, endColumn, "");
+  }
+
+  /**
+   * Replaces the content between the given positions of the original content with the given text.
+   *
+   * @param startLine Start line, 0 indexed.
+   * @param startColumn Start column, inclusive.
+   * @param endLine End line, 0 indexed.
+   * @param endColumn End column, exclusive.
+   * @param text Replacing text.
+   */
+  public void replace(int startLine, int startColumn, int endLine, int endColumn, String text) {
+    edits.add(
+        new Edit(
+            offsetOf(startLine, startColumn), offsetOf(endLine, endColumn), text, edits.size()));
+  }
+
+  /**
+   * Inserts the given text as a new line before the given line of the original content. If the
+   * given line is past the last line, the new line is appended to the end of the content.
+   *
+   * @param line Line number, 0 indexed.
+   * @param text Content of the new line.
+   * @return Number of inserted characters, including the inserted line terminators.
+   */
+  public int insertLine(int line, String text) {
+    String toAdd = text + lineSeparator;
+    int count = getLineCount();
+    if (line >= count && count > 0 && lineEnds[count - 1] == content.length()) {
+      // Last line does not have a line terminator.
+      toAdd = lineSeparator + toAdd;
+    }
+    int offset = lineStarts[Math.min(line, count)];
+    edits.add(new Edit(offset, offset, toAdd, edits.size()));
+    return toAdd.length();
+  }
+
+  /**
+   * Checks if any edit is recorded on this buffer.
+   *
+   * @return true, if the content is modified.
+   */
+  public boolean isModified() {
+    return !edits.isEmpty();
+  }
+
+  /**
+   * Writes the modified content to the given file with a single gathering write. Replaced spans of
+   * edits must not overlap, insertions are only allowed at the start or the end of a replaced span.
+   *
+   * @param path Path to the file.
+   * @throws IOException if writing the file fails.
+   * @throws IllegalStateException if recorded edits overlap.
+   */
+  public void write(Path path) throws IOException {
+    // Edits at the same position appear in the reverse order of their application, the same as
+    // consecutive insertions at the same position of a string.
+    List<Edit> sorted = new ArrayList<>(edits);
+    sorted.sort(
+        Comparator.comparingInt((Edit edit) -> edit.start)
+            .thenComparing(edit -> edit.order, Comparator.reverseOrder()));
+    List<ByteBuffer> pieces = new ArrayList<>(sorted.size() * 2 + 1);
+    // Encoders of some charsets are stateful (e.g. UTF-16 writes a byte order mark on each call),
+    // content which is not ASCII only is therefore collected and encoded at once.
+    StringBuilder decoded = ascii ? null : new StringBuilder(content.length());
+    // Start and end of the last replaced span of the original content.
+    int spanStart = 0;
+    int cursor = 0;
+    for (Edit edit : sorted) {
+      Preconditions.checkState(
+          edit.start >= cursor || (edit.start == spanStart && edit.start == edit.end),
+          "Edit of span [%s, %s) overlaps with edit of span [%s, %s)",
+          edit.start,
+          edit.end,
+          spanStart,
+          cursor);
+      if (edit.start > cursor) {
+        appendOriginal(pieces, decoded, cursor, edit.start);
+      }
+      if (!edit.text.isEmpty()) {
+        appendText(pieces, decoded, edit.text);
+      }
+      if (edit.end > cursor) {
+        spanStart = edit.start;
+        cursor = edit.end;
+      }
+    }
+    if (cursor < content.length()) {
+      appendOriginal(pieces, decoded, cursor, content.length());
+    }
+    if (decoded != null) {
+      pieces.add(charset.encode(CharBuffer.wrap(decoded)));
+    }
+    ByteBuffer[] buffers = pieces.toArray(new ByteBuffer[0]);
+    try (FileChannel channel =
+        FileChannel.open(
+            path,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      long remaining = 0;
+      for (ByteBuffer buffer : buffers) {
+        remaining += buffer.remaining();
+      }
+      while (remaining > 0) {
+        remaining -= channel.write(buffers);
+      }
+    }
+  }
+
+  /**
+   * Appends the original content between the given character offsets to the output. Original
+   * bytes are reused if the content is ASCII only.
+   *
+   * @param pieces Encoded pieces of the output.
+   * @param decoded Decoded output, null if the content is ASCII only.
+   * @param start Start character offset, inclusive.
+   * @param end End character offset, exclusive.
+   */
+  private void appendOriginal(
+      List<ByteBuffer> pieces, @Nullable StringBuilder decoded, int start, int end) {
+    if (decoded == null) {
+      pieces.add(ByteBuffer.wrap(bytes, start, end - start));
+    } else {
+      decoded.append(content, start, end);
+    }
+  }
+
+  /**
+   * Appends the given text to the output.
+   *
+   * @param pieces Encoded pieces of the output.
+   * @param decoded Decoded output, null if the content is ASCII only.
+   * @param text Text to append.
+   */
+  private void appendText(List<ByteBuffer> pieces, @Nullable StringBuilder decoded, String text) {
+    if (decoded == null) {
+      pieces.add(charset.encode(text));
+    } else {
+      decoded.append(text);
+    }
+  }
+
+  /**
+   * Returns the character offset of the given position in the original content.
+   *
+   * @param line Line number, 0 indexed.
+   * @param column Column number, 0 indexed.
+   * @return Character offset of the position.
+   */
+  private int offsetOf(int line, int column) {
+    if (column < 0 || column > lineEnds[line] - lineStarts[line]) {
+      throw new IndexOutOfBoundsException(
+          "Column " + column + " is out of bounds of line " + line + ": " + getLine(line));
+    }
+    return lineStarts[line] + column;
+  }
+
+  /**
+   * Checks if all bytes are ASCII characters.
+   *
+   * @param bytes Bytes to check.
+   * @return true, if all bytes are ASCII characters.
+   */
+  private static boolean isAscii(byte[] bytes) {
+    for (byte b : bytes) {
+      if (b < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** A span of the original content replaced by a text. */
+  private static class Edit {
+
+    /** Start character offset of the replaced span, inclusive. */
+    private final int start;
+
+    /** End character offset of the replaced span, exclusive. */
+    private final int end;
+
+    /** Replacing text, empty for deletions. */
+    private final String text;
+
+    /** Order of application of the edit. */
+    private final int order;
+
+    private Edit(int start, int end, String text, int order) {
+      this.start = start;
+      this.end = end;
+      this.text = text;
+      this.order = order;
+    }
+  }
+}
@@ -124,8 +124,9 @@ public class AddSingleElementAnnotation extends AnnotationChange implements AddA
     if (annotRange.isEmpty()) {
       return null;
     }
+    // The tree can be shared with other injections, the updated annotation is computed on a copy.
     SingleMemberAnnotationExpr singleMemberAnnotationExpr =
-        (SingleMemberAnnotationExpr) existingAnnotation;
+        ((SingleMemberAnnotationExpr) existingAnnotation).clone();
     ArrayInitializerExpr updatedMemberValue = new ArrayInitializerExpr();
     NodeList<Expression> nodeList = new NodeList<>();
 
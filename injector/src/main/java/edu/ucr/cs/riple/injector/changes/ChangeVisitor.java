@@ -27,8 +27,10 @@ import static edu.ucr.cs.riple.injector.location.OnClass.isAnonymousClassFlatNam
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.Node;
 import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.ast.body.AnnotationMemberDeclaration;
 import com.github.javaparser.ast.body.BodyDeclaration;
 import com.github.javaparser.ast.body.CallableDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
 import com.github.javaparser.ast.body.InitializerDeclaration;
 import com.github.javaparser.ast.body.Parameter;
 import com.github.javaparser.ast.body.VariableDeclarator;
@@ -49,7 +51,6 @@ import edu.ucr.cs.riple.injector.util.TypeUtils;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicReference;
 import javax.annotation.Nullable;
 
 /**
@@ -57,111 +58,69 @@ import javax.annotation.Nullable;
  * location for the requested change.
  */
 public class ChangeVisitor
-    implements LocationVisitor<Modification, Pair<NodeList<BodyDeclaration<?>>, ASTChange>> {
+    implements LocationVisitor<Modification, Pair<MemberIndex.TypeMembers, ASTChange>> {
 
-  /** Compilation unit which the changes will be applied. */
-  private final CompilationUnit cu;
+  /** Index of members of the compilation unit which the changes will be applied. */
+  private final MemberIndex index;
 
   public ChangeVisitor(CompilationUnit cu) {
-    this.cu = cu;
+    this.index = new MemberIndex(cu);
   }
 
   @Override
   @Nullable
   public Modification visitMethod(
-      OnMethod onMethod, Pair<NodeList<BodyDeclaration<?>>, ASTChange> pair) {
-    final AtomicReference<Modification> ans = new AtomicReference<>();
-    final NodeList<BodyDeclaration<?>> members = pair.a;
+      OnMethod onMethod, Pair<MemberIndex.TypeMembers, ASTChange> pair) {
+    final MemberIndex.TypeMembers members = pair.a;
     final ASTChange change = pair.b;
-    members.forEach(
-        bodyDeclaration ->
-            bodyDeclaration.ifCallableDeclaration(
-                callableDeclaration -> {
-                  if (ans.get() != null) {
-                    // already found the member.
-                    return;
-                  }
-                  if (onMethod.matchesCallableDeclaration(callableDeclaration)) {
-                    ans.set(change.computeTextModificationOn(callableDeclaration));
-                  }
-                }));
-    if (ans.get() == null) {
-      members.forEach(
-          bodyDeclaration ->
-              bodyDeclaration.ifAnnotationMemberDeclaration(
-                  annotationMemberDeclaration -> {
-                    if (annotationMemberDeclaration
-                        .getNameAsString()
-                        .equals(ASTUtils.extractCallableName(onMethod.method))) {
-                      ans.set(change.computeTextModificationOn(annotationMemberDeclaration));
-                    }
-                  }));
+    CallableDeclaration<?> callableDeclaration = members.findCallable(onMethod);
+    if (callableDeclaration != null) {
+      return change.computeTextModificationOn(callableDeclaration);
     }
-    return ans.get();
+    AnnotationMemberDeclaration annotationMemberDeclaration =
+        members.findAnnotationMember(ASTUtils.extractCallableName(onMethod.method));
+    if (annotationMemberDeclaration != null) {
+      return change.computeTextModificationOn(annotationMemberDeclaration);
+    }
+    return null;
   }
 
   @Override
   @Nullable
-  public Modification visitField(
-      OnField onField, Pair<NodeList<BodyDeclaration<?>>, ASTChange> pair) {
-    final AtomicReference<Modification> ans = new AtomicReference<>();
-    final NodeList<BodyDeclaration<?>> members = pair.a;
+  public Modification visitField(OnField onField, Pair<MemberIndex.TypeMembers, ASTChange> pair) {
+    final MemberIndex.TypeMembers members = pair.a;
     final ASTChange change = pair.b;
-    members.forEach(
-        bodyDeclaration ->
-            bodyDeclaration.ifFieldDeclaration(
-                fieldDeclaration -> {
-                  if (ans.get() != null) {
-                    // already found the member.
-                    return;
-                  }
-                  NodeList<VariableDeclarator> vars =
-                      fieldDeclaration.asFieldDeclaration().getVariables();
-                  for (VariableDeclarator v : vars) {
-                    if (onField.variables.contains(v.getName().toString())) {
-                      ans.set(change.computeTextModificationOn(fieldDeclaration));
-                      break;
-                    }
-                  }
-                }));
-    return ans.get();
+    FieldDeclaration fieldDeclaration = members.findField(onField.variables);
+    return fieldDeclaration == null ? null : change.computeTextModificationOn(fieldDeclaration);
   }
 
   @Override
   @Nullable
   public Modification visitParameter(
-      OnParameter onParameter, Pair<NodeList<BodyDeclaration<?>>, ASTChange> pair) {
-    final AtomicReference<Modification> ans = new AtomicReference<>();
-    final NodeList<BodyDeclaration<?>> members = pair.a;
+      OnParameter onParameter, Pair<MemberIndex.TypeMembers, ASTChange> pair) {
+    final MemberIndex.TypeMembers members = pair.a;
     final ASTChange change = pair.b;
-    members.forEach(
-        bodyDeclaration ->
-            bodyDeclaration.ifCallableDeclaration(
-                callableDeclaration -> {
-                  if (ans.get() != null) {
-                    // already found the member.
-                    return;
-                  }
-                  if (onParameter.enclosingMethod.matchesCallableDeclaration(callableDeclaration)) {
-                    NodeList<?> params = callableDeclaration.getParameters();
-                    if (onParameter.index < params.size()) {
-                      if (params.get(onParameter.index) != null) {
-                        Node param = params.get(onParameter.index);
-                        if (param instanceof Parameter) {
-                          ans.set(change.computeTextModificationOn((Parameter) param));
-                        }
-                      }
-                    }
-                  }
-                }));
-    return ans.get();
+    CallableDeclaration<?> callableDeclaration = members.findCallable(onParameter.enclosingMethod);
+    if (callableDeclaration == null) {
+      return null;
+    }
+    NodeList<?> params = callableDeclaration.getParameters();
+    if (onParameter.index < params.size()) {
+      if (params.get(onParameter.index) != null) {
+        Node param = params.get(onParameter.index);
+        if (param instanceof Parameter) {
+          return change.computeTextModificationOn((Parameter) param);
+        }
+      }
+    }
+    return null;
   }
 
   @Override
   @Nullable
   public Modification visitClass(
-      OnClass onClass, Pair<NodeList<BodyDeclaration<?>>, ASTChange> pair) {
-    final NodeList<BodyDeclaration<?>> members = pair.a;
+      OnClass onClass, Pair<MemberIndex.TypeMembers, ASTChange> pair) {
+    final NodeList<BodyDeclaration<?>> members = pair.a.members;
     final ASTChange change = pair.b;
     if (isAnonymousClassFlatName(change.getLocation().clazz)) {
       return null;
@@ -176,8 +135,8 @@ public class ChangeVisitor
 
   @Override
   public Modification visitLocalVariable(
-      OnLocalVariable onLocalVariable, Pair<NodeList<BodyDeclaration<?>>, ASTChange> pair) {
-    final NodeList<BodyDeclaration<?>> members = pair.a;
+      OnLocalVariable onLocalVariable, Pair<MemberIndex.TypeMembers, ASTChange> pair) {
+    final NodeList<BodyDeclaration<?>> members = pair.a.members;
     final ASTChange change = pair.b;
     if (onLocalVariable.encMethod == null) {
       // The local variable is inside a static block initializer.
@@ -205,24 +164,21 @@ public class ChangeVisitor
       }
       return null;
     }
-    for (BodyDeclaration<?> member : members) {
-      if (member instanceof CallableDeclaration<?>) {
-        CallableDeclaration<?> callableDeclaration = (CallableDeclaration<?>) member;
-        if (onLocalVariable.encMethod.matchesCallableDeclaration(callableDeclaration)) {
-          // Find variable declaration in the callable declaration with the variable name.
-          VariableDeclarationExpr variableDeclarationExpr =
-              ASTUtils.locateVariableDeclarationExpr(callableDeclaration, onLocalVariable.varName);
-          if (variableDeclarationExpr == null) {
-            return null;
-          }
-          for (VariableDeclarator variableDeclarator : variableDeclarationExpr.getVariables()) {
-            if (variableDeclarator.getName().toString().equals(onLocalVariable.varName)) {
-              onLocalVariable.isOnArray = variableDeclarator.getType().isArrayType();
-              // Located the variable.
-              return change.computeTextModificationOn(variableDeclarationExpr);
-            }
-          }
-        }
+    CallableDeclaration<?> callableDeclaration = pair.a.findCallable(onLocalVariable.encMethod);
+    if (callableDeclaration == null) {
+      return null;
+    }
+    // Find variable declaration in the callable declaration with the variable name.
+    VariableDeclarationExpr variableDeclarationExpr =
+        ASTUtils.locateVariableDeclarationExpr(callableDeclaration, onLocalVariable.varName);
+    if (variableDeclarationExpr == null) {
+      return null;
+    }
+    for (VariableDeclarator variableDeclarator : variableDeclarationExpr.getVariables()) {
+      if (variableDeclarator.getName().toString().equals(onLocalVariable.varName)) {
+        onLocalVariable.isOnArray = variableDeclarator.getType().isArrayType();
+        // Located the variable.
+        return change.computeTextModificationOn(variableDeclarationExpr);
       }
     }
     return null;
@@ -230,8 +186,8 @@ public class ChangeVisitor
 
   @Override
   public Modification visitClassDeclaration(
-      OnClassDeclaration onClassDeclaration, Pair<NodeList<BodyDeclaration<?>>, ASTChange> pair) {
-    final NodeList<BodyDeclaration<?>> members = pair.a;
+      OnClassDeclaration onClassDeclaration, Pair<MemberIndex.TypeMembers, ASTChange> pair) {
+    final NodeList<BodyDeclaration<?>> members = pair.a.members;
     final ASTChange change = pair.b;
     // Get the enclosing class of the members
     Optional<Node> optionalClass = members.getParentNode();
@@ -258,9 +214,9 @@ public class ChangeVisitor
    */
   @Nullable
   public Modification computeModification(ASTChange change) {
-    NodeList<BodyDeclaration<?>> members;
+    MemberIndex.TypeMembers members;
     try {
-      members = ASTUtils.getTypeDeclarationMembersByFlatName(cu, change.getLocation().clazz);
+      members = index.getTypeMembers(change.getLocation().clazz);
       if (members == null) {
         return null;
       }
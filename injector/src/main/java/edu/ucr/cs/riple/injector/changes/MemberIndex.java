@@ -0,0 +1,183 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Nima Karimipour
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.ucr.cs.riple.injector.changes;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.ast.body.AnnotationMemberDeclaration;
+import com.github.javaparser.ast.body.BodyDeclaration;
+import com.github.javaparser.ast.body.CallableDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import edu.ucr.cs.riple.injector.exceptions.TargetClassNotFound;
+import edu.ucr.cs.riple.injector.location.OnMethod;
+import edu.ucr.cs.riple.injector.util.ASTUtils;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * Index of members of type declarations in a compilation unit. Members of each type are located
+ * once by flat name and indexed by name, therefore all changes on the same compilation unit are
+ * resolved without walking the tree or scanning all members of the enclosing type again.
+ */
+public class MemberIndex {
+
+  /** Compilation unit which its members are indexed. */
+  private final CompilationUnit cu;
+
+  /** Members of each located type by flat name. */
+  private final Map<String, TypeMembers> types;
+
+  /**
+   * Creates an empty index, types are indexed on their first lookup.
+   *
+   * @param cu Compilation unit which its members are indexed.
+   */
+  public MemberIndex(CompilationUnit cu) {
+    this.cu = cu;
+    this.types = new HashMap<>();
+  }
+
+  /**
+   * Returns the members of the type declaration with the given flat name.
+   *
+   * @param flatName Flat name of the type.
+   * @return Members of the type, or null if the type does not have any members.
+   * @throws TargetClassNotFound if the target class is not found.
+   */
+  @Nullable
+  public TypeMembers getTypeMembers(String flatName) throws TargetClassNotFound {
+    if (types.containsKey(flatName)) {
+      return types.get(flatName);
+    }
+    NodeList<BodyDeclaration<?>> members =
+        ASTUtils.getTypeDeclarationMembersByFlatName(cu, flatName);
+    TypeMembers typeMembers = members == null ? null : new TypeMembers(members);
+    types.put(flatName, typeMembers);
+    return typeMembers;
+  }
+
+  /** Members of a type declaration indexed by their names. */
+  public static class TypeMembers {
+
+    /** Members of the type declaration. */
+    public final NodeList<BodyDeclaration<?>> members;
+
+    /** Callable declarations by their names in the order of declaration. */
+    private final Map<String, List<CallableDeclaration<?>>> callables;
+
+    /** Annotation member declarations by their names. */
+    private final Map<String, AnnotationMemberDeclaration> annotationMembers;
+
+    /** Position of the first field declaration in members declaring each variable. */
+    private final Map<String, Integer> fields;
+
+    /** Resolved callable declarations by their signatures. */
+    private final Map<String, CallableDeclaration<?>> signatures;
+
+    private TypeMembers(NodeList<BodyDeclaration<?>> members) {
+      this.members = members;
+      this.callables = new HashMap<>();
+      this.annotationMembers = new HashMap<>();
+      this.fields = new HashMap<>();
+      this.signatures = new HashMap<>();
+      for (int i = 0; i < members.size(); i++) {
+        BodyDeclaration<?> member = members.get(i);
+        if (member instanceof CallableDeclaration<?>) {
+          CallableDeclaration<?> callable = (CallableDeclaration<?>) member;
+          callables
+              .computeIfAbsent(callable.getNameAsString(), k -> new ArrayList<>())
+              .add(callable);
+        } else if (member instanceof AnnotationMemberDeclaration) {
+          AnnotationMemberDeclaration annotationMember = (AnnotationMemberDeclaration) member;
+          annotationMembers.put(annotationMember.getNameAsString(), annotationMember);
+        } else if (member instanceof FieldDeclaration) {
+          for (VariableDeclarator variable : ((FieldDeclaration) member).getVariables()) {
+            fields.putIfAbsent(variable.getNameAsString(), i);
+          }
+        }
+      }
+    }
+
+    /**
+     * Returns the first callable declaration matching the signature of the given method.
+     *
+     * @param onMethod Location of the method.
+     * @return The callable declaration, or null if no callable matches the signature.
+     */
+    @Nullable
+    public CallableDeclaration<?> findCallable(OnMethod onMethod) {
+      if (signatures.containsKey(onMethod.method)) {
+        return signatures.get(onMethod.method);
+      }
+      CallableDeclaration<?> ans = null;
+      List<CallableDeclaration<?>> candidates =
+          callables.get(ASTUtils.extractCallableName(onMethod.method));
+      if (candidates != null) {
+        for (CallableDeclaration<?> candidate : candidates) {
+          if (onMethod.matchesCallableDeclaration(candidate)) {
+            ans = candidate;
+            break;
+          }
+        }
+      }
+      signatures.put(onMethod.method, ans);
+      return ans;
+    }
+
+    /**
+     * Returns the annotation member declaration with the given name.
+     *
+     * @param name Name of the annotation member.
+     * @return The annotation member declaration, or null if it does not exist.
+     */
+    @Nullable
+    public AnnotationMemberDeclaration findAnnotationMember(String name) {
+      return annotationMembers.get(name);
+    }
+
+    /**
+     * Returns the first field declaration declaring any of the given variables.
+     *
+     * @param variables Names of variables.
+     * @return The field declaration, or null if none of the variables is declared.
+     */
+    @Nullable
+    public FieldDeclaration findField(Set<String> variables) {
+      int position = Integer.MAX_VALUE;
+      for (String variable : variables) {
+        Integer index = fields.get(variable);
+        if (index != null && index < position) {
+          position = index;
+        }
+      }
+      return position == Integer.MAX_VALUE ? null : members.get(position).asFieldDeclaration();
+    }
+  }
+}
@@ -26,8 +26,8 @@ package edu.ucr.cs.riple.injector.modifications;
 
 import com.github.javaparser.Position;
 import com.google.common.base.Preconditions;
+import edu.ucr.cs.riple.injector.SourceBuffer;
 import edu.ucr.cs.riple.injector.offsets.FileOffsetStore;
-import java.util.List;
 
 /** Represents a deletion of a content in the source file. */
 public class Deletion extends SinglePositionModification {
@@ -42,18 +42,18 @@ public class Deletion extends SinglePositionModification {
   }
 
   @Override
-  public void visit(List<String> lines, FileOffsetStore offsetStore) {
+  public void visit(SourceBuffer buffer, FileOffsetStore offsetStore) {
     // all deletion logic below is written based on the fact that Injector only removes annotations
     // it added itself, therefore it does not cover all cases. All added annotations are inserted in
     // a single line and are followed by a space.
     Preconditions.checkArgument(
         startPosition.line == endPosition.line,
         "Cannot delete annotations that are written in multiple lines");
-    StringBuilder line = new StringBuilder(lines.get(startPosition.line));
+    int length = buffer.getLine(startPosition.line).length();
     // add extra 1 for the added white space.
-    line.delete(startPosition.column, endPosition.column + 2);
+    buffer.delete(
+        startPosition.line, startPosition.column, Math.min(endPosition.column + 2, length));
     offsetStore.updateOffsetWithDeletion(
         startPosition.line, startPosition.column, endPosition.column - startPosition.column + 2);
-    lines.set(startPosition.line, line.toString());
   }
 }
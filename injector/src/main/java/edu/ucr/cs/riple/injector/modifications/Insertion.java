@@ -25,8 +25,8 @@
 package edu.ucr.cs.riple.injector.modifications;
 
 import com.github.javaparser.Position;
+import edu.ucr.cs.riple.injector.SourceBuffer;
 import edu.ucr.cs.riple.injector.offsets.FileOffsetStore;
-import java.util.List;
 
 /** Represents an insertion of a content in the source file. */
 public class Insertion extends SinglePositionModification {
@@ -36,12 +36,9 @@ public class Insertion extends SinglePositionModification {
   }
 
   @Override
-  public void visit(List<String> lines, FileOffsetStore offsetStore) {
+  public void visit(SourceBuffer buffer, FileOffsetStore offsetStore) {
     String toAdd = this.content + " ";
-    String line = lines.get(startPosition.line);
     offsetStore.updateOffsetWithAddition(startPosition.line, startPosition.column, toAdd.length());
-    lines.set(
-        startPosition.line,
-        line.substring(0, startPosition.column) + toAdd + line.substring(startPosition.column));
+    buffer.insert(startPosition.line, startPosition.column, toAdd);
   }
 }
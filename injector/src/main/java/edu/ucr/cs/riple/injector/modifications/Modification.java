@@ -25,10 +25,10 @@
 package edu.ucr.cs.riple.injector.modifications;
 
 import com.github.javaparser.Position;
+import edu.ucr.cs.riple.injector.SourceBuffer;
 import edu.ucr.cs.riple.injector.changes.ASTChange;
 import edu.ucr.cs.riple.injector.offsets.FileOffsetStore;
 import java.util.Comparator;
-import java.util.List;
 import java.util.Set;
 
 /**
@@ -41,12 +41,13 @@ public interface Modification extends Comparable<Modification> {
   Comparator<Modification> COMPARATOR = Comparator.comparing(Modification::getStartingPosition);
 
   /**
-   * Visits the source file as list of lines and applies its modification to it.
+   * Visits the source file and applies its modification to it. Positions of modifications are in
+   * the coordinates of the original content of the source file.
    *
-   * @param lines List of lines of the target source code.
+   * @param buffer Buffer of the target source code.
    * @param offsetStore Offset change info of the original version.
    */
-  void visit(List<String> lines, FileOffsetStore offsetStore);
+  void visit(SourceBuffer buffer, FileOffsetStore offsetStore);
 
   /**
    * Returns the starting position of the modification on the source file. Required to sort a
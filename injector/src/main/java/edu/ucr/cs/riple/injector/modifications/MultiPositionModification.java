@@ -25,9 +25,9 @@
 package edu.ucr.cs.riple.injector.modifications;
 
 import com.github.javaparser.Position;
+import edu.ucr.cs.riple.injector.SourceBuffer;
 import edu.ucr.cs.riple.injector.offsets.FileOffsetStore;
 import java.util.Collections;
-import java.util.List;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
@@ -48,8 +48,8 @@ public class MultiPositionModification implements Modification {
   }
 
   @Override
-  public void visit(List<String> lines, FileOffsetStore offsetStore) {
-    this.modifications.forEach(modification -> modification.visit(lines, offsetStore));
+  public void visit(SourceBuffer buffer, FileOffsetStore offsetStore) {
+    this.modifications.forEach(modification -> modification.visit(buffer, offsetStore));
   }
 
   @Override
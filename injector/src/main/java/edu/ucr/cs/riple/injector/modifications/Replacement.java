@@ -25,8 +25,8 @@
 package edu.ucr.cs.riple.injector.modifications;
 
 import com.github.javaparser.Position;
+import edu.ucr.cs.riple.injector.SourceBuffer;
 import edu.ucr.cs.riple.injector.offsets.FileOffsetStore;
-import java.util.List;
 
 /** Represents a replacement of a content in the source file. */
 public class Replacement extends SinglePositionModification {
@@ -44,29 +44,24 @@ public class Replacement extends SinglePositionModification {
   }
 
   @Override
-  public void visit(List<String> lines, FileOffsetStore offsetStore) {
-    StringBuilder line = new StringBuilder(lines.get(startPosition.line));
+  public void visit(SourceBuffer buffer, FileOffsetStore offsetStore) {
+    String line = buffer.getLine(startPosition.line);
     // Since replacements are only on fields and methods, we can compute paddings based on the
     // starting line.
-    StringBuilder padding = new StringBuilder();
     int head = 0;
     while (head < line.length() && Character.isWhitespace(line.charAt(head))) {
-      padding.append(line.charAt(head));
       head += 1;
     }
-    head = startPosition.line;
-    while (head < endPosition.line) {
-      lines.remove(startPosition.line);
-      head++;
-    }
-    line = new StringBuilder(lines.get(startPosition.line));
-    line.delete(0, endPosition.column + 1);
-    if (!line.toString().isEmpty()) {
+    String padding = line.substring(0, head);
+    // Lines from the start line to the end line are replaced with the new content, other content
+    // on the end line after the replaced content is kept on a separate line.
+    String endLine = buffer.getLine(endPosition.line);
+    String rest = endLine.substring(Math.min(endPosition.column + 1, endLine.length()));
+    String replacement = padding + content;
+    if (!rest.isEmpty()) {
       // keep other content if exists.
-      lines.set(startPosition.line, padding + line.toString().strip());
-    } else {
-      lines.remove(startPosition.line);
+      replacement += buffer.getLineSeparator() + padding + rest.strip();
     }
-    lines.add(startPosition.line, padding + content);
+    buffer.replace(startPosition.line, 0, endPosition.line, endLine.length(), replacement);
   }
 }
@@ -24,17 +24,19 @@
 
 package edu.ucr.cs.riple.injector.offsets;
 
-import static java.util.stream.Collectors.groupingBy;
-import static java.util.stream.Collectors.mapping;
-
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSortedSet;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Objects;
+import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 
 /** Stores list of offset changes for a file. */
 public class FileOffsetStore {
@@ -43,15 +45,60 @@ public class FileOffsetStore {
   private final Path path;
 
   /** List of existing offset changes. */
-  private SortedSet<OffsetChange> offsetChanges;
+  private NavigableSet<OffsetChange> offsetChanges;
 
-  /** Contents of file. */
-  private final ImmutableList<String> lines;
+  /**
+   * Whether {@link #offsetChanges} is summarized, i.e. there is at most one offset change at each
+   * position. Offset changes added by the update methods for a single modification are not
+   * summarized until new offset changes are merged into this store.
+   */
+  private boolean summarized;
+
+  /**
+   * Character offset of the start of each line of the file content this store is created for, with
+   * an extra element holding the offset right after the last line. Offset changes are recorded
+   * relative to this content.
+   */
+  private final int[] lineStarts;
+
+  /**
+   * Index over {@link #offsetChanges} to compute original offsets, built lazily on the first query
+   * after offset changes are modified. Null if it is not built yet or is outdated.
+   */
+  @Nullable private volatile OffsetIndex index;
 
   public FileOffsetStore(List<String> lines, Path path) {
-    this.lines = ImmutableList.copyOf(lines);
+    this(computeLineStarts(lines), path);
+  }
+
+  /**
+   * Creates an offset store for a file content with the given line starts.
+   *
+   * @param lineStarts Character offset of the start of each line, with an extra element holding the
+   *     offset right after the last line.
+   * @param path Path of target file.
+   */
+  public FileOffsetStore(int[] lineStarts, Path path) {
+    this.lineStarts = lineStarts;
     this.path = path;
     this.offsetChanges = new TreeSet<>();
+    this.summarized = true;
+  }
+
+  /**
+   * Computes the character offset of the start of each line, where lines are separated by a
+   * single character.
+   *
+   * @param lines Lines of the file content.
+   * @return Character offsets of line starts, with an extra element for the end of content.
+   */
+  private static int[] computeLineStarts(List<String> lines) {
+    int[] lineStarts = new int[lines.size() + 1];
+    for (int i = 0; i < lines.size(); i++) {
+      // add one for new line.
+      lineStarts[i + 1] = lineStarts[i] + lines.get(i).length() + 1;
+    }
+    return lineStarts;
   }
 
   /**
@@ -64,6 +111,8 @@ public class FileOffsetStore {
   public void updateOffsetWithAddition(int line, int column, int numChars) {
     int offset = characterOffsetAtLine(line);
     this.offsetChanges.add(new OffsetChange(offset + column, numChars));
+    this.summarized = false;
+    this.index = null;
   }
 
   /**
@@ -76,6 +125,8 @@ public class FileOffsetStore {
     int offset = characterOffsetAtLine(line);
     // add one to numChars for new line.
     this.offsetChanges.add(new OffsetChange(offset, numChars + 1));
+    this.summarized = false;
+    this.index = null;
   }
 
   /**
@@ -88,6 +139,8 @@ public class FileOffsetStore {
   public void updateOffsetWithDeletion(int line, int column, int numChars) {
     int offset = characterOffsetAtLine(line);
     this.offsetChanges.add(new OffsetChange(offset + column, -1 * numChars));
+    this.summarized = false;
+    this.index = null;
   }
 
   /**
@@ -97,12 +150,10 @@ public class FileOffsetStore {
    * @return Number of characters before reaching a line.
    */
   private int characterOffsetAtLine(int line) {
-    int ans = 0;
-    for (int current = 0; current < line && current < lines.size(); current++) {
-      ans += lines.get(current).length();
-      ans += 1; // for new line.
+    if (line <= 0) {
+      return 0;
     }
-    return ans;
+    return lineStarts[Math.min(line, lineStarts.length - 1)];
   }
 
   /**
@@ -131,11 +182,37 @@ public class FileOffsetStore {
    */
   public void updateStateWithNewOffsetChanges(ImmutableSortedSet<OffsetChange> changes) {
     // convert offset changes to original offsets according to existing offset changes.
-    this.offsetChanges.addAll(
+    Set<OffsetChange> converted =
         changes.stream()
-            .map(offsetChange -> offsetChange.getOffsetWithoutChanges(offsetChanges))
-            .collect(Collectors.toSet()));
-    this.summarize();
+            .map(
+                offsetChange ->
+                    new OffsetChange(
+                        getOriginalOffset(offsetChange.position), offsetChange.numChars))
+            .collect(Collectors.toSet());
+    if (summarized) {
+      merge(converted);
+    } else {
+      this.offsetChanges.addAll(converted);
+      this.summarize();
+    }
+    this.index = null;
+  }
+
+  /**
+   * Computes the original offset of the given offset according to existing offset changes. Returns
+   * the same result as {@link OffsetChange#getOriginalOffset(int, SortedSet)} on {@link
+   * #getOffsetChanges()} in logarithmic time.
+   *
+   * @param offset Given offset.
+   * @return Original offset.
+   */
+  public int getOriginalOffset(int offset) {
+    OffsetIndex current = index;
+    if (current == null) {
+      current = new OffsetIndex(offsetChanges);
+      index = current;
+    }
+    return current.getOriginalOffset(offset);
   }
 
   @Override
@@ -155,26 +232,126 @@ public class FileOffsetStore {
     return Objects.hash(getPath());
   }
 
+  /**
+   * Sorted arrays with prefix sums over offset changes. Walking the changes in order, the offset
+   * {@code y} is shifted back by every change it passes, and the walk stops at the first change i
+   * where {@code y - sums[i] <= positions[i]}, or equivalently {@code y <= positions[i] + sums[i]}.
+   * Since {@code positions[i] + sums[i]} is not monotonic, its running maximum is stored and
+   * searched instead, which finds the same first change.
+   */
+  private static class OffsetIndex {
+
+    /** Positions of offset changes in ascending order. */
+    private final int[] positions;
+
+    /** Sum of number of characters of all changes before the change at each index. */
+    private final int[] sums;
+
+    /** Running maximum of {@code positions[i] + sums[i]}. */
+    private final int[] thresholds;
+
+    /** Sum of number of characters of all changes. */
+    private final int total;
+
+    private OffsetIndex(SortedSet<OffsetChange> offsetChanges) {
+      int size = offsetChanges.size();
+      this.positions = new int[size];
+      this.sums = new int[size];
+      this.thresholds = new int[size];
+      int sum = 0;
+      int max = Integer.MIN_VALUE;
+      int i = 0;
+      for (OffsetChange change : offsetChanges) {
+        positions[i] = change.position;
+        sums[i] = sum;
+        max = Math.max(max, change.position + sum);
+        thresholds[i] = max;
+        sum += change.numChars;
+        i++;
+      }
+      this.total = sum;
+    }
+
+    /**
+     * Computes the original offset of the given offset.
+     *
+     * @param offset Given offset.
+     * @return Original offset.
+     */
+    private int getOriginalOffset(int offset) {
+      // Find the first index where offset <= thresholds[index].
+      int low = 0;
+      int high = thresholds.length;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (thresholds[mid] >= offset) {
+          high = mid;
+        } else {
+          low = mid + 1;
+        }
+      }
+      return low == thresholds.length ? offset - total : offset - sums[low];
+    }
+  }
+
   /**
    * Summarizes offset changes. (e.g. offset change (p1, d1) and (p1, -d1 + e) can be summarized to
    * (p1, e)). Also during search, we have many consecutive addition and deletion on the same
-   * position, this method can summarize them into a single offset change.
+   * position, this method can summarize them into a single offset change. Offset changes are
+   * sorted by position, therefore changes on the same position are consecutive and are summarized
+   * in a single pass.
    */
   private void summarize() {
-    offsetChanges =
-        offsetChanges.stream()
-            .collect(
-                groupingBy(
-                    offsetChange -> offsetChange.position,
-                    mapping(offsetChange -> offsetChange.numChars, Collectors.toList())))
-            .entrySet()
-            .stream()
-            .map(
-                entry ->
-                    new OffsetChange(
-                        entry.getKey(), entry.getValue().stream().mapToInt(value -> value).sum()))
-            .filter(oc -> oc.numChars != 0)
-            .sorted(OffsetChange::compareTo)
-            .collect(Collectors.toCollection(TreeSet::new));
+    List<OffsetChange> result = new ArrayList<>(offsetChanges.size());
+    OffsetChange previous = null;
+    int sum = 0;
+    for (OffsetChange change : offsetChanges) {
+      if (previous != null && previous.position != change.position) {
+        if (sum != 0) {
+          result.add(new OffsetChange(previous.position, sum));
+        }
+        sum = 0;
+      }
+      sum += change.numChars;
+      previous = change;
+    }
+    if (previous != null && sum != 0) {
+      result.add(new OffsetChange(previous.position, sum));
+    }
+    offsetChanges = new TreeSet<>(result);
+    summarized = true;
+  }
+
+  /**
+   * Merges the given offset changes into summarized existing offset changes. Only positions of the
+   * given changes are updated, which is equivalent to adding the given changes and summarizing all
+   * offset changes again. Like adding to the set, a given change which is equal to an existing
+   * change is ignored.
+   *
+   * @param changes Offset changes to merge, positions must be relative to the original content.
+   */
+  private void merge(Set<OffsetChange> changes) {
+    Map<Integer, Integer> sums = new HashMap<>();
+    changes.stream()
+        .filter(change -> !offsetChanges.contains(change))
+        .forEach(change -> sums.merge(change.position, change.numChars, Integer::sum));
+    sums.forEach(
+        (position, numChars) -> {
+          // Existing changes are summarized, there is at most one change at this position.
+          NavigableSet<OffsetChange> existing =
+              offsetChanges.subSet(
+                  new OffsetChange(position, Integer.MIN_VALUE),
+                  true,
+                  new OffsetChange(position, Integer.MAX_VALUE),
+                  true);
+          int sum = numChars;
+          for (OffsetChange change : existing) {
+            sum += change.numChars;
+          }
+          existing.clear();
+          if (sum != 0) {
+            offsetChanges.add(new OffsetChange(position, sum));
+          }
+        });
   }
 }
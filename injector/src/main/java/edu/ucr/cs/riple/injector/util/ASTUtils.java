@@ -136,7 +136,8 @@ public class ASTUtils {
       String actualName = key.substring(indexString.length());
       int index = indexString.isEmpty() ? 0 : Integer.parseInt(indexString) - 1;
       Preconditions.checkNotNull(cursor);
-      if (key.matches("\\d+")) {
+      if (!indexString.isEmpty() && actualName.isEmpty()) {
+        // Key only contains digits.
         cursor = findAnonymousClassOrEnumConstant(cursor, index);
       } else {
         cursor =
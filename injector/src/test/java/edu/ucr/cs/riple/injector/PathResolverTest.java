@@ -0,0 +1,165 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Nima Karimipour
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.ucr.cs.riple.injector;
+
+import com.github.javaparser.ParserConfiguration;
+import edu.ucr.cs.riple.injector.changes.AddAnnotation;
+import edu.ucr.cs.riple.injector.changes.AddMarkerAnnotation;
+import edu.ucr.cs.riple.injector.location.OnMethod;
+import edu.ucr.cs.riple.injector.offsets.FileOffsetStore;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class PathResolverTest {
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  /** Directory of the original source files. */
+  private Path sources;
+
+  /** Directory of the copies changes are applied on. */
+  private Path copies;
+
+  @Before
+  public void init() throws IOException {
+    sources = temporaryFolder.newFolder("sources").toPath();
+    copies = temporaryFolder.newFolder("copies").toPath();
+  }
+
+  @Test
+  public void resolverIsCalledOnCallingThread() throws IOException {
+    Set<AddAnnotation> changes = new HashSet<>();
+    Map<Path, String> originals = new HashMap<>();
+    for (int i = 0; i < 32; i++) {
+      Path source = createSource("C" + i);
+      originals.put(source, Files.readString(source, Charset.defaultCharset()));
+      changes.add(annotation(source, "test.C" + i));
+    }
+    // Resolver copies source files on first use and keeps the copies in a map which is not
+    // thread-safe.
+    Map<Path, Path> resolved = new HashMap<>();
+    List<Thread> threads = new ArrayList<>();
+    Injector injector =
+        new Injector(
+            ParserConfiguration.LanguageLevel.JAVA_11,
+            path -> {
+              threads.add(Thread.currentThread());
+              return resolved.computeIfAbsent(path, this::copy);
+            });
+    Set<FileOffsetStore> offsets = injector.addAnnotations(changes);
+    Assert.assertEquals(originals.size(), offsets.size());
+    Assert.assertEquals(originals.size(), resolved.size());
+    Assert.assertTrue(threads.stream().allMatch(thread -> thread == Thread.currentThread()));
+    Assert.assertEquals(
+        new HashSet<>(resolved.values()),
+        offsets.stream().map(FileOffsetStore::getPath).collect(Collectors.toSet()));
+    for (Map.Entry<Path, String> entry : originals.entrySet()) {
+      Assert.assertEquals(
+          entry.getValue(), Files.readString(entry.getKey(), Charset.defaultCharset()));
+      Assert.assertTrue(
+          Files.readString(resolved.get(entry.getKey()), Charset.defaultCharset())
+              .contains("@Nullable"));
+    }
+  }
+
+  @Test
+  public void changesOnUnresolvedPathsAreSkipped() throws IOException {
+    Path skipped = createSource("A");
+    Path applied = createSource("B");
+    String original = Files.readString(skipped, Charset.defaultCharset());
+    Injector injector =
+        new Injector(
+            ParserConfiguration.LanguageLevel.JAVA_11,
+            path -> path.equals(skipped) ? null : path);
+    Set<FileOffsetStore> offsets =
+        injector.addAnnotations(
+            Set.of(annotation(skipped, "test.A"), annotation(applied, "test.B")));
+    Assert.assertEquals(
+        Set.of(applied),
+        offsets.stream().map(FileOffsetStore::getPath).collect(Collectors.toSet()));
+    Assert.assertEquals(original, Files.readString(skipped, Charset.defaultCharset()));
+    Assert.assertTrue(Files.readString(applied, Charset.defaultCharset()).contains("@Nullable"));
+  }
+
+  /**
+   * Creates a source file of class {@code test.<name>} with method {@code foo()}.
+   *
+   * @param name Simple name of the class.
+   * @return Path to the source file.
+   */
+  private Path createSource(String name) throws IOException {
+    Path path = sources.resolve(name + ".java");
+    Files.writeString(
+        path,
+        "package test;\npublic class " + name + " {\n  Object foo() {\n    return null;\n  }\n}\n",
+        Charset.defaultCharset());
+    return path;
+  }
+
+  /**
+   * Copies the given source file to the copies directory.
+   *
+   * @param path Path to the source file.
+   * @return Path to the copy.
+   */
+  private Path copy(Path path) {
+    Path copy = copies.resolve(path.getFileName());
+    try {
+      Files.copy(path, copy);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return copy;
+  }
+
+  /**
+   * Creates an annotation of {@code @javax.annotation.Nullable} on method {@code foo()}.
+   *
+   * @param path Path to the source file.
+   * @param clazz Class declaring the method.
+   * @return The annotation.
+   */
+  private static AddAnnotation annotation(Path path, String clazz) {
+    return new AddMarkerAnnotation(new OnMethod(path, clazz, "foo()"), "javax.annotation.Nullable");
+  }
+}
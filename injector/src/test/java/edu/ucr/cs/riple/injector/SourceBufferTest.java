@@ -0,0 +1,217 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Nima Karimipour
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.ucr.cs.riple.injector;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class SourceBufferTest {
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void linesMatchReadAllLines() throws IOException {
+    for (String content :
+        List.of(
+            "a\nb\n",
+            "a\r\nb\r\n",
+            "a\rb\r",
+            "a\n\r\n\rb",
+            "a\r\n\nb",
+            "no terminator",
+            "\n\n",
+            "\r\r\n",
+            "")) {
+      Path path = write(content, StandardCharsets.UTF_8);
+      SourceBuffer buffer = buffer(content, StandardCharsets.UTF_8);
+      List<String> lines = new ArrayList<>();
+      for (int i = 0; i < buffer.getLineCount(); i++) {
+        lines.add(buffer.getLine(i));
+      }
+      Assert.assertEquals(Files.readAllLines(path, StandardCharsets.UTF_8), lines);
+      int[] starts = buffer.getLineStarts();
+      Assert.assertEquals(buffer.getLineCount() + 1, starts.length);
+      Assert.assertEquals(content.length(), starts[starts.length - 1]);
+      for (int i = 0; i < buffer.getLineCount(); i++) {
+        Assert.assertTrue(content.startsWith(lines.get(i), starts[i]));
+      }
+      Assert.assertEquals(content, writeAndRead(buffer, StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  public void firstLineTerminatorIsUsedForNewLines() throws IOException {
+    Assert.assertEquals("\r\n", buffer("a\r\nb\nc\r", StandardCharsets.UTF_8).getLineSeparator());
+    Assert.assertEquals("\r", buffer("a\rb\r\n", StandardCharsets.UTF_8).getLineSeparator());
+    Assert.assertEquals("\n", buffer("a\nb\r\n", StandardCharsets.UTF_8).getLineSeparator());
+    Assert.assertEquals(
+        System.lineSeparator(), buffer("a", StandardCharsets.UTF_8).getLineSeparator());
+    Assert.assertEquals(
+        System.lineSeparator(), buffer("", StandardCharsets.UTF_8).getLineSeparator());
+  }
+
+  @Test
+  public void emptyFile() throws IOException {
+    SourceBuffer buffer = buffer("", StandardCharsets.UTF_8);
+    Assert.assertEquals(0, buffer.getLineCount());
+    Assert.assertFalse(buffer.isModified());
+    String separator = buffer.getLineSeparator();
+    Assert.assertEquals(3 + separator.length(), buffer.insertLine(0, "abc"));
+    Assert.assertTrue(buffer.isModified());
+    Assert.assertEquals("abc" + separator, writeAndRead(buffer, StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void nonAsciiContentIsSlicedByCharacters() throws IOException {
+    String content = "class \u00c9 {\n  String s = \"\u03c0\u00e9\";\n}\n";
+    for (Charset charset : List.of(StandardCharsets.UTF_8, StandardCharsets.UTF_16)) {
+      SourceBuffer buffer = buffer(content, charset);
+      Assert.assertEquals("  String s = \"\u03c0\u00e9\";", buffer.getLine(1));
+      buffer.insert(0, 9, "<T>");
+      buffer.insert(1, 2, "@Nullable ");
+      buffer.replace(1, 14, 1, 16, "\u00fc");
+      Assert.assertEquals(
+          "class \u00c9 {<T>\n  @Nullable String s = \"\u00fc\";\n}\n",
+          writeAndRead(buffer, charset));
+    }
+  }
+
+  @Test
+  public void editsAtSamePositionAppearInReverseOrder() throws IOException {
+    SourceBuffer buffer = buffer("foo bar\n", StandardCharsets.UTF_8);
+    buffer.insert(0, 4, "@A ");
+    buffer.insert(0, 4, "@B ");
+    buffer.insert(0, 7, "1");
+    buffer.insert(0, 7, "2");
+    Assert.assertEquals("foo @B @A bar21\n", writeAndRead(buffer, StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void insertionsAtBoundariesOfReplacedSpan() throws IOException {
+    SourceBuffer buffer = buffer("int foo;\n", StandardCharsets.UTF_8);
+    buffer.insert(0, 4, "[");
+    buffer.replace(0, 4, 0, 7, "bar");
+    buffer.insert(0, 4, "@A ");
+    buffer.insert(0, 7, "]");
+    Assert.assertEquals("int @A bar[];\n", writeAndRead(buffer, StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void overlappingEditsAreRejected() throws IOException {
+    SourceBuffer inside = buffer("int foo;\n", StandardCharsets.UTF_8);
+    inside.replace(0, 4, 0, 7, "bar");
+    inside.insert(0, 5, "x");
+    Assert.assertThrows(IllegalStateException.class, () -> inside.write(newFile()));
+    SourceBuffer crossing = buffer("int foo;\n", StandardCharsets.UTF_8);
+    crossing.delete(0, 0, 5);
+    crossing.delete(0, 4, 7);
+    Assert.assertThrows(IllegalStateException.class, () -> crossing.write(newFile()));
+    SourceBuffer same = buffer("int foo;\n", StandardCharsets.UTF_8);
+    same.replace(0, 4, 0, 7, "bar");
+    same.replace(0, 4, 0, 7, "baz");
+    Assert.assertThrows(IllegalStateException.class, () -> same.write(newFile()));
+  }
+
+  @Test
+  public void insertLineReturnsInsertedCharacters() throws IOException {
+    SourceBuffer buffer = buffer("a\r\nb", StandardCharsets.UTF_8);
+    Assert.assertEquals(3, buffer.insertLine(0, "x"));
+    Assert.assertEquals(4, buffer.insertLine(1, "yy"));
+    // Last line does not have a line terminator, a terminator is added before the new line.
+    Assert.assertEquals(7, buffer.insertLine(10, "zzz"));
+    Assert.assertEquals(
+        "x\r\na\r\nyy\r\nb\r\nzzz\r\n", writeAndRead(buffer, StandardCharsets.UTF_8));
+    SourceBuffer terminated = buffer("a\n", StandardCharsets.UTF_8);
+    Assert.assertEquals(2, terminated.insertLine(1, "b"));
+    Assert.assertEquals("a\nb\n", writeAndRead(terminated, StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void columnsOutOfLineAreRejected() throws IOException {
+    SourceBuffer buffer = buffer("ab\r\ncd\n", StandardCharsets.UTF_8);
+    Assert.assertThrows(IndexOutOfBoundsException.class, () -> buffer.insert(0, 3, "x"));
+    Assert.assertThrows(IndexOutOfBoundsException.class, () -> buffer.insert(1, -1, "x"));
+    buffer.insert(0, 2, "x");
+    Assert.assertEquals("abx\r\ncd\n", writeAndRead(buffer, StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Creates a buffer over the given content encoded in the given charset.
+   *
+   * @param content Content of the buffer.
+   * @param charset Charset of the content.
+   * @return Created buffer.
+   */
+  private static SourceBuffer buffer(String content, Charset charset) throws IOException {
+    return new SourceBuffer(content.getBytes(charset), charset);
+  }
+
+  /**
+   * Writes the given buffer to a new file and reads it back.
+   *
+   * @param buffer Buffer to write.
+   * @param charset Charset of the buffer.
+   * @return Content of the written file.
+   */
+  private String writeAndRead(SourceBuffer buffer, Charset charset) throws IOException {
+    Path path = newFile();
+    buffer.write(path);
+    return new String(Files.readAllBytes(path), charset);
+  }
+
+  /**
+   * Writes the given content to a new file.
+   *
+   * @param content Content of the file.
+   * @param charset Charset of the file.
+   * @return Path to the file.
+   */
+  private Path write(String content, Charset charset) throws IOException {
+    Path path = newFile();
+    Files.write(path, content.getBytes(charset));
+    return path;
+  }
+
+  /**
+   * Creates a new empty file.
+   *
+   * @return Path to the file.
+   */
+  private Path newFile() throws IOException {
+    return temporaryFolder.newFile().toPath();
+  }
+}
@@ -0,0 +1,197 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Nima Karimipour
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.ucr.cs.riple.injector.changes;
+
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.BodyDeclaration;
+import com.github.javaparser.ast.body.CallableDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import edu.ucr.cs.riple.injector.ParseCache;
+import edu.ucr.cs.riple.injector.exceptions.TargetClassNotFound;
+import edu.ucr.cs.riple.injector.location.OnMethod;
+import edu.ucr.cs.riple.injector.util.ASTUtils;
+import java.util.List;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class MemberIndexTest {
+
+  /** Source of the compilation unit indexed in tests. */
+  private static final String SOURCE =
+      String.join(
+          "\n",
+          "package test;",
+          "import java.util.List;",
+          "public class A {",
+          "   int a, b;",
+          "   Object c;",
+          "   int b2 = 0, a2 = 0;",
+          "   A() { }",
+          "   A(int i) { }",
+          "   void foo() { }",
+          "   void foo(int i) { }",
+          "   void foo(String s) { }",
+          "   void foo(List<String> l) { }",
+          "   <T> void foo(T t, int i) { }",
+          "   void bar(Object o) { }",
+          "   void bar(Object o) { }",
+          "   void run() {",
+          "      Runnable r = new Runnable() {",
+          "         public void run() { }",
+          "         void foo(int i) { }",
+          "      };",
+          "   }",
+          "   class Inner {",
+          "      void foo(int i) { }",
+          "   }",
+          "}");
+
+  /** Signatures of all callables of type {@code test.A}. */
+  private static final List<String> SIGNATURES =
+      List.of(
+          "A()",
+          "A(int)",
+          "foo()",
+          "foo(int)",
+          "foo(java.lang.String)",
+          "foo(java.util.List<java.lang.String>)",
+          "<T>foo(T,int)",
+          "bar(java.lang.Object)",
+          "run()",
+          "foo(long)",
+          "baz()");
+
+  @Test
+  public void overloadsAndConstructorsMatchLinearSearch() throws TargetClassNotFound {
+    CompilationUnit cu = parse();
+    MemberIndex.TypeMembers members = new MemberIndex(cu).getTypeMembers("test.A");
+    Assert.assertNotNull(members);
+    for (String signature : SIGNATURES) {
+      OnMethod onMethod = new OnMethod("A.java", "test.A", signature);
+      CallableDeclaration<?> expected = findLinear(cu, onMethod);
+      Assert.assertSame(expected, members.findCallable(onMethod));
+      // Resolved signatures are cached.
+      Assert.assertSame(expected, members.findCallable(onMethod));
+    }
+    Assert.assertTrue(
+        members
+            .findCallable(new OnMethod("A.java", "test.A", "A(int)"))
+            .isConstructorDeclaration());
+    Assert.assertEquals(
+        1,
+        members
+            .findCallable(new OnMethod("A.java", "test.A", "foo(java.lang.String)"))
+            .getParameters()
+            .size());
+    Assert.assertNull(members.findCallable(new OnMethod("A.java", "test.A", "foo(long)")));
+  }
+
+  @Test
+  public void firstMatchingDeclarationIsReturned() throws TargetClassNotFound {
+    CompilationUnit cu = parse();
+    MemberIndex.TypeMembers members = new MemberIndex(cu).getTypeMembers("test.A");
+    CallableDeclaration<?> found =
+        members.findCallable(new OnMethod("A.java", "test.A", "bar(java.lang.Object)"));
+    CallableDeclaration<?> first =
+        members.members.stream()
+            .filter(member -> member.isMethodDeclaration())
+            .map(BodyDeclaration::asMethodDeclaration)
+            .filter(method -> method.getNameAsString().equals("bar"))
+            .findFirst()
+            .orElseThrow();
+    Assert.assertSame(first, found);
+  }
+
+  @Test
+  public void anonymousAndInnerClassesAreIndexedSeparately() throws TargetClassNotFound {
+    CompilationUnit cu = parse();
+    MemberIndex index = new MemberIndex(cu);
+    for (String clazz : List.of("test.A$1", "test.A$Inner")) {
+      MemberIndex.TypeMembers members = index.getTypeMembers(clazz);
+      Assert.assertNotNull(members);
+      Assert.assertSame(members, index.getTypeMembers(clazz));
+      OnMethod onMethod = new OnMethod("A.java", clazz, "foo(int)");
+      CallableDeclaration<?> found = members.findCallable(onMethod);
+      Assert.assertNotNull(found);
+      Assert.assertSame(findLinear(cu, onMethod), found);
+      Assert.assertNotSame(
+          index.getTypeMembers("test.A").findCallable(new OnMethod("A.java", "test.A", "foo(int)")),
+          found);
+    }
+    Assert.assertNull(
+        index.getTypeMembers("test.A$1").findCallable(new OnMethod("A.java", "test.A$1", "foo()")));
+    Assert.assertThrows(TargetClassNotFound.class, () -> index.getTypeMembers("test.A$2"));
+  }
+
+  @Test
+  public void firstFieldDeclaringAnyVariableIsReturned() throws TargetClassNotFound {
+    MemberIndex.TypeMembers members = new MemberIndex(parse()).getTypeMembers("test.A");
+    FieldDeclaration ab = members.members.get(0).asFieldDeclaration();
+    FieldDeclaration c = members.members.get(1).asFieldDeclaration();
+    FieldDeclaration b2a2 = members.members.get(2).asFieldDeclaration();
+    Assert.assertSame(ab, members.findField(Set.of("b")));
+    Assert.assertSame(ab, members.findField(Set.of("a2", "c", "a")));
+    Assert.assertSame(c, members.findField(Set.of("a2", "c")));
+    Assert.assertSame(b2a2, members.findField(Set.of("a2")));
+    Assert.assertNull(members.findField(Set.of("d")));
+  }
+
+  /**
+   * Finds the first callable matching the given method by scanning all members of the enclosing
+   * type, as changes were resolved before members were indexed.
+   *
+   * @param cu Compilation unit.
+   * @param onMethod Location of the method.
+   * @return The callable declaration, or null if no callable matches the signature.
+   */
+  private static CallableDeclaration<?> findLinear(CompilationUnit cu, OnMethod onMethod)
+      throws TargetClassNotFound {
+    for (BodyDeclaration<?> member :
+        ASTUtils.getTypeDeclarationMembersByFlatName(cu, onMethod.clazz)) {
+      if (member instanceof CallableDeclaration<?>
+          && onMethod.matchesCallableDeclaration((CallableDeclaration<?>) member)) {
+        return (CallableDeclaration<?>) member;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Parses {@link #SOURCE}.
+   *
+   * @return Compilation unit of the source.
+   */
+  private static CompilationUnit parse() {
+    return ParseCache.getParser(ParserConfiguration.LanguageLevel.JAVA_17)
+        .parse(SOURCE)
+        .getResult()
+        .orElseThrow();
+  }
+}
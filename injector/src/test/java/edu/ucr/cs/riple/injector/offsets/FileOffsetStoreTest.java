@@ -0,0 +1,205 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Nima Karimipour
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.ucr.cs.riple.injector.offsets;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+
+import com.google.common.collect.ImmutableSortedSet;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class FileOffsetStoreTest {
+
+  /** Path of the file offset stores are created for. */
+  private static final Path PATH = Paths.get("A.java");
+
+  @Test
+  public void originalOffsetMatchesLinearWalk() {
+    Random random = new Random(2024);
+    for (int trial = 0; trial < 200; trial++) {
+      TreeSet<OffsetChange> changes = new TreeSet<>();
+      int size = random.nextInt(30);
+      for (int i = 0; i < size; i++) {
+        changes.add(randomChange(random, 200));
+      }
+      FileOffsetStore store = new FileOffsetStore(new int[] {0, 1000}, PATH);
+      store.updateStateWithNewOffsetChanges(ImmutableSortedSet.copyOf(changes));
+      SortedSet<OffsetChange> stored = store.getOffsetChanges();
+      for (int offset = -5; offset < 300; offset++) {
+        Assert.assertEquals(
+            OffsetChange.getOriginalOffset(offset, stored), store.getOriginalOffset(offset));
+      }
+    }
+  }
+
+  @Test
+  public void randomModificationsMatchStreamSummarize() {
+    Random random = new Random(2024);
+    for (int trial = 0; trial < 200; trial++) {
+      List<String> lines = randomLines(random);
+      FileOffsetStore store = new FileOffsetStore(lines, PATH);
+      ReferenceStore reference = new ReferenceStore(lines);
+      for (int step = 0; step < 40; step++) {
+        int line = random.nextInt(lines.size() + 2);
+        int column = random.nextInt(10);
+        int numChars = 1 + random.nextInt(10);
+        switch (random.nextInt(4)) {
+          case 0:
+            store.updateOffsetWithAddition(line, column, numChars);
+            reference.add(new OffsetChange(reference.offsetAtLine(line) + column, numChars));
+            break;
+          case 1:
+            store.updateOffsetWithNewLineAddition(line, numChars);
+            reference.add(new OffsetChange(reference.offsetAtLine(line), numChars + 1));
+            break;
+          case 2:
+            store.updateOffsetWithDeletion(line, column, numChars);
+            reference.add(new OffsetChange(reference.offsetAtLine(line) + column, -numChars));
+            break;
+          default:
+            ImmutableSortedSet.Builder<OffsetChange> changes = ImmutableSortedSet.naturalOrder();
+            int count = random.nextInt(4);
+            for (int i = 0; i < count; i++) {
+              changes.add(randomChange(random, 100));
+            }
+            store.updateStateWithNewOffsetChanges(changes.build());
+            reference.updateStateWithNewOffsetChanges(changes.build());
+        }
+        Assert.assertEquals(reference.offsetChanges, store.getOffsetChanges());
+        for (int offset = 0; offset < 120; offset += 1 + random.nextInt(5)) {
+          Assert.assertEquals(
+              OffsetChange.getOriginalOffset(offset, reference.offsetChanges),
+              store.getOriginalOffset(offset));
+        }
+      }
+    }
+  }
+
+  /**
+   * Creates an offset change at a random position which adds or removes a few characters.
+   *
+   * @param random Random generator.
+   * @param bound Upper bound (exclusive) of the position.
+   * @return Created offset change.
+   */
+  private static OffsetChange randomChange(Random random, int bound) {
+    int numChars = random.nextInt(21) - 10;
+    return new OffsetChange(random.nextInt(bound), numChars == 0 ? 1 : numChars);
+  }
+
+  /**
+   * Creates a random file content with a few short lines.
+   *
+   * @param random Random generator.
+   * @return Lines of the content.
+   */
+  private static List<String> randomLines(Random random) {
+    int size = 1 + random.nextInt(8);
+    List<String> lines = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      lines.add("x".repeat(random.nextInt(12)));
+    }
+    return lines;
+  }
+
+  /**
+   * Offset store which converts incoming changes with the linear walk of {@link
+   * OffsetChange#getOriginalOffset(int, SortedSet)} and summarizes all changes after each update,
+   * as offset stores did before changes were indexed and merged.
+   */
+  private static class ReferenceStore {
+
+    /** Lines of the file content. */
+    private final List<String> lines;
+
+    /** Existing offset changes. */
+    private TreeSet<OffsetChange> offsetChanges = new TreeSet<>();
+
+    private ReferenceStore(List<String> lines) {
+      this.lines = lines;
+    }
+
+    /**
+     * Adds an offset change without summarizing.
+     *
+     * @param change Offset change to add.
+     */
+    private void add(OffsetChange change) {
+      offsetChanges.add(change);
+    }
+
+    /**
+     * Returns number of characters before a line.
+     *
+     * @param line line number.
+     * @return Number of characters before reaching a line.
+     */
+    private int offsetAtLine(int line) {
+      int ans = 0;
+      for (int current = 0; current < line && current < lines.size(); current++) {
+        ans += lines.get(current).length() + 1;
+      }
+      return ans;
+    }
+
+    /**
+     * Converts the given changes to original offsets, adds them and summarizes all changes.
+     *
+     * @param changes New incoming changes.
+     */
+    private void updateStateWithNewOffsetChanges(ImmutableSortedSet<OffsetChange> changes) {
+      offsetChanges.addAll(
+          changes.stream()
+              .map(offsetChange -> offsetChange.getOffsetWithoutChanges(offsetChanges))
+              .collect(Collectors.toSet()));
+      offsetChanges =
+          offsetChanges.stream()
+              .collect(
+                  groupingBy(
+                      offsetChange -> offsetChange.position,
+                      mapping(offsetChange -> offsetChange.numChars, Collectors.toList())))
+              .entrySet()
+              .stream()
+              .map(
+                  entry ->
+                      new OffsetChange(
+                          entry.getKey(), entry.getValue().stream().mapToInt(value -> value).sum()))
+              .filter(oc -> oc.numChars != 0)
+              .collect(Collectors.toCollection(TreeSet::new));
+    }
+  }
+}